@@ -0,0 +1,68 @@
+package thb.fbi.leguan.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.parser.Assembler;
+import thb.fbi.leguan.parser.AssemblyResult;
+
+/**
+ * measures assembling many programs at once (Assembler.assembleAll) depending on the number of threads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchAssemblyBenchmark {
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    /** number of programs per batch */
+    @Param({ "200" })
+    public int files;
+
+    private InstructionSet instructionSet;
+    private List<String> sources;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        instructionSet = new InstructionSet();
+        instructionSet.populate();
+        sources = new ArrayList<String>(files);
+        for (int i = 0; i < files; i++) {
+            sources.add(Programs.generate(1000 + i));
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<AssemblyResult> assembleAll() throws InterruptedException {
+        return Assembler.assembleAll(sources, instructionSet, pool);
+    }
+}
@@ -0,0 +1,80 @@
+package thb.fbi.leguan.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import thb.fbi.leguan.data.DecodedInstruction;
+import thb.fbi.leguan.simulation.Memory;
+import thb.fbi.leguan.simulation.PCRegister;
+import thb.fbi.leguan.simulation.Simulator;
+import thb.fbi.leguan.simulation.SimulatorSingleton;
+
+/**
+ * measures the dispatch of a single instruction for each instruction format
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({ "ARITHMETIC", "IMMEDIATE", "WIDE_IMMEDIATE", "DATA_TRANSFER", "BRANCH", "CONDITIONAL_BRANCH" })
+    public String format;
+
+    private DecodedInstruction instruction;
+    private long[] registerFile = new long[32];
+    private PCRegister pc = new PCRegister("PC", Memory.CODE_SEGMENT_START, -1);
+
+    @Setup
+    public void setup() {
+        Simulator simulator = SimulatorSingleton.getSimulator();
+        simulator.getIsCodeChanged().set(true);
+        if (!simulator.parse(getSource(format))) {
+            throw new IllegalStateException("Instruction does not parse: " + simulator.getErrors());
+        }
+        instruction = simulator.getArmProgram().getDecodedInstruction(Memory.CODE_SEGMENT_START);
+        registerFile[2] = 3;
+        registerFile[3] = 5;
+    }
+
+    /**
+     * gets a single line program for an instruction format
+     */
+    private static String getSource(String format) {
+        switch (format) {
+            case "ARITHMETIC":
+                return "ADD X1, X2, X3\n";
+            case "IMMEDIATE":
+                return "ADDI X1, X2, 42\n";
+            case "WIDE_IMMEDIATE":
+                return "MOVZ X1, 42, LSL 16\n";
+            case "DATA_TRANSFER":
+                return "LDUR X1, [X2, 8]\n";
+            case "BRANCH":
+                return "target: B target\n";
+            case "CONDITIONAL_BRANCH":
+                return "target: CBNZ X2, target\n";
+            default:
+                throw new IllegalArgumentException("Unknown format '" + format + "'");
+        }
+    }
+
+    @Benchmark
+    public long dispatch() {
+        instruction.getInstruction().simulate(instruction, registerFile, pc);
+        return registerFile[1];
+    }
+}
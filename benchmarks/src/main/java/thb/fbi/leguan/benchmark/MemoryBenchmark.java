@@ -0,0 +1,93 @@
+package thb.fbi.leguan.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import thb.fbi.leguan.simulation.Memory;
+
+/**
+ * measures loads and stores of double words with different access patterns
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+    /** number of accesses per invocation */
+    private static final int ACCESSES = 4096;
+    /** distance between two accesses of the strided pattern */
+    private static final int STRIDE = 72;
+    /** size of the address range used by the random pattern (1 MiB) */
+    private static final int RANDOM_RANGE = 1 << 20;
+
+    @Param({ "SEQUENTIAL", "STRIDED", "RANDOM" })
+    public String pattern;
+
+    private long[] addresses = new long[ACCESSES];
+
+    @Setup
+    public void setup() {
+        Memory.setObserver(null);
+        Memory.reset();
+        Random random = new Random(42);
+        for (int i = 0; i < ACCESSES; i++) {
+            switch (pattern) {
+                case "SEQUENTIAL":
+                    addresses[i] = Memory.DATA_SEGMENT_START + i * 8L;
+                    break;
+                case "STRIDED":
+                    addresses[i] = Memory.DATA_SEGMENT_START + i * (long) STRIDE;
+                    break;
+                case "RANDOM":
+                    addresses[i] = Memory.DATA_SEGMENT_START + (random.nextInt(RANDOM_RANGE) & ~7);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown pattern '" + pattern + "'");
+            }
+            Memory.storeDWord(addresses[i], i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public void store() {
+        for (int i = 0; i < ACCESSES; i++) {
+            Memory.storeDWord(addresses[i], i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public long load() {
+        long sum = 0;
+        for (int i = 0; i < ACCESSES; i++) {
+            sum += Memory.loadDWord(addresses[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public long loadByte() {
+        long sum = 0;
+        for (int i = 0; i < ACCESSES; i++) {
+            sum += Memory.loadByte(addresses[i]);
+        }
+        return sum;
+    }
+}
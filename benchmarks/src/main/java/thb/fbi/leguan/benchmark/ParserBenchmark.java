@@ -0,0 +1,112 @@
+package thb.fbi.leguan.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.parser.AssemblyResult;
+import thb.fbi.leguan.parser.ParallelAssembler;
+import thb.fbi.leguan.parser.ProgramCache;
+import thb.fbi.leguan.simulation.Simulator;
+import thb.fbi.leguan.simulation.SimulatorSingleton;
+
+/**
+ * measures parsing/ assembling (Simulator.parse) of synthetic programs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int lines;
+
+    private Simulator simulator;
+    private String code;
+    /** cache (in a temporary directory) holding the assembled program */
+    private ProgramCache cache;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        simulator = SimulatorSingleton.getSimulator();
+        simulator.setProgramCache(null); // always assemble
+        code = Programs.generate(lines);
+        simulator.getIsCodeChanged().set(true);
+        if (!simulator.parse(code)) {
+            throw new IllegalStateException("Generated program does not parse: " + simulator.getErrors());
+        }
+        cache = new ProgramCache(Files.createTempDirectory("leguan-cache"), ProgramCache.DEFAULT_MAX_BYTES,
+                simulator.getInstructionSet());
+        cache.store(code, simulator.getArmProgram());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(cache.getDirectory())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(cache.getDirectory());
+    }
+
+    @Benchmark
+    public boolean parse() {
+        simulator.getIncrementalAssembler().invalidate(); // force a full assembly
+        simulator.getDocumentModel().clear();
+        simulator.getIsCodeChanged().set(true);
+        return simulator.parse(code);
+    }
+
+    /**
+     * loads the assembled program from the on-disk cache (hashing the source code and reading the entry)
+     */
+    @Benchmark
+    public ARMProgram loadCached() {
+        return cache.load(code);
+    }
+
+    /**
+     * assembles the program in chunks on all cores (without sharing the parse with the document model)
+     */
+    @Benchmark
+    public AssemblyResult assembleChunked() throws InterruptedException {
+        return ParallelAssembler.assemble(code, simulator.getInstructionSet(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * changes a single character of an instruction in the middle of the program and assembles again
+     */
+    @Benchmark
+    public boolean reassembleLine() {
+        int position = code.indexOf('\n', code.length() / 2) - 1; // last character of a line
+        char replacement = code.charAt(position) == '1' ? '2' : '1';
+        String changed = code.substring(0, position) + replacement + code.substring(position + 1);
+        simulator.getIncrementalAssembler().textChanged(position, code.substring(position, position + 1),
+                String.valueOf(replacement));
+        code = changed;
+        simulator.getIsCodeChanged().set(true);
+        return simulator.parse(code);
+    }
+}
@@ -0,0 +1,80 @@
+package thb.fbi.leguan.benchmark;
+
+/**
+ * LEGv8 source code used by the benchmarks
+ */
+public class Programs {
+
+    /** counts a register down to 0 */
+    public static final String COUNT_LOOP =
+            "MOVZ X2, 50000, LSL 0\n"
+            + "loop: ADDI X1, X1, 1\n"
+            + "SUBI X2, X2, 1\n"
+            + "CBNZ X2, loop\n";
+
+    /** writes and reads back an array of double words */
+    public static final String MEMORY_LOOP =
+            "array: .dword 0\n"
+            + "LDR X9, =array\n"
+            + "MOVZ X2, 20000, LSL 0\n"
+            + "loop: STUR X2, [X9, 0]\n"
+            + "LDUR X3, [X9, 0]\n"
+            + "ADD X4, X4, X3\n"
+            + "ADDI X9, X9, 8\n"
+            + "SUBI X2, X2, 1\n"
+            + "CBNZ X2, loop\n";
+
+    /** loop controlled by flags and conditional branches */
+    public static final String FLAG_LOOP =
+            "MOVZ X2, 50000, LSL 0\n"
+            + "loop: SUBIS X2, X2, 1\n"
+            + "EOR X5, X5, X2\n"
+            + "LSL X6, X2, 3\n"
+            + "B.GT loop\n";
+
+    /**
+     * gets the source code of a loop kernel by name
+     * @param kernel name of the kernel (COUNT, MEMORY, FLAGS)
+     * @return source code
+     */
+    public static String getKernel(String kernel) {
+        switch (kernel) {
+            case "COUNT":
+                return COUNT_LOOP;
+            case "MEMORY":
+                return MEMORY_LOOP;
+            case "FLAGS":
+                return FLAG_LOOP;
+            default:
+                throw new IllegalArgumentException("Unknown kernel '" + kernel + "'");
+        }
+    }
+
+    /**
+     * generates a synthetic program using all instruction formats, labels and a data segment
+     * the program consists of blocks of 8 instructions, each starting with a label
+     * @param lines number of instructions
+     * @return source code
+     */
+    public static String generate(int lines) {
+        StringBuilder code = new StringBuilder(lines * 24);
+        code.append("values: .dword 42 .word 7 .halfword 3 .byte 1\n");
+        code.append("LDR X20, =values\n");
+        int blocks = (lines - 1) / 8;
+        for (int b = 0; b < blocks; b++) {
+            int next = b + 1 < blocks ? b + 1 : b;
+            code.append("block").append(b).append(": ADD X1, X2, X3\n");
+            code.append("ADDI X4, X4, ").append(b % 1000).append('\n');
+            code.append("MOVZ X5, ").append(b % 65536).append(", LSL 16\n");
+            code.append("LDUR X6, [X20, 8] // comment\n");
+            code.append("STUR X6, [X20, 16]\n");
+            code.append("SUBS X7, X1, X4\n");
+            code.append("CBZ X7, block").append(next).append('\n'); // forward reference
+            code.append("B.NE block").append(b).append('\n'); // backward reference
+        }
+        for (int i = 1 + blocks * 8; i < lines; i++) {
+            code.append("EOR X8, X8, X1\n");
+        }
+        return code.toString();
+    }
+}
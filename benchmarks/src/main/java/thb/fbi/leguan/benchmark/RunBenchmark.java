@@ -0,0 +1,63 @@
+package thb.fbi.leguan.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import thb.fbi.leguan.simulation.FlagRegister;
+import thb.fbi.leguan.simulation.Memory;
+import thb.fbi.leguan.simulation.RunPolicy;
+import thb.fbi.leguan.simulation.RunStatistics;
+import thb.fbi.leguan.simulation.Simulator;
+import thb.fbi.leguan.simulation.SimulatorSingleton;
+import thb.fbi.leguan.simulation.StopReason;
+
+/**
+ * measures full runs of loop kernels (headless, in the calling thread)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RunBenchmark {
+
+    @Param({ "COUNT", "MEMORY", "FLAGS" })
+    public String kernel;
+
+    private Simulator simulator;
+    private RunPolicy policy = new RunPolicy();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        simulator = SimulatorSingleton.getSimulator();
+        simulator.getIsCodeChanged().set(true);
+        if (!simulator.parse(Programs.getKernel(kernel))) {
+            throw new IllegalStateException("Kernel does not parse: " + simulator.getErrors());
+        }
+    }
+
+    @Benchmark
+    public long run() {
+        Memory.reset();
+        FlagRegister.reset();
+        simulator.reset();
+        RunStatistics statistics = simulator.run(policy);
+        if (statistics.getStopReason() != StopReason.FINISHED) {
+            throw new IllegalStateException("Kernel did not finish: " + statistics);
+        }
+        return statistics.getInstructions();
+    }
+}
@@ -6,6 +6,8 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import thb.fbi.leguan.parser.ProgramCache;
+import thb.fbi.leguan.simulation.Simulator;
 import thb.fbi.leguan.simulation.SimulatorSingleton;
 import thb.fbi.leguan.utility.ExecutorServiceProvider;
 import thb.fbi.leguan.utility.I18N;
@@ -32,6 +34,10 @@ public class App extends Application {
     @Override
     public void start(Stage stage) throws IOException { 
         App.stage = stage;
+        // only the application caches assembled programs (the directory is validated when it is first used)
+        Simulator simulator = SimulatorSingleton.getSimulator();
+        simulator.setProgramCache(new ProgramCache(ProgramCache.getDefaultDirectory(),
+                ProgramCache.DEFAULT_MAX_BYTES, simulator.getInstructionSet()));
         Locale locale = I18N.getDefaultLocale();
         ResourceBundle bundle = ResourceBundle.getBundle("thb/fbi/leguan/languages/language", locale);
         
@@ -0,0 +1,74 @@
+package thb.fbi.leguan.controller;
+
+import javafx.concurrent.Task;
+import thb.fbi.leguan.parser.AssemblyResult;
+import thb.fbi.leguan.simulation.Simulator;
+import thb.fbi.leguan.utility.ILeguanTools;
+
+/**
+ * Task assembling the code and preparing the follow-on work (e.g. pipeline simulation) off the JavaFX thread
+ *
+ * the task does not change what is shown: the result and the prepared tool update are applied together
+ * by the caller once the task succeeded. Tasks of outdated code are cancelled by the caller.
+ */
+public class AssemblyTask extends Task<AssemblyResult> {
+    /** number of steps for progress */
+    private static final int STEPS = 2;
+
+    private final Simulator simulator;
+    /** code to assemble */
+    private final String code;
+    /** edit count of the incremental assembler when the code was taken */
+    private final long editCount;
+    /** result of the last assembly if the code did not change (nothing to assemble), otherwise null */
+    private final AssemblyResult unchangedResult;
+    /** tool to prepare an update for, null if no tool has to be updated */
+    private final ILeguanTools tool;
+    /** prepared update of the tool, null if there is none */
+    private volatile Runnable toolUpdate;
+
+    public AssemblyTask(Simulator simulator, String code, long editCount, AssemblyResult unchangedResult, ILeguanTools tool) {
+        this.simulator = simulator;
+        this.code = code;
+        this.editCount = editCount;
+        this.unchangedResult = unchangedResult;
+        this.tool = tool;
+    }
+
+    @Override
+    protected AssemblyResult call() throws Exception {
+        updateProgress(0, STEPS);
+        updateMessage("Assembling ...");
+        AssemblyResult result = unchangedResult != null ? unchangedResult : simulator.assemble(code, editCount);
+        updateProgress(1, STEPS);
+        if (isCancelled()) {
+            return null;
+        }
+        if (result.isSuccessful() && tool != null) {
+            updateMessage("Simulating pipeline ...");
+            toolUpdate = tool.prepareCode(result.getProgram(), code);
+        }
+        updateProgress(STEPS, STEPS);
+        return result;
+    }
+
+    public long getEditCount() {
+        return editCount;
+    }
+
+    /**
+     * checks if the code did not change since the last assembly (its result was reused)
+     * @return true if the result is already applied to the simulator
+     */
+    public boolean isUnchanged() {
+        return unchangedResult != null;
+    }
+
+    /**
+     * gets the prepared update of the tool
+     * @return action to run on the JavaFX application thread, null if there is none
+     */
+    public Runnable getToolUpdate() {
+        return toolUpdate;
+    }
+}
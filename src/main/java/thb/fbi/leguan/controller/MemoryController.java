@@ -1,14 +1,17 @@
 package thb.fbi.leguan.controller;
 
 import java.nio.ByteBuffer;
+import java.util.AbstractMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.Map.Entry;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
@@ -31,8 +34,8 @@ import thb.fbi.leguan.data.ARMProgram;
 import thb.fbi.leguan.data.ProgramStatement;
 import thb.fbi.leguan.simulation.Base;
 import thb.fbi.leguan.simulation.Memory;
+import thb.fbi.leguan.simulation.MemoryChangeSet;
 import thb.fbi.leguan.simulation.MemoryObserver;
-import thb.fbi.leguan.simulation.Simulator;
 import thb.fbi.leguan.utility.NumberComparator;
 
 public class MemoryController implements MemoryObserver {
@@ -76,6 +79,7 @@ public class MemoryController implements MemoryObserver {
     @FXML
     Button filterButton;
 
+    /** copy of all written bytes of memory (only changed on the FX thread, patched by change sets) */
     private TreeMap<Long, Long> data = new TreeMap<Long, Long>();
 
     /**
@@ -200,7 +204,6 @@ public class MemoryController implements MemoryObserver {
                 .setTextFormatter(new TextFormatter<Integer>(new IntegerStringConverter(), null, integerFilter));
 
         Memory.setObserver(this);
-        Simulator.setMemoryController(this);
 
         codeAddressColumn.setComparator(new NumberComparator());
         codeAddressColumn.setCellValueFactory(new Callback<TableColumn.CellDataFeatures<Map.Entry<Integer, ProgramStatement>,String>,ObservableValue<String>>() {
@@ -292,20 +295,133 @@ public class MemoryController implements MemoryObserver {
     }
 
     /**
-     * when Memory changes, update the tableView
-     * also applies filter - so that filter persist even when updated
-     * 
-     * @param newData new TreeMap from Memory
+     * when Memory changes, fetch the changes on the next UI pulse
+     * further changes until then are coalesced by Memory
      */
     @Override
-    public void update(TreeMap<Long, Byte> newData, long changedAddress, int changedBytes) {
-        this.data.clear();
-        this.lowerRange = changedAddress;
-        this.upperRange = changedAddress - 1 + changedBytes;
-        for (Map.Entry<Long, Byte> entry : newData.entrySet()) {
+    public void memoryChanged() {
+        Platform.runLater(this::applyChanges);
+    }
+
+    /**
+     * applies all pending changes of memory to the tableView
+     * only affected rows are patched, the table is only rebuilt on reset or when rows have to be regrouped
+     */
+    private void applyChanges() {
+        MemoryChangeSet changes = Memory.drainChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (changes.isReset()) {
+            this.data.clear();
+        }
+        // addresses within dirty ranges missing in the snapshot were dropped
+        TreeSet<Long> dropped = new TreeSet<Long>();
+        for (Map.Entry<Long, Long> range : changes.getRanges().entrySet()) {
+            for (Long address : this.data.subMap(range.getKey(), range.getValue()).keySet()) {
+                if (!changes.getBytes().containsKey(address)) {
+                    dropped.add(address);
+                }
+            }
+        }
+        this.data.keySet().removeAll(dropped);
+        for (Map.Entry<Long, Byte> entry : changes.getBytes().entrySet()) {
             this.data.put(entry.getKey(), (long) entry.getValue());
         }
-        updateTable();
+        this.lowerRange = changes.getLowestAddress();
+        this.upperRange = changes.getHighestAddress();
+
+        if (changes.isReset() || !memoryTable.getSortOrder().isEmpty() || !patchTable(changes, dropped)) {
+            updateTable();
+        }
+    }
+
+    /**
+     * patches the rows of the tableView affected by the changes (items are sorted by address)
+     * @param changes changes of memory
+     * @param dropped addresses of bytes dropped from memory
+     * @return false if the rows cannot be patched and the table has to be rebuilt
+     */
+    private boolean patchTable(MemoryChangeSet changes, TreeSet<Long> dropped) {
+        ObservableList<Map.Entry<Long, Long>> items = memoryTable.getItems();
+        if (displayMemoryAsDWord) {
+            if (!dropped.isEmpty()) { // dword rows have to be regrouped
+                return false;
+            }
+            // check all changed bytes belong to an existing dword row first
+            TreeSet<Integer> rows = new TreeSet<Integer>();
+            for (Long address : changes.getBytes().keySet()) {
+                int index = findRow(items, address);
+                if (index < 0) {
+                    index = -index - 2; // row with next lower address
+                    if (index < 0 || address >= items.get(index).getKey() + 8) {
+                        return false;
+                    }
+                }
+                rows.add(index);
+            }
+            for (int index : rows) {
+                long address = items.get(index).getKey();
+                items.set(index, new AbstractMap.SimpleImmutableEntry<Long, Long>(address, getDWord(address)));
+            }
+        } else {
+            for (Long address : dropped.descendingSet()) {
+                int index = findRow(items, address);
+                if (index >= 0) {
+                    items.remove(index);
+                }
+            }
+            for (Map.Entry<Long, Byte> entry : changes.getBytes().entrySet()) {
+                long address = entry.getKey();
+                if (!isWithinFilter(address)) {
+                    continue;
+                }
+                Map.Entry<Long, Long> row = new AbstractMap.SimpleImmutableEntry<Long, Long>(address, (long) entry.getValue());
+                int index = findRow(items, address);
+                if (index >= 0) {
+                    items.set(index, row);
+                } else {
+                    items.add(-index - 1, row);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * binary search of a row by its address
+     * @param items rows sorted by address
+     * @param address address to search
+     * @return index of the row, or (-(insertion point) - 1) if there is no row with this address
+     */
+    private static int findRow(ObservableList<Map.Entry<Long, Long>> items, long address) {
+        int low = 0;
+        int high = items.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midAddress = items.get(mid).getKey();
+            if (midAddress < address) {
+                low = mid + 1;
+            } else if (midAddress > address) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * gets a double word from the copy of memory shown in the table
+     * @param address address of the first (highest) byte
+     * @return double word value (Big Endian)
+     */
+    private long getDWord(long address) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (this.data.getOrDefault(address + i, 0L) & 0xFF);
+        }
+        return value;
     }
 
     /**
@@ -412,26 +528,31 @@ public class MemoryController implements MemoryObserver {
      * @return filtered map
      */
     public TreeMap<Long, Long> getFilteredMap(TreeMap<Long, Long> data) {
-        TreeMap<Long, Long> filteredData;
         if (startAddressTextField.getText().isBlank() && endAddressTextField.getText().isBlank()) {
             return data;
-        } else if (startAddressTextField.getText().isBlank()) {
-            filteredData = data.entrySet().stream()
-                    .filter(map -> map.getKey() <= Long.parseLong(endAddressTextField.getText()))
-                    .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue(), Math::addExact, TreeMap::new));
-        } else if (endAddressTextField.getText().isBlank()) {
-            filteredData = data.entrySet().stream()
-                    .filter(map -> map.getKey() >= Long.parseLong(startAddressTextField.getText()))
-                    .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue(), Math::addExact, TreeMap::new));
-        } else {
-            filteredData = data.entrySet().stream()
-                    .filter(map -> map.getKey() >= Long.parseLong(startAddressTextField.getText())
-                            && map.getKey() <= Long.parseLong(endAddressTextField.getText()))
-                    .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue(), Math::addExact, TreeMap::new));
         }
+        TreeMap<Long, Long> filteredData = data.entrySet().stream()
+                .filter(map -> isWithinFilter(map.getKey()))
+                .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue(), Math::addExact, TreeMap::new));
         return filteredData;
     }
 
+    /**
+     * checks if an address is within the entered start and end address (both are optional)
+     * 
+     * @param address address to check
+     * @return boolean indicating if address passes the filter
+     */
+    private boolean isWithinFilter(long address) {
+        if (!startAddressTextField.getText().isBlank() && address < Long.parseLong(startAddressTextField.getText())) {
+            return false;
+        }
+        if (!endAddressTextField.getText().isBlank() && address > Long.parseLong(endAddressTextField.getText())) {
+            return false;
+        }
+        return true;
+    }
+
     /**
      * returns a map with DWords (8 Byte) as its values
      * 
@@ -455,7 +576,7 @@ public class MemoryController implements MemoryObserver {
         // build new HashMap from Dword address space
         TreeMap<Long, Long> dwordData = new TreeMap<>();
         for (Long address : addressSet) {
-            dwordData.put(address, Memory.loadDWord(address));
+            dwordData.put(address, getDWord(address));
         }
         return dwordData;
     }
@@ -238,7 +238,6 @@ public class RegisterPaneController implements FlagRegisterObserver {
             }
         });
 
-        Simulator.setRegisterPaneController(this);
         FlagRegister.setObserver(this);
     }
 
@@ -3,18 +3,18 @@ package thb.fbi.leguan.controller;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.Collection;
 import java.util.Collections;
-import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.fxmisc.flowless.VirtualizedScrollPane;
 import org.fxmisc.richtext.CodeArea;
 import org.fxmisc.richtext.LineNumberFactory;
 import org.fxmisc.richtext.model.PlainTextChange;
+import org.fxmisc.richtext.model.TwoDimensional.Bias;
 import org.fxmisc.richtext.model.StyleSpans;
 import org.fxmisc.richtext.model.StyleSpansBuilder;
 import org.reactfx.EventStream;
@@ -45,10 +45,11 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Circle;
 import javafx.stage.WindowEvent;
 import thb.fbi.leguan.App;
+import thb.fbi.leguan.parser.AssemblyResult;
+import thb.fbi.leguan.parser.ParagraphHighlighter;
+import thb.fbi.leguan.parser.ParsedDocument;
 import thb.fbi.leguan.parser.ParsingError;
 import thb.fbi.leguan.parser.SyntaxHighlighter;
-import thb.fbi.leguan.parser.antlr.LegV8Lexer;
-import thb.fbi.leguan.parser.antlr.LegV8Parser;
 import thb.fbi.leguan.simulation.FlagRegister;
 import thb.fbi.leguan.simulation.Memory;
 import thb.fbi.leguan.simulation.Simulator;
@@ -125,14 +126,32 @@ public class SimulatorController {
 
     private Simulator simulator = SimulatorSingleton.getSimulator();
     private ExecutorService executorService;
+    /** executor for assembling (separate from syntax highlighting) */
+    private ExecutorService assemblyExecutor;
+    /** running assembly, null if none */
+    private AssemblyTask assemblyTask;
     private EditorCanvas editorCanvas;
     private VirtualizedScrollPane<CodeArea> codeAreaScrollPane;
 
     private ILeguanTools pipelineVisualizer;
 
+    /** maximum number of changed paragraphs highlighted on their own (otherwise the whole text is highlighted) */
+    private static final int MAX_CHANGED_PARAGRAPHS = 200;
+    /** start of the text changed since the last highlighting, -1 if unchanged */
+    private int changedStart = -1;
+    /** end of the text changed since the last highlighting (exclusive) */
+    private int changedEnd = -1;
+    /** indicates if the whole text has to be highlighted (nothing highlighted yet or block comments) */
+    private boolean isFullHighlightingRequired = true;
+    /** number of text changes, used to discard highlighting of outdated text */
+    private long textChangeCount = 0;
+    /** indicates if the last highlighting marked syntax errors */
+    private boolean hasSyntaxErrors = false;
+
     @FXML
     public void initialize() {
         executorService = ExecutorServiceProvider.getExecutorService();
+        assemblyExecutor = ExecutorServiceProvider.getExecutorService();
         codeArea = new CodeArea();
         codeAreaScrollPane = new VirtualizedScrollPane<CodeArea>(codeArea);
         codeStackPane.getChildren().add(codeAreaScrollPane);
@@ -150,6 +169,14 @@ public class SimulatorController {
         });
 
         EventStream<PlainTextChange> textChanges = codeArea.plainTextChanges();
+        textChanges.subscribe(change -> {
+            textChangeCount++;
+            addChangedRange(change);
+            cancelAssembly();
+            simulator.getDocumentModel().textChanged(); // cancels parsing of outdated text
+            simulator.getIncrementalAssembler().textChanged(change.getPosition(), change.getRemoved(),
+                    change.getInserted());
+        });
 
         textChanges.successionEnds(Duration.ofMillis(500))
                 .supplyTask(this::computeHighlightingAsync)
@@ -186,6 +213,7 @@ public class SimulatorController {
 
         runButton.disableProperty().bind(simulator.getIsRunning());
         stopButton.disableProperty().bind(simulator.getIsRunning().not());
+        simulator.setExecutionListener(new UIExecutionListener(simulator, registerPaneController, memoryController, console));
         // file_Menu.textProperty().bind(I18N.createStringBinding("menubar.File"));
 
         // load images for buttons
@@ -215,36 +243,94 @@ public class SimulatorController {
 
     @FXML
     private void assembleCode() {
-        if (simulator.parse(codeArea.getText())) {
-            setConsoleText(simulator.getErrors());
-            stepForwardButton.setDisable(false);
-            // stepBackwardButton.setDisable(false);
-            reset();
-            // Update Memory Code Segment Table
-            memoryController.updateCode(simulator.getArmProgram());
+        startAssembly(pipelineVisualizer, task -> {
+            if (applyAssembly(task)) {
+                stepForwardButton.setDisable(false);
+                // stepBackwardButton.setDisable(false);
+                reset();
+                // Update Memory Code Segment Table
+                memoryController.updateCode(simulator.getArmProgram());
+
+                // Update Tool
+                if (task.getToolUpdate() != null) {
+                    task.getToolUpdate().run();
+                }
 
-            // Update Tool
-            pipelineVisualizer.updateCode(simulator.getArmProgram(), codeArea.getText());
+                assembleIdicator.setId("codeStatus_assembled");
+            } else {
+                editorCanvas.setLineNumber(-1);
+                stepForwardButton.setDisable(true);
+                // stepBackwardButton.setDisable(true);
+            }
+        });
+    }
 
-            assembleIdicator.setId("codeStatus_assembled");
-        } else {
-            setConsoleText(simulator.getErrors());
+    @FXML
+    private void runCode() {
+        startAssembly(null, task -> {
+            if (applyAssembly(task)) {
+                memoryController.updateCode(simulator.getArmProgram()); // Update Memory Code Segment Table
+                if (simulator.isPaused()) {
+                    simulator.resume();
+                } else {
+                    simulator.runAllInstructions();
+                }
+            }
             editorCanvas.setLineNumber(-1);
-            stepForwardButton.setDisable(true);
-            // stepBackwardButton.setDisable(true);
+        });
+    }
+
+    /**
+     * assembles the code on a background thread, cancels a running assembly
+     * progress is shown in the console, onSucceeded is only called if the code was not changed meanwhile
+     * @param tool tool to prepare an update for, null for none
+     * @param onSucceeded applies the result (called on the JavaFX application thread)
+     */
+    private void startAssembly(ILeguanTools tool, Consumer<AssemblyTask> onSucceeded) {
+        cancelAssembly();
+        AssemblyResult unchangedResult = simulator.getIsCodeChanged().get() ? null : simulator.getLastAssembly();
+        AssemblyTask task = new AssemblyTask(simulator, codeArea.getText(),
+                simulator.getIncrementalAssembler().getEditCount(), unchangedResult, tool);
+        task.messageProperty().addListener((observable, oldMessage, message) -> console.setText(message));
+        task.setOnSucceeded(evt -> {
+            assemblyTask = null;
+            if (task.getEditCount() == simulator.getIncrementalAssembler().getEditCount()) {
+                onSucceeded.accept(task);
+            }
+        });
+        task.setOnFailed(evt -> {
+            assemblyTask = null;
+            if (!(task.getException() instanceof CancellationException)) {
+                console.setText("Assembly failed: " + task.getException());
+            }
+        });
+        assemblyTask = task;
+        assemblyExecutor.execute(task);
+    }
+
+    /**
+     * cancels the running assembly (e.g. because the code changed)
+     */
+    private void cancelAssembly() {
+        if (assemblyTask != null) {
+            assemblyTask.cancel();
+            assemblyTask = null;
         }
     }
 
-    @FXML
-    private void runCode() {
-        if (simulator.parse(codeArea.getText())) {
-            setConsoleText(simulator.getErrors());
-            memoryController.updateCode(simulator.getArmProgram()); // Update Memory Code Segment Table
-            simulator.runAllInstructions();
+    /**
+     * applies the result of an assembly to the simulator and shows its errors
+     * @return boolean indicating if the code was assembled successfully
+     */
+    private boolean applyAssembly(AssemblyTask task) {
+        boolean isAssembled;
+        if (task.isUnchanged()) { // program stays as it is, e.g. a paused run can be resumed
+            isAssembled = task.getValue().isSuccessful();
         } else {
-            setConsoleText(simulator.getErrors());
+            isAssembled = simulator.applyAssembly(task.getValue());
         }
-        editorCanvas.setLineNumber(-1);
+        setConsoleText(simulator.getErrors());
+        return isAssembled;
     }
 
     /**
@@ -274,9 +360,12 @@ public class SimulatorController {
         System.out.println("step backward");
     }
 
+    /**
+     * pauses the running simulation, pressing run again resumes it
+     */
     @FXML
     private void stopThread() {
-        simulator.stopThread();
+        simulator.pause();
     }
 
     @FXML
@@ -315,55 +404,196 @@ public class SimulatorController {
         if (errors == null) {
             console.clear();
         } else {
-            String errorMessage = "";
+            StringBuilder errorMessage = new StringBuilder();
             for (ParsingError parsingError : errors) {
-                errorMessage += parsingError.getErrorMessage() + "\n";
+                errorMessage.append(parsingError.getErrorMessage()).append('\n');
             }
-            console.setText(errorMessage);
+            console.setText(errorMessage.toString());
         }
     }
 
-    private Task<StyleSpans<Collection<String>>> computeHighlightingAsync() {
-        String code = codeArea.getText();
+    /**
+     * styles computed off the JavaFX thread, either for the whole text or for a range of paragraphs
+     */
+    private static class Highlighting {
+        /** styles of the whole text, null if paragraphs were highlighted */
+        private StyleSpans<Collection<String>> text;
+        /** index of the first highlighted paragraph */
+        private int firstParagraph;
+        /** styles of the paragraphs starting at firstParagraph */
+        private ArrayList<StyleSpans<Collection<String>>> paragraphs;
+        /** indicates if the text contains block comments (paragraphs can not be highlighted on their own) */
+        private boolean hasBlockComments;
+        /** indicates if the paragraphs need the context of the whole text */
+        private boolean isFullHighlightingRequired;
+        /** indicates if the text contains syntax errors (marked by the full parse only) */
+        private boolean hasSyntaxErrors;
+    }
 
-        Task<StyleSpans<Collection<String>>> task = new Task<StyleSpans<Collection<String>>>() {
-            @Override
-            protected StyleSpans<Collection<String>> call() throws Exception {
-                return computeHighlighting(code);
+    /**
+     * extends the range of text changed since the last highlighting by a change
+     * (the range is kept in coordinates of the current text)
+     * @param change change of the text
+     */
+    private void addChangedRange(PlainTextChange change) {
+        int position = change.getPosition();
+        int removedEnd = position + change.getRemoved().length();
+        int insertedEnd = change.getInsertionEnd();
+        if (changedStart < 0) {
+            changedStart = position;
+            changedEnd = insertedEnd;
+            return;
+        }
+        changedStart = Math.min(shiftOffset(changedStart, position, removedEnd, insertedEnd), position);
+        changedEnd = Math.max(shiftOffset(changedEnd, position, removedEnd, insertedEnd), insertedEnd);
+    }
+
+    private static int shiftOffset(int offset, int position, int removedEnd, int insertedEnd) {
+        if (offset <= position) {
+            return offset;
+        }
+        return offset >= removedEnd ? offset - removedEnd + insertedEnd : insertedEnd;
+    }
+
+    private Task<Highlighting> computeHighlightingAsync() {
+        Task<Highlighting> task;
+        int firstParagraph = 0;
+        int lastParagraph = -1;
+        if (!isFullHighlightingRequired && changedStart >= 0) {
+            int length = codeArea.getLength();
+            firstParagraph = codeArea.offsetToPosition(Math.min(changedStart, length), Bias.Forward).getMajor();
+            lastParagraph = codeArea.offsetToPosition(Math.min(changedEnd, length), Bias.Forward).getMajor();
+        }
+        if (lastParagraph >= 0 && lastParagraph - firstParagraph < MAX_CHANGED_PARAGRAPHS) {
+            // changed paragraphs and the following one as context
+            int contextParagraph = Math.min(lastParagraph + 1, codeArea.getParagraphs().size() - 1);
+            ArrayList<String> paragraphs = new ArrayList<String>();
+            for (int i = firstParagraph; i <= contextParagraph; i++) {
+                paragraphs.add(codeArea.getText(i));
             }
-        };
+            int first = firstParagraph;
+            int count = lastParagraph - firstParagraph + 1;
+            String code = codeArea.getText();
+            boolean hadSyntaxErrors = hasSyntaxErrors;
+            task = new Task<Highlighting>() {
+                @Override
+                protected Highlighting call() throws Exception {
+                    return computeHighlighting(first, paragraphs, count, code, hadSyntaxErrors);
+                }
+            };
+        } else {
+            String code = codeArea.getText();
+            task = new Task<Highlighting>() {
+                @Override
+                protected Highlighting call() throws Exception {
+                    return computeHighlighting(code);
+                }
+            };
+        }
         executorService.execute(task);
         return task;
     }
 
-    private static StyleSpans<Collection<String>> computeHighlighting(String text) {
+    private Highlighting computeHighlighting(String text) {
+        Highlighting highlighting = new Highlighting();
+        highlighting.hasBlockComments = ParagraphHighlighter.isPartOfBlockComment(text);
         if (text.length() > 0) {
-            CharStream input = CharStreams.fromString(text);
-            LegV8Lexer lexer = new LegV8Lexer(input);
-            lexer.getErrorListeners().clear();
-            // parse
-            CommonTokenStream tokens = new CommonTokenStream(lexer);
-            LegV8Parser parser = new LegV8Parser(tokens);
-            parser.getErrorListeners().clear();
-            parser.setBuildParseTree(true);
-            LegV8Parser.MainContext mainContext = parser.main();
-
-            ParseTreeWalker walker = new ParseTreeWalker();
-            SyntaxHighlighter syntaxHighlighter = new SyntaxHighlighter(text.length());
-            walker.walk(syntaxHighlighter, mainContext);
-            return syntaxHighlighter.getStyles();
+            // parsed document is shared with assembly
+            ParsedDocument document = simulator.getDocumentModel().parse(text);
+            highlighting.text = highlightDocument(document);
+            highlighting.hasSyntaxErrors = document.hasSyntaxErrors();
         } else {
             StyleSpansBuilder<Collection<String>> objectStyleSpansBuilder = new StyleSpansBuilder<>();
             objectStyleSpansBuilder.add(Collections.emptyList(), 0);
-            return objectStyleSpansBuilder.create();
+            highlighting.text = objectStyleSpansBuilder.create();
+        }
+        return highlighting;
+    }
+
+    /**
+     * highlights changed paragraphs on their own (lexer only)
+     * @param firstParagraph index of the first paragraph
+     * @param paragraphs texts of the changed paragraphs followed by the next paragraph as context
+     * @param count number of changed paragraphs
+     * @param text whole text, parsed to mark syntax errors
+     * @param hadSyntaxErrors indicates if the previous highlighting marked syntax errors
+     * @return styles of the changed paragraphs, styles of the whole text if syntax errors have to be (un)marked
+     */
+    private Highlighting computeHighlighting(int firstParagraph, ArrayList<String> paragraphs, int count,
+            String text, boolean hadSyntaxErrors) {
+        Highlighting highlighting = new Highlighting();
+        highlighting.firstParagraph = firstParagraph;
+        highlighting.paragraphs = new ArrayList<StyleSpans<Collection<String>>>(count);
+        for (int i = 0; i < count; i++) {
+            String next = i + 1 < paragraphs.size() ? paragraphs.get(i + 1) : null;
+            StyleSpans<Collection<String>> styles = ParagraphHighlighter.highlight(paragraphs.get(i), next);
+            if (styles == null) {
+                highlighting.isFullHighlightingRequired = true;
+                highlighting.hasBlockComments = ParagraphHighlighter.isPartOfBlockComment(paragraphs.get(i));
+                return highlighting;
+            }
+            highlighting.paragraphs.add(styles);
         }
+        if (text.length() > 0) {
+            // parsed document is shared with assembly
+            ParsedDocument document = simulator.getDocumentModel().parse(text);
+            highlighting.hasSyntaxErrors = document.hasSyntaxErrors();
+            if (highlighting.hasSyntaxErrors || hadSyntaxErrors) { // error styles are added or removed
+                highlighting.text = highlightDocument(document);
+            }
+        }
+        return highlighting;
     }
 
-    private void applyHighlighting(Try<StyleSpans<Collection<String>>> taskTry) {
-        StyleSpans<Collection<String>> highlighting = taskTry.get();
-        if (highlighting.getSpanCount() > 0) {
-            codeArea.setStyleSpans(0, highlighting);
+    /**
+     * computes the styles of a parsed text including its syntax errors
+     * @param document parsed text (not empty)
+     * @return styles of the whole text
+     */
+    private static StyleSpans<Collection<String>> highlightDocument(ParsedDocument document) {
+        ParseTreeWalker walker = new ParseTreeWalker();
+        SyntaxHighlighter syntaxHighlighter = new SyntaxHighlighter(document.getText().length());
+        walker.walk(syntaxHighlighter, document.getTree());
+        return syntaxHighlighter.getStyles();
+    }
+
+    private void applyHighlighting(Try<Highlighting> taskTry) {
+        if (taskTry.isFailure()) { // outdated text, newer highlighting follows
+            return;
+        }
+        Highlighting highlighting = taskTry.get();
+        hasSyntaxErrors = highlighting.hasSyntaxErrors;
+        if (highlighting.isFullHighlightingRequired) {
+            isFullHighlightingRequired = true;
+            highlightText();
+            return;
+        }
+        if (highlighting.text != null) {
+            if (highlighting.text.getSpanCount() > 0) {
+                codeArea.setStyleSpans(0, highlighting.text);
+            }
+            isFullHighlightingRequired = highlighting.hasBlockComments;
+        } else {
+            for (int i = 0; i < highlighting.paragraphs.size(); i++) {
+                codeArea.setStyleSpans(highlighting.firstParagraph + i, 0, highlighting.paragraphs.get(i));
+            }
         }
+        changedStart = -1;
+        changedEnd = -1;
+    }
+
+    /**
+     * highlights the whole text (e.g. if changed paragraphs need its context)
+     * without waiting for further changes, the result is discarded if the text changes meanwhile
+     */
+    private void highlightText() {
+        long changeCount = textChangeCount;
+        Task<Highlighting> task = computeHighlightingAsync();
+        task.setOnSucceeded(event -> {
+            if (changeCount == textChangeCount) {
+                applyHighlighting(Try.success(task.getValue()));
+            }
+        });
     }
 
     /**
@@ -0,0 +1,82 @@
+package thb.fbi.leguan.controller;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.control.TextArea;
+import javafx.util.Duration;
+import thb.fbi.leguan.simulation.ExecutionListener;
+import thb.fbi.leguan.simulation.FlagRegister;
+import thb.fbi.leguan.simulation.RunStatistics;
+import thb.fbi.leguan.simulation.Simulator;
+
+/**
+ * ExecutionListener updating the register pane and memory view
+ *
+ * single steps update the highlighting after every instruction.
+ * While running all instructions, updates are batched: flag notifications are suspended
+ * and the UI gets refreshed once after the run has stopped (memory changes are coalesced by Memory itself).
+ * Registers are refreshed periodically while running, the statistics of a run are written to the console.
+ */
+public class UIExecutionListener implements ExecutionListener {
+    /** interval for refreshing registers while running */
+    private static final Duration REGISTER_REFRESH_INTERVAL = Duration.millis(100);
+
+    private RegisterPaneController registerPaneController;
+    private MemoryController memoryController;
+    /** console for showing run statistics */
+    private TextArea console;
+    /** periodically publishes registers while running */
+    private Timeline registerRefresh;
+    /** indicates if a continuous run is in progress (updates are batched) */
+    private volatile boolean isRunning = false;
+    /** register written by the last instruction of a run */
+    private int lastChangedRegister = -1;
+
+    public UIExecutionListener(Simulator simulator, RegisterPaneController registerPaneController, MemoryController memoryController, TextArea console) {
+        this.registerPaneController = registerPaneController;
+        this.memoryController = memoryController;
+        this.console = console;
+        registerRefresh = new Timeline(new KeyFrame(REGISTER_REFRESH_INTERVAL, evt -> simulator.synchronizeRegisters()));
+        registerRefresh.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    @Override
+    public void runStarted() {
+        isRunning = true;
+        lastChangedRegister = -1;
+        FlagRegister.suspendObserver();
+        Platform.runLater(() -> registerRefresh.play());
+    }
+
+    @Override
+    public void instructionStarted() {
+        if (!isRunning) {
+            registerPaneController.clearFlagHighlighting();
+            memoryController.clearMemoryHighlighting();
+        }
+    }
+
+    @Override
+    public void instructionFinished(int changedRegister) {
+        if (isRunning) {
+            lastChangedRegister = changedRegister;
+        } else {
+            registerPaneController.updateRegisterHighlighting(changedRegister);
+        }
+    }
+
+    @Override
+    public void runFinished(RunStatistics statistics) {
+        isRunning = false;
+        int changedRegister = lastChangedRegister;
+        // single refresh of the whole UI
+        Platform.runLater(() -> {
+            registerRefresh.stop();
+            registerPaneController.clearFlagHighlighting();
+            FlagRegister.resumeObserver();
+            registerPaneController.updateRegisterHighlighting(changedRegister);
+            console.appendText(statistics + "\n");
+        });
+    }
+}
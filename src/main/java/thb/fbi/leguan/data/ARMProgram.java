@@ -1,9 +1,12 @@
 package thb.fbi.leguan.data;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TreeMap;
 
-import thb.fbi.leguan.simulation.Register;
+import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.simulation.Memory;
 
 /** 
  * Models the entire source code
@@ -13,18 +16,38 @@ import thb.fbi.leguan.simulation.Register;
 public class ARMProgram {
 
     private TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
-    private ArrayList<Register> usedRegisters = new ArrayList<Register>();
-    private TreeMap<Long, Byte> dataSegment = new TreeMap<Long, Byte>();
+    private ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
+    private DataSegment dataSegment = new DataSegment();
+    /** resolved jump labels (name, address) */
+    private HashMap<String, Integer> jumpLabels = new HashMap<String, Integer>();
+    /** resolved data segment labels (name, address) */
+    private HashMap<String, Long> dataLabels = new HashMap<String, Long>();
+    /** pre-decoded statements, index = (address - CODE_SEGMENT_START) / INSTRUCTION_LENGTH */
+    private DecodedInstruction[] decodedInstructions = new DecodedInstruction[0];
 
     public ARMProgram() {
         statements.clear();
     }
 
+    /**
+     * copies a program, so statements can be replaced without changing the original
+     * (statements and the data segment are shared)
+     * @param other program to copy
+     */
+    public ARMProgram(ARMProgram other) {
+        this.statements = new TreeMap<Integer, ProgramStatement>(other.statements);
+        this.usedRegisters = new ArrayList<Integer>(other.usedRegisters);
+        this.dataSegment = other.dataSegment;
+        this.jumpLabels = new HashMap<String, Integer>(other.jumpLabels);
+        this.dataLabels = new HashMap<String, Long>(other.dataLabels);
+        this.decodedInstructions = other.decodedInstructions.clone();
+    }
+
     /**
      * gets the list of used registers across the whole Program
      * @return list of used registers
      */
-    public ArrayList<Register> getUsedRegisters() {
+    public ArrayList<Integer> getUsedRegisters() {
         return this.usedRegisters;
     }
 
@@ -46,6 +69,54 @@ public class ARMProgram {
         return statements.get(address);
     }
 
+    /**
+     * gets the pre-decoded instruction at the specified address
+     * @param address address of the instruction (code segment)
+     * @return decoded instruction or null if there is no instruction at the address
+     */
+    public DecodedInstruction getDecodedInstruction(long address) {
+        long offset = address - Memory.CODE_SEGMENT_START;
+        if (offset < 0 || offset % Instruction.INSTRUCTION_LENGTH != 0) {
+            return null;
+        }
+        long index = offset / Instruction.INSTRUCTION_LENGTH;
+        if (index >= decodedInstructions.length) {
+            return null;
+        }
+        return decodedInstructions[(int) index];
+    }
+
+    /**
+     * (re-)builds the pre-decoded instructions from all statements
+     * needs to be called after the statements (and their arguments) are complete
+     */
+    public void decodeStatements() {
+        int size = 0;
+        if (!statements.isEmpty()) {
+            size = (statements.lastKey() - Memory.CODE_SEGMENT_START) / Instruction.INSTRUCTION_LENGTH + 1;
+        }
+        decodedInstructions = new DecodedInstruction[size];
+        for (Map.Entry<Integer, ProgramStatement> entry : statements.entrySet()) {
+            ProgramStatement statement = entry.getValue();
+            if (statement != null && statement.getInstruction() != null) {
+                int index = (entry.getKey() - Memory.CODE_SEGMENT_START) / Instruction.INSTRUCTION_LENGTH;
+                decodedInstructions[index] = new DecodedInstruction(statement);
+            }
+        }
+    }
+
+    /**
+     * replaces the statement at an address and updates its pre-decoded instruction
+     * (used for re-assembling single lines, the address has to be part of the program already)
+     * @param address address of the statement (code segment)
+     * @param statement new statement
+     */
+    public void replaceStatement(int address, ProgramStatement statement) {
+        statements.put(address, statement);
+        int index = (address - Memory.CODE_SEGMENT_START) / Instruction.INSTRUCTION_LENGTH;
+        decodedInstructions[index] = new DecodedInstruction(statement);
+    }
+
     /**
      * adds a parsed Program Statement/ Line of Source Code to this instance
      * @param statement Program Statement to add 
@@ -66,15 +137,31 @@ public class ARMProgram {
      * set list of used registers within this program
      * @param usedRegisters
      */
-    public void setUsedRegister(ArrayList<Register> usedRegisters) {
+    public void setUsedRegister(ArrayList<Integer> usedRegisters) {
         this.usedRegisters = usedRegisters;
     }
 
-    public TreeMap<Long, Byte> getDataSegment() {
+    public DataSegment getDataSegment() {
         return dataSegment;
     }
 
-    public void setDataSegment(TreeMap<Long, Byte> dataSegmentValues) {
+    public void setDataSegment(DataSegment dataSegmentValues) {
         this.dataSegment = dataSegmentValues;
     }
-}
\ No newline at end of file
+
+    public HashMap<String, Integer> getJumpLabels() {
+        return jumpLabels;
+    }
+
+    public void setJumpLabels(HashMap<String, Integer> jumpLabels) {
+        this.jumpLabels = jumpLabels;
+    }
+
+    public HashMap<String, Long> getDataLabels() {
+        return dataLabels;
+    }
+
+    public void setDataLabels(HashMap<String, Long> dataLabels) {
+        this.dataLabels = dataLabels;
+    }
+}
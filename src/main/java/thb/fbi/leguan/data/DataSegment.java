@@ -0,0 +1,237 @@
+package thb.fbi.leguan.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static data of a program (defined within the data segment of the source code)
+ *
+ * bytes are kept as runs of consecutive addresses, each backed by a single byte array,
+ * so memory can copy whole runs at once. Values are appended in Big Endian byte order.
+ * Space reserved by .space/ .zero is only kept as address range (zero initialized, no bytes stored).
+ */
+public class DataSegment {
+
+    /**
+     * bytes of consecutive addresses
+     */
+    public static class Run {
+        /** address of the first byte */
+        private final long address;
+        /** content of the run, only the first length bytes are used */
+        private byte[] bytes;
+        /** number of bytes of the run */
+        private int length;
+
+        private Run(long address, int capacity) {
+            this.address = address;
+            this.bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        public long getAddress() {
+            return address;
+        }
+
+        /**
+         * gets the content of the run (may be longer than the run, @see getLength)
+         * @return backing array of the run
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * gets the address after the last byte of the run
+         * @return end address (exclusive)
+         */
+        public long getEndAddress() {
+            return address + length;
+        }
+
+        private void ensureCapacity(int additionalBytes) {
+            if (length + additionalBytes > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + additionalBytes)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+    }
+
+    /**
+     * zero initialized address range
+     */
+    public static class Reservation {
+        /** address of the first byte */
+        private final long address;
+        /** number of bytes */
+        private long size;
+
+        private Reservation(long address, long size) {
+            this.address = address;
+            this.size = size;
+        }
+
+        public long getAddress() {
+            return address;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * gets the address after the last byte of the reservation
+         * @return end address (exclusive)
+         */
+        public long getEndAddress() {
+            return address + size;
+        }
+    }
+
+    /** runs ordered by address */
+    private ArrayList<Run> runs = new ArrayList<Run>();
+    /** reserved ranges ordered by address */
+    private ArrayList<Reservation> reservations = new ArrayList<Reservation>();
+
+    /**
+     * gets the run to append bytes at an address, starts a new run if the address does not follow the last run
+     * (addresses have to be appended in ascending order)
+     */
+    private Run getRun(long address, int size) {
+        Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        if (last == null || last.getEndAddress() != address) {
+            if (last != null && address < last.getEndAddress()) {
+                throw new IllegalArgumentException("Address " + address + " is already part of the data segment");
+            }
+            last = new Run(address, size);
+            runs.add(last);
+        }
+        last.ensureCapacity(size);
+        return last;
+    }
+
+    /**
+     * appends a value of 1 to 8 bytes (Big Endian)
+     * @param address address of the first byte
+     * @param value value to append
+     * @param size number of bytes
+     * @return address after the value
+     */
+    private long addValue(long address, long value, int size) {
+        Run run = getRun(address, size);
+        for (int i = 0; i < size; i++) {
+            run.bytes[run.length + i] = (byte) (value >>> ((size - 1 - i) * Byte.SIZE));
+        }
+        run.length += size;
+        return address + size;
+    }
+
+    public long addByte(long address, byte value) {
+        return addValue(address, value, 1);
+    }
+
+    public long addHalfword(long address, short value) {
+        return addValue(address, value, 2);
+    }
+
+    public long addWord(long address, int value) {
+        return addValue(address, value, 4);
+    }
+
+    public long addDWord(long address, long value) {
+        return addValue(address, value, 8);
+    }
+
+    /**
+     * appends a number of bytes
+     * @param address address of the first byte
+     * @param bytes bytes to append
+     * @param offset offset of the first byte within bytes
+     * @param length number of bytes to append
+     * @return address after the bytes
+     */
+    public long addBytes(long address, byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return address;
+        }
+        Run run = getRun(address, length);
+        System.arraycopy(bytes, offset, run.bytes, run.length, length);
+        run.length += length;
+        return address + length;
+    }
+
+    /**
+     * reserves a zero initialized address range without storing its bytes
+     * (adjacent reservations are merged)
+     * @param address address of the first byte
+     * @param size number of bytes
+     * @return address after the reserved range
+     */
+    public long reserve(long address, long size) {
+        if (size == 0) {
+            return address;
+        }
+        Reservation last = reservations.isEmpty() ? null : reservations.get(reservations.size() - 1);
+        if (last != null && last.getEndAddress() == address) {
+            last.size += size;
+        } else {
+            reservations.add(new Reservation(address, size));
+        }
+        return address + size;
+    }
+
+    public List<Run> getRuns() {
+        return runs;
+    }
+
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+
+    public boolean isEmpty() {
+        return runs.isEmpty() && reservations.isEmpty();
+    }
+
+    /**
+     * gets the total number of stored (non-reserved) bytes
+     * @return number of bytes of all runs
+     */
+    public long size() {
+        long size = 0;
+        for (Run run : runs) {
+            size += run.length;
+        }
+        return size;
+    }
+
+    /**
+     * gets the first address of the data segment
+     * @return address of the first byte (undefined if empty)
+     */
+    public long getFirstAddress() {
+        if (runs.isEmpty()) {
+            return reservations.get(0).address;
+        } else if (reservations.isEmpty()) {
+            return runs.get(0).address;
+        }
+        return Math.min(runs.get(0).address, reservations.get(0).address);
+    }
+
+    /**
+     * gets the address after the last byte of the data segment
+     * @return end address (exclusive, undefined if empty)
+     */
+    public long getEndAddress() {
+        if (runs.isEmpty()) {
+            return reservations.get(reservations.size() - 1).getEndAddress();
+        } else if (reservations.isEmpty()) {
+            return runs.get(runs.size() - 1).getEndAddress();
+        }
+        return Math.max(runs.get(runs.size() - 1).getEndAddress(),
+                reservations.get(reservations.size() - 1).getEndAddress());
+    }
+}
@@ -0,0 +1,93 @@
+package thb.fbi.leguan.data;
+
+import thb.fbi.leguan.instructions.Instruction;
+
+/**
+ * Pre-decoded form of a ProgramStatement used by the simulator
+ *
+ * holds the instruction and all of its arguments as primitive values
+ * (registers as indices, -1 if not used), so executing does not need to
+ * look up and resolve the statement on every fetch.
+ */
+public class DecodedInstruction {
+    /** instruction to execute (determines the kind of operation) */
+    private final Instruction instruction;
+    /** register indices, -1 if not used by the instruction */
+    private final int rm;
+    private final int rn;
+    private final int rd;
+    private final int rt;
+    private final int shamt;
+    private final int aluImmediate;
+    private final long dtAddress;
+    private final int brAddress;
+    private final int condBrAddress;
+    /** index of the register written by this instruction (Rd or Rt), -1 if none */
+    private final int changedRegister;
+    /** line number of the source code */
+    private final int sourceLine;
+
+    public DecodedInstruction(ProgramStatement statement) {
+        InstructionArguments args = statement.getArguments();
+        this.instruction = statement.getInstruction();
+        this.rm = args.getRm();
+        this.rn = args.getRn();
+        this.rd = args.getRd();
+        this.rt = args.getRt();
+        this.shamt = args.getShamt();
+        this.aluImmediate = args.getAlu_Immediate();
+        this.dtAddress = args.getDt_Address();
+        this.brAddress = args.getBr_Address();
+        this.condBrAddress = args.getCond_Br_Address();
+        this.changedRegister = rd != -1 ? rd : rt;
+        this.sourceLine = statement.getSourceLine();
+    }
+
+    public Instruction getInstruction() {
+        return instruction;
+    }
+
+    public int getRm() {
+        return rm;
+    }
+
+    public int getRn() {
+        return rn;
+    }
+
+    public int getRd() {
+        return rd;
+    }
+
+    public int getRt() {
+        return rt;
+    }
+
+    public int getShamt() {
+        return shamt;
+    }
+
+    public int getAluImmediate() {
+        return aluImmediate;
+    }
+
+    public long getDtAddress() {
+        return dtAddress;
+    }
+
+    public int getBrAddress() {
+        return brAddress;
+    }
+
+    public int getCondBrAddress() {
+        return condBrAddress;
+    }
+
+    public int getChangedRegister() {
+        return changedRegister;
+    }
+
+    public int getSourceLine() {
+        return sourceLine;
+    }
+}
@@ -1,17 +1,18 @@
 package thb.fbi.leguan.data;
 
-import thb.fbi.leguan.simulation.Register;
-
 /**
  * Class for holding all kinds of arguments for all instruction formats.
  * Each instruction class takes certain attributs from this class for execution.
  */
 public class InstructionArguments {
-    /** already translated arguments; can be directly used by an instruction */
-    private Register Rm;
-    private Register Rn;
-    private Register Rd;
-    private Register Rt;
+    /** index of a register argument not used by the instruction */
+    public static final int NO_REGISTER = -1;
+
+    /** already translated arguments; can be directly used by an instruction (registers as index 0-31) */
+    private int Rm;
+    private int Rn;
+    private int Rd;
+    private int Rt;
     private int shamt; // 6bit
     private int alu_immediate; // 12bit
     private long dt_address; // 9bit
@@ -22,25 +23,37 @@ public class InstructionArguments {
 
 
     public InstructionArguments() {
-        Rm = null;
-        Rn = null;
-        Rd = null;
-        Rt = null;
+        Rm = NO_REGISTER;
+        Rn = NO_REGISTER;
+        Rd = NO_REGISTER;
+        Rt = NO_REGISTER;
+    }
+
+    public InstructionArguments(InstructionArguments other) {
+        this.Rm = other.Rm;
+        this.Rn = other.Rn;
+        this.Rd = other.Rd;
+        this.Rt = other.Rt;
+        this.shamt = other.shamt;
+        this.alu_immediate = other.alu_immediate;
+        this.dt_address = other.dt_address;
+        this.br_address = other.br_address;
+        this.cond_br_address = other.cond_br_address;
     }
 
-    public Register getRm() {
+    public int getRm() {
         return Rm;
     }
 
-    public Register getRn() {
+    public int getRn() {
         return Rn;
     }
 
-    public Register getRd() {
+    public int getRd() {
         return Rd;
     }
 
-    public Register getRt() {
+    public int getRt() {
         return Rt;
     }
 
@@ -64,19 +77,19 @@ public class InstructionArguments {
         return cond_br_address;
     }
 
-    public void setRn(Register rn) {
+    public void setRn(int rn) {
         this.Rn = rn;
     }
 
-    public void setRm(Register rm) {
+    public void setRm(int rm) {
         this.Rm = rm;
     }
 
-    public void setRd(Register rd) {
+    public void setRd(int rd) {
         this.Rd = rd;
     }
 
-    public void setRt(Register rt) {
+    public void setRt(int rt) {
         this.Rt = rt;
     }
 
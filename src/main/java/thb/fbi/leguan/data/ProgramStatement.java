@@ -22,6 +22,14 @@ public class ProgramStatement {
         this.setSourceLine(sourceLine);
     }
 
+    /**
+     * copies a statement, its arguments are copied as well (the instruction is shared)
+     * @param other statement to copy
+     */
+    public ProgramStatement(ProgramStatement other) {
+        this(other.instruction, new InstructionArguments(other.arguments), other.source, other.sourceLine);
+    }
+
     public String getMachineCodeString() {
         return this.instruction.getMachineCodeString(this.arguments);
     }
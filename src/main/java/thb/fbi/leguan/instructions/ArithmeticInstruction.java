@@ -1,8 +1,8 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
 
 /**
@@ -19,15 +19,22 @@ public class ArithmeticInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        Register Rm = argument.getRm();
-        int shamt = argument.getShamt();
-        Register Rn = argument.getRn();
-        Register Rd = argument.getRd();
-        this.arithmeticCode.simulate(Rm, shamt, Rn, Rd);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.arithmeticCode.simulate(X, instruction.getRm(), instruction.getShamt(), instruction.getRn(), instruction.getRd());
         pc.increase();
     }
 
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        if (mnemonic.equals("NOP")) {
+            return InstructionSet.NOP_MACHINE_WORD;
+        }
+        // MUL is MADD with Ra = XZR in the shamt field
+        int shamt = mnemonic.equals("MUL") ? 31 : toUnsignedField(args.getShamt(), 6, "shift amount");
+        return opcode << 21 | getRegisterID(args.getRm()) << 16 | shamt << 10
+                | getRegisterID(args.getRn()) << 5 | getRegisterID(args.getRd());
+    }
+
     /**
      * returns this instructions machine code representation with provided arguments
      * in the form of opcode(11b), Rm(5b), shamt(6b), Rn(5b), Rd(5b)
@@ -35,14 +42,14 @@ public class ArithmeticInstruction extends Instruction {
     public String getMachineCodeString(InstructionArguments args) {
         String s = "";
         s = MachineCodeTranslator.convertToMachineCode(opcode, 11);
-        if(args.getRm() != null) {
-            s += " " + MachineCodeTranslator.convertToMachineCode(args.getRm().getID(), 5);
+        if(args.getRm() != InstructionArguments.NO_REGISTER) {
+            s += " " + MachineCodeTranslator.convertToMachineCode(args.getRm(), 5);
         } else {
             s += " 11111";
         }
         s += " " + MachineCodeTranslator.convertToMachineCode(args.getShamt(), 6);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn().getID(), 5);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd().getID(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd(), 5);
         return s;
     }
 
@@ -1,5 +1,6 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
@@ -18,9 +19,14 @@ public class BranchInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        int br_address = argument.getBr_Address();
-        this.branchCode.simulate(br_address, pc);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.branchCode.simulate(X, instruction.getBrAddress(), pc);
+    }
+
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        int offset = (args.getBr_Address() - address) / INSTRUCTION_LENGTH;
+        return opcode << 26 | toSignedField(offset, 26, "branch offset");
     }
 
     /**
@@ -1,8 +1,8 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
 
 /**
@@ -19,10 +19,22 @@ public class ConditionalBranchInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        int cond_br_address = argument.getCond_Br_Address();
-        Register Rt = argument.getRt();
-        this.conditionalBranchCode.simulate(cond_br_address, Rt, pc);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.conditionalBranchCode.simulate(X, instruction.getCondBrAddress(), instruction.getRt(), pc);
+    }
+
+    /**
+     * BR uses the R format (register in Rn), all others the CB format
+     * (B.cond encodes its condition in the Rt field)
+     */
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        if (opcodeLength == 11) { // BR
+            return opcode << 21 | 31 << 16 | getRegisterID(args.getRt()) << 5;
+        }
+        int offset = (args.getCond_Br_Address() - address) / INSTRUCTION_LENGTH;
+        int rt = args.getRt() == InstructionArguments.NO_REGISTER ? getConditionCode() : args.getRt();
+        return opcode << 24 | toSignedField(offset, 19, "branch offset") << 5 | rt;
     }
 
     /**
@@ -33,51 +45,51 @@ public class ConditionalBranchInstruction extends Instruction {
         String s = "";
         s = MachineCodeTranslator.convertToMachineCode(opcode, 8);
         s += " " + MachineCodeTranslator.convertToMachineCode(args.getCond_Br_Address(), 19);
-        if (args.getRt() == null) { // instructions that not use RT but condition codes like B.EQ, B.LT
-            s += " " + getMachineCodeForConditionCode(this.mnemonic);
+        if (args.getRt() == InstructionArguments.NO_REGISTER) { // instructions that not use RT but condition codes like B.EQ, B.LT
+            s += " " + getMachineCodeForConditionCode();
         } else { // instructions that use RT like CBNZ, CBZ
-            s += " " + MachineCodeTranslator.convertToMachineCode(args.getRt().getID(), 5);
+            s += " " + MachineCodeTranslator.convertToMachineCode(args.getRt(), 5);
         }
         return s;
     }
 
 
-    private String getMachineCodeForConditionCode(String mnemonic) {
-        mnemonic = mnemonic.substring(2); // get actual condition
-        String s = "";
-        switch (mnemonic) {
+    private String getMachineCodeForConditionCode() {
+        return MachineCodeTranslator.convertToMachineCode(getConditionCode(), 5);
+    }
+
+    /**
+     * gets the condition code of a B.cond instruction
+     * @return condition code or -1 if the instruction has no condition (CBZ, CBNZ, BR)
+     */
+    public int getConditionCode() {
+        if (!mnemonic.startsWith("B.")) {
+            return -1;
+        }
+        switch (mnemonic.substring(2)) { // get actual condition
             case "EQ":
-                s = "00000";
-                break;
+                return 0b00000;
             case "NE":
-                s = "00001";
-                break;
+                return 0b00001;
             case "LT":
-                s = "01011";
-                break;
+                return 0b01011;
             case "LE":
-                s = "01101";
-                break;
+                return 0b01101;
             case "GT":
-                s = "01100";
-                break;
+                return 0b01100;
             case "GE":
-                s = "01010";
-                break;
+                return 0b01010;
             case "MI":
-                s = "00100";
-                break;
+                return 0b00100;
             case "PL":
-                s = "00101";
-                break;
+                return 0b00101;
             case "VS":
-                s = "00110";
-                break;
+                return 0b00110;
             case "VC":
-                s = "00111";
-                break;
+                return 0b00111;
+            default:
+                return -1;
         }
-        return s;
     }
 
     public IConditionalBranchCode getConditionalBranchCode() {
@@ -1,8 +1,8 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
 
 /**
@@ -19,14 +19,20 @@ public class DataTransferInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        long dt_address = argument.getDt_Address();
-        Register Rn = argument.getRn();
-        Register Rt = argument.getRt();
-        this.dataTransferCode.simulate(dt_address, Rn, Rt);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.dataTransferCode.simulate(X, instruction.getDtAddress(), instruction.getRn(), instruction.getRt());
         pc.increase();
     }
 
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        if (mnemonic.equals("LDR")) {
+            throw new IllegalArgumentException("LDR is a pseudo instruction without machine code");
+        }
+        return opcode << 21 | toSignedField(args.getDt_Address(), 9, "address offset") << 12 | getRegisterID(args.getRn()) << 5
+                | getRegisterID(args.getRt());
+    }
+
     /**
      * returns this instructions machine code representation with provided arguments
      * in the form of opcode(11b), dt_address(9b), op2(2b), Rn(5b), Rt(5b)
@@ -36,8 +42,8 @@ public class DataTransferInstruction extends Instruction {
         s = MachineCodeTranslator.convertToMachineCode(opcode, 11);
         s += " " + MachineCodeTranslator.convertToMachineCode(args.getDt_Address(), 9);
         s += " 00 "; // opcode not used, therefore always 0
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn().getID(), 5);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRt().getID(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRt(), 5);
         return s;
     }
 
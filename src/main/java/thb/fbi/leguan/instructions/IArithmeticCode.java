@@ -1,10 +1,9 @@
 package thb.fbi.leguan.instructions;
 
-import thb.fbi.leguan.simulation.Register;
-
 /**
  * Interface for definining and executing code of arithmetic instructions
+ * registers are passed as indices into the register file X
  */
 public interface IArithmeticCode {
-    public abstract void simulate(Register Rm, int shamt, Register Rn, Register Rd);
+    public abstract void simulate(long[] X, int Rm, int shamt, int Rn, int Rd);
 }
@@ -4,7 +4,8 @@ import thb.fbi.leguan.simulation.PCRegister;
 
 /**
  * Interface for definining and executing code of unconditional branch instructions
+ * registers are passed as indices into the register file X
  */
 public interface IBranchCode {
-    public abstract void simulate(int br_address, PCRegister pc);
+    public abstract void simulate(long[] X, int br_address, PCRegister pc);
 }
@@ -1,11 +1,11 @@
 package thb.fbi.leguan.instructions;
 
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 
 /**
  * Interface for definining and executing code of conditional branch instructions
+ * registers are passed as indices into the register file X
  */
 public interface IConditionalBranchCode {
-    public abstract void simulate(int cond_br_address, Register Rt, PCRegister pc);
+    public abstract void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc);
 }
@@ -1,10 +1,9 @@
 package thb.fbi.leguan.instructions;
 
-import thb.fbi.leguan.simulation.Register;
-
 /**
  * Interface for definining and executing code of DataTransfer instructions
+ * registers are passed as indices into the register file X
  */
 public interface IDataTransferCode {
-    public abstract void simulate(long dt_address, Register Rn, Register Rt);
+    public abstract void simulate(long[] X, long dt_address, int Rn, int Rt);
 }
@@ -1,10 +1,9 @@
 package thb.fbi.leguan.instructions;
 
-import thb.fbi.leguan.simulation.Register;
-
 /**
  * Interface for definining and executing code of immediate instructions
+ * registers are passed as indices into the register file X
  */
 public interface IImmediateCode {
-    public abstract void simulate(int alu_immediate, Register Rn, Register Rd);
+    public abstract void simulate(long[] X, int alu_immediate, int Rn, int Rd);
 }
@@ -1,10 +1,9 @@
 package thb.fbi.leguan.instructions;
 
-import thb.fbi.leguan.simulation.Register;
-
 /**
  * Interface for definining and executing code of DataTransfer instructions
+ * registers are passed as indices into the register file X
  */
 public interface IWideImmediateCode {
-    public abstract void simulate(Register Rd, long immediate, int shamt );
+    public abstract void simulate(long[] X, int Rd, long immediate, int shamt);
 }
@@ -1,8 +1,8 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
 
 /**
@@ -19,14 +19,17 @@ public class ImmediateInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        int alu_immediate = argument.getAlu_Immediate();
-        Register Rn = argument.getRn();
-        Register Rd = argument.getRd();
-        this.immediateCode.simulate(alu_immediate, Rn, Rd);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.immediateCode.simulate(X, instruction.getAluImmediate(), instruction.getRn(), instruction.getRd());
         pc.increase();
     }
 
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        return opcode << 22 | toUnsignedField(args.getAlu_Immediate(), 12, "immediate") << 10 | getRegisterID(args.getRn()) << 5
+                | getRegisterID(args.getRd());
+    }
+
     /**
      * returns this instructions machine code representation with provided arguments
      * in the form of opcode(10b), immediate(12b), Rn(5b), Rd(5b)
@@ -35,8 +38,8 @@ public class ImmediateInstruction extends Instruction {
         String s = "";
         s = MachineCodeTranslator.convertToMachineCode(opcode, 10);
         s += " " + MachineCodeTranslator.convertToMachineCode(args.getAlu_Immediate(), 12);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn().getID(), 5);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd().getID(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRn(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd(), 5);
         return s;
     }
 
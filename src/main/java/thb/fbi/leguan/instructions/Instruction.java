@@ -1,5 +1,6 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
 
@@ -13,11 +14,62 @@ public abstract class Instruction implements Comparable<Instruction> {
     protected String description;
     /** opcode of the instruction */
     protected short opcode;
+    /** number of bits of the opcode (depends on the instruction format) */
+    protected int opcodeLength;
 
     public static final short INSTRUCTION_LENGTH = 4;
 
     public abstract String getMachineCodeString(InstructionArguments args);
 
+    /**
+     * encodes this instruction with provided arguments as 32 bit machine word
+     * (branch targets are encoded relative to the address of the instruction)
+     * @param args arguments of the instruction
+     * @param address address of the instruction
+     * @return machine word
+     * @throws IllegalArgumentException if an argument does not fit into its field of the machine word
+     */
+    public abstract int encode(InstructionArguments args, int address);
+
+    /**
+     * gets the id of a register for encoding, unused registers are encoded as XZR (11111)
+     * @param register index of register or InstructionArguments.NO_REGISTER
+     * @return id of register
+     */
+    protected static int getRegisterID(int register) {
+        return register == InstructionArguments.NO_REGISTER ? 31 : register;
+    }
+
+    /**
+     * gets the bits of an unsigned field for encoding
+     * @param value value of the field
+     * @param bits size of the field
+     * @param field name of the field (for the error message)
+     * @return value within the field
+     * @throws IllegalArgumentException if the field can not represent the value (it is not truncated)
+     */
+    protected int toUnsignedField(long value, int bits, String field) {
+        if (value < 0 || value >= 1L << bits) {
+            throw new IllegalArgumentException(mnemonic + ": " + field + " " + value + " does not fit into " + bits + " bits (unsigned)");
+        }
+        return (int) value;
+    }
+
+    /**
+     * gets the bits of a signed (two's complement) field for encoding
+     * @param value value of the field
+     * @param bits size of the field
+     * @param field name of the field (for the error message)
+     * @return value within the field
+     * @throws IllegalArgumentException if the field can not represent the value (it is not truncated)
+     */
+    protected int toSignedField(long value, int bits, String field) {
+        if (value < -(1L << (bits - 1)) || value >= 1L << (bits - 1)) {
+            throw new IllegalArgumentException(mnemonic + ": " + field + " " + value + " does not fit into " + bits + " bits (signed)");
+        }
+        return (int) value & ((1 << bits) - 1);
+    }
+
     public String getMnemonic() {
         return this.mnemonic;
     }
@@ -40,13 +92,24 @@ public abstract class Instruction implements Comparable<Instruction> {
 
     public void setOpcode(String opcode) {
         this.opcode = Short.parseShort(opcode, 2);
+        this.opcodeLength = opcode.length();
+    }
+
+    public int getOpcodeLength() {
+        return opcodeLength;
     }
 
     public void setOpcode(short opcode) {
         this.opcode = opcode;
     }
 
-    public abstract void simulate(InstructionArguments argument, PCRegister pc);
+    /**
+     * executes this instruction
+     * @param instruction pre-decoded arguments of this instruction
+     * @param X register file (indexed by register id)
+     * @param pc program counter
+     */
+    public abstract void simulate(DecodedInstruction instruction, long[] X, PCRegister pc);
 
     @Override
     public int hashCode() {
@@ -1,14 +1,13 @@
 package thb.fbi.leguan.instructions;
 
+import java.util.Arrays;
 import java.util.Formatter;
+import java.util.HashMap;
 import java.util.TreeSet;
 
 import thb.fbi.leguan.simulation.FlagRegister;
 import thb.fbi.leguan.simulation.Memory;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
-import thb.fbi.leguan.simulation.Simulator;
-import thb.fbi.leguan.simulation.SimulatorSingleton;
 
 /**
  * List of usable LEGv8 Instructions.
@@ -16,6 +15,20 @@ import thb.fbi.leguan.simulation.SimulatorSingleton;
 public class InstructionSet {
     /** unique List of all usable instructions */
     private TreeSet<Instruction> instructionSet;
+    /** instructions by mnemonic (upper case) */
+    private HashMap<String, Instruction> mnemonicTable = new HashMap<String, Instruction>();
+    /** instructions by the upper 11 bits of a machine word (opcodes shorter than 11 bits fill several entries) */
+    private Instruction[] opcodeTable = new Instruction[1 << OPCODE_TABLE_BITS];
+    /** B.cond instructions by condition code (all of them share one opcode) */
+    private Instruction[] conditionTable = new Instruction[16];
+    /** summary of all instructions (mnemonic, format, opcode), changes whenever the instruction set changes */
+    private String fingerprint = "";
+    /** number of bits used to index the opcode table */
+    private static final int OPCODE_TABLE_BITS = 11;
+    /** shortest opcode of the instruction formats (B) */
+    private static final int MIN_OPCODE_LENGTH = 6;
+    /** machine word of NOP (a hint instruction without regular opcode) */
+    public static final int NOP_MACHINE_WORD = 0xD503201F;
 
     public InstructionSet() {
         instructionSet = new TreeSet<Instruction>();
@@ -29,7 +42,7 @@ public class InstructionSet {
                         "it is just empty",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
                                 
                             }
                         }));
@@ -42,12 +55,12 @@ public class InstructionSet {
                         "Adds value of Registers Rm and Rn and puts result in Rd without flags",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
                                 // simple addition
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 + op2;
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -57,10 +70,10 @@ public class InstructionSet {
                         "Adds value of Registers Rm and a constant and puts result in Rd without flags",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 + alu_immediate;
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -70,13 +83,13 @@ public class InstructionSet {
                         "Adds value of Registers Rm and a constant and puts result in Rd with flags",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 + alu_immediate;
 
                                 FlagRegister.setAllFlags(op1, alu_immediate, result);
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -86,15 +99,15 @@ public class InstructionSet {
                         "Adds value of Registers Rm and Rn and puts result in Rd with flags",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
                                 // simple addition
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 + op2;
 
                                 FlagRegister.setAllFlags(op1, op2, result);
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -104,12 +117,12 @@ public class InstructionSet {
                         "AND",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 & op2;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -119,11 +132,11 @@ public class InstructionSet {
                         "AND Immediate",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 & alu_immediate;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -133,13 +146,13 @@ public class InstructionSet {
                         "AND Immediate and Flags",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 & alu_immediate;
 
                                 FlagRegister.setAllFlags(op1, alu_immediate, result);
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -149,14 +162,14 @@ public class InstructionSet {
                         "AND with Flags",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 & op2;
 
                                 FlagRegister.setAllFlags(op1, op2, result);
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -166,21 +179,21 @@ public class InstructionSet {
                         "Branch",
                         new IBranchCode() {
                             @Override
-                            public void simulate(int br_address, PCRegister pc) {
-                                pc.setValue(br_address);
+                            public void simulate(long[] X, int br_address, PCRegister pc) {
+                                pc.branch(br_address);
                             }
                         }));
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.EQ",
-                        "0",
+                        "01010100",
                         "Branch Signed Equals",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test Z == 1
                                 if (FlagRegister.getZFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -189,14 +202,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.NE",
-                        "0",
+                        "01010100",
                         "Branch Signed Not Equals",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test Z == 0
                                 if (!FlagRegister.getZFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -205,14 +218,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.LT",
-                        "0",
+                        "01010100",
                         "Branch Signed Less Than",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test N != V
                                 if (FlagRegister.getNFlag() != FlagRegister.getVFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -221,14 +234,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.LE",
-                        "0",
+                        "01010100",
                         "Branch Signed Less Equals",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test ! (Z == 0 && N == V)
                                 if (!(!FlagRegister.getZFlag() && FlagRegister.getNFlag() == FlagRegister.getVFlag())) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -237,14 +250,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.GT",
-                        "0",
+                        "01010100",
                         "Branch Signed Greater Than",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test (Z == 0 && N == V)
                                 if (!FlagRegister.getZFlag() && FlagRegister.getNFlag() == FlagRegister.getVFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -253,14 +266,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.GE",
-                        "0",
+                        "01010100",
                         "Branch Signed Greater Equals",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test N == V
                                 if (FlagRegister.getNFlag() == FlagRegister.getVFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -269,14 +282,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.MI",
-                        "0",
+                        "01010100",
                         "Branch on Minus",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test N == 1
                                 if (FlagRegister.getNFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -285,14 +298,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.PL",
-                        "0",
+                        "01010100",
                         "Branch on Plus",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test N == 0
                                 if (!FlagRegister.getNFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -301,14 +314,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.VS",
-                        "0",
+                        "01010100",
                         "Branch on Overflow set",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test V == 1
                                 if (FlagRegister.getVFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -317,14 +330,14 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ConditionalBranchInstruction("B.VC",
-                        "0",
+                        "01010100",
                         "Branch on Overflow clear",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
                                 // test V == 0
                                 if (!FlagRegister.getVFlag()) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -337,11 +350,9 @@ public class InstructionSet {
                         "Branch with Link",
                         new IBranchCode() {
                             @Override
-                            public void simulate(int br_address, PCRegister pc) {
-                                Simulator simulator = SimulatorSingleton.getSimulator();
-                                Register R30 = simulator.getRegisters()[30];
-                                R30.setValue((pc.getValue() + 1) * 4); // internal pc value is not multiplied by 4
-                                pc.setValue(br_address);
+                            public void simulate(long[] X, int br_address, PCRegister pc) {
+                                X[30] = (pc.getValue() + 1) * 4; // internal pc value is not multiplied by 4
+                                pc.branch(br_address);
                             }
                         }));
 
@@ -351,10 +362,10 @@ public class InstructionSet {
                         "Branch to register",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
-                                long address = Rt.getValue();
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
+                                long address = X[Rt];
                                 address /= 4; // pc shows multiple of 4, but internally uses one quarter of shownValue
-                                pc.setValue(address);
+                                pc.branch(address);
                             }
                         }));
 
@@ -364,10 +375,10 @@ public class InstructionSet {
                         "Compare and Branch if not Zero",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
-                                long op = Rt.getValue();
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
+                                long op = X[Rt];
                                 if (op != 0) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -380,10 +391,10 @@ public class InstructionSet {
                         "Compare and Branch if Zero",
                         new IConditionalBranchCode() {
                             @Override
-                            public void simulate(int cond_br_address, Register Rt, PCRegister pc) {
-                                long op = Rt.getValue();
+                            public void simulate(long[] X, int cond_br_address, int Rt, PCRegister pc) {
+                                long op = X[Rt];
                                 if (op == 0) {
-                                    pc.setValue(cond_br_address);
+                                    pc.branch(cond_br_address);
                                 } else {
                                     pc.increase();
                                 }
@@ -396,12 +407,12 @@ public class InstructionSet {
                         "Exclusive OR between two Registers",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 ^ op2; // equals !=
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -411,11 +422,11 @@ public class InstructionSet {
                         "Exclusive OR between Register and Immediate",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 ^ alu_immediate; // equals !=
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -425,11 +436,11 @@ public class InstructionSet {
                         "Load a double word from memory to register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 long value = Memory.loadDWord(address);
-                                Rt.setValue(value);
+                                X[Rt] = value;
                             }
                         }));
 
@@ -439,11 +450,11 @@ public class InstructionSet {
                         "Load a Byte from memory to register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 long value = Memory.loadByte(address);
-                                Rt.setValue(value);
+                                X[Rt] = value;
                             }
                         }));
 
@@ -453,11 +464,11 @@ public class InstructionSet {
                         "Load a half word from memory to register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 long value = Memory.loadHalfword(address);
-                                Rt.setValue(value);
+                                X[Rt] = value;
                             }
                         }));
 
@@ -467,11 +478,11 @@ public class InstructionSet {
                         "Load a word from memory to register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 long value = Memory.loadWord(address);
-                                Rt.setValue(value);
+                                X[Rt] = value;
                             }
                         }));
 
@@ -481,11 +492,11 @@ public class InstructionSet {
                         "Exclusive load a word from memory to register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 long value = Memory.loadExclusive(address);
-                                Rt.setValue(value);
+                                X[Rt] = value;
                             }
                         }));
 
@@ -495,11 +506,11 @@ public class InstructionSet {
                         "Logical Shift Left",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 << shamt;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -509,12 +520,12 @@ public class InstructionSet {
                         "Logical Shift Right",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 >>> shamt; // unsigned shift = shifts a zero into the leftmost
                                                              // position
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -524,12 +535,12 @@ public class InstructionSet {
                         "Move wide with keep",
                         new IWideImmediateCode() {
                             @Override
-                            public void simulate(Register Rd, long immediate, int shamt) {
-                                long oldValue = Rd.getValue();
+                            public void simulate(long[] X, int Rd, long immediate, int shamt) {
+                                long oldValue = X[Rd];
                                 long result = immediate << shamt;
                                 result += oldValue;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -539,10 +550,10 @@ public class InstructionSet {
                         "Move wide with zeroes",
                         new IWideImmediateCode() {
                             @Override
-                            public void simulate(Register Rd, long immediate, int shamt) {
+                            public void simulate(long[] X, int Rd, long immediate, int shamt) {
                                 long result = immediate << shamt;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -552,12 +563,12 @@ public class InstructionSet {
                         "Inclusive OR between two Registers",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rm.getValue();
-                                long op2 = Rn.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rm];
+                                long op2 = X[Rn];
                                 long result = op1 | op2;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -567,11 +578,11 @@ public class InstructionSet {
                         "Inclusive OR between Register and Immediate",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 | alu_immediate;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -581,9 +592,9 @@ public class InstructionSet {
                         "Store a double word from register into memory",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                long value = Rt.getValue();
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                long value = X[Rt];
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 Memory.storeDWord(address, value);
                             }
@@ -595,9 +606,9 @@ public class InstructionSet {
                         "Store a Byte from register into memory",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                byte value = (byte) Rt.getValue();
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                byte value = (byte) X[Rt];
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 Memory.storeByte(address, value);
                             }
@@ -609,9 +620,9 @@ public class InstructionSet {
                         "Store a half word from register into memory",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                short value = (short) Rt.getValue();
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                short value = (short) X[Rt];
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 Memory.storeHalfword(address, value);
                             }
@@ -623,9 +634,9 @@ public class InstructionSet {
                         "Store a word from register into memory",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                int value = (int) Rt.getValue();
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                int value = (int) X[Rt];
+                                long op1 = X[Rn];
                                 long address = op1 + dt_address;
                                 Memory.storeWord(address, value);
                             }
@@ -637,12 +648,12 @@ public class InstructionSet {
                         "Exclusive Store a word from register into memory",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                int value = (int) Rd.getValue();
-                                if (Memory.storeExclusive(Rm.getValue(), value)) {
-                                    Rn.setValue(0);
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                int value = (int) X[Rd];
+                                if (Memory.storeExclusive(X[Rm], value)) {
+                                    X[Rn] = 0;
                                 } else {
-                                    Rn.setValue(1);
+                                    X[Rn] = 1;
                                 }
                             }
                         }));
@@ -653,11 +664,11 @@ public class InstructionSet {
                         "Subtracts value of Registers Rm and Rn and puts result in Rd without flags",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
                                 // simple subtraction
-                                long op1 = Rn.getValue();
-                                long op2 = Rm.getValue();
-                                Rd.setValue(op1 - op2);
+                                long op1 = X[Rn];
+                                long op2 = X[Rm];
+                                X[Rd] = op1 - op2;
                             }
                         }));
 
@@ -667,10 +678,10 @@ public class InstructionSet {
                         "Subtracts value of Registers Rm and a constant and puts result in Rd without flags",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 - alu_immediate;
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -680,14 +691,14 @@ public class InstructionSet {
                         "Subtracts value of Registers Rm and a constant and puts result in Rd without flags",
                         new IImmediateCode() {
                             @Override
-                            public void simulate(int alu_immediate, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
+                            public void simulate(long[] X, int alu_immediate, int Rn, int Rd) {
+                                long op1 = X[Rn];
                                 long result = op1 - alu_immediate;
 
                                 FlagRegister.setAllFlags(op1, -1 * alu_immediate, result); // the only difference to
                                                                                            // ADDS
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -697,15 +708,15 @@ public class InstructionSet {
                         "Subtracts value of Registers Rm and Rn and puts result in Rd with flags",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
                                 // simple subtraction
-                                long op1 = Rn.getValue();
-                                long op2 = Rm.getValue();
+                                long op1 = X[Rn];
+                                long op2 = X[Rm];
                                 long result = op1 - op2;
 
                                 FlagRegister.setAllFlags(op1, -1 * op2, result); // the only difference to ADDS
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -713,16 +724,16 @@ public class InstructionSet {
 
         instructionSet.add(
                 new ArithmeticInstruction("MUL",
-                        "0", // opcode unknown
+                        "10011011000", // MADD with Ra = XZR
                         "Multiplies two registers (only integers)",
                         new IArithmeticCode() {
                             @Override
-                            public void simulate(Register Rm, int shamt, Register Rn, Register Rd) {
-                                long op1 = Rn.getValue();
-                                long op2 = Rm.getValue();
+                            public void simulate(long[] X, int Rm, int shamt, int Rn, int Rd) {
+                                long op1 = X[Rn];
+                                long op2 = X[Rm];
                                 long result = op1 * op2;
 
-                                Rd.setValue(result);
+                                X[Rd] = result;
                             }
                         }));
 
@@ -734,19 +745,80 @@ public class InstructionSet {
                         "Loads a program-relative or register-relative address into a register",
                         new IDataTransferCode() {
                             @Override
-                            public void simulate(long dt_address, Register Rn, Register Rt) {
-                                Rt.setValue(dt_address);
+                            public void simulate(long[] X, long dt_address, int Rn, int Rt) {
+                                X[Rt] = dt_address;
                             }
                         }));
+
+        buildDecodeTables();
     }
 
-    public Instruction findInstructionByMnemonic(String mnemonic) {
+    /**
+     * fills the lookup tables by mnemonic and by opcode
+     * pseudo instructions (LDR) and instructions without opcode (NOP) can not be decoded
+     */
+    private void buildDecodeTables() {
+        mnemonicTable.clear();
+        Arrays.fill(opcodeTable, null);
+        Arrays.fill(conditionTable, null);
+        StringBuilder summary = new StringBuilder();
         for (Instruction instruction : instructionSet) {
-            if (instruction.getMnemonic().equalsIgnoreCase(mnemonic)) {
-                return instruction;
+            mnemonicTable.put(instruction.getMnemonic().toUpperCase(), instruction);
+            summary.append(instruction.getMnemonic()).append(' ').append(instruction.getClass().getSimpleName())
+                    .append(' ').append(instruction.getOpcode()).append('/').append(instruction.getOpcodeLength()).append(';');
+            int length = instruction.getOpcodeLength();
+            if (instruction.getMnemonic().equals("LDR") || length < MIN_OPCODE_LENGTH) {
+                continue;
             }
+            if (instruction instanceof ConditionalBranchInstruction
+                    && ((ConditionalBranchInstruction) instruction).getConditionCode() >= 0) {
+                conditionTable[((ConditionalBranchInstruction) instruction).getConditionCode()] = instruction;
+            }
+            // an opcode of n bits matches all 2^(11-n) table entries starting with it
+            int first = instruction.getOpcode() << (OPCODE_TABLE_BITS - length);
+            int count = 1 << (OPCODE_TABLE_BITS - length);
+            for (int i = first; i < first + count; i++) {
+                if (opcodeTable[i] != null && opcodeTable[i].getOpcode() != instruction.getOpcode()) {
+                    throw new IllegalStateException("Opcode of " + instruction.getMnemonic()
+                            + " overlaps with " + opcodeTable[i].getMnemonic());
+                }
+                opcodeTable[i] = instruction;
+            }
+        }
+        fingerprint = summary.toString();
+    }
+
+    /**
+     * gets a summary of all instructions, e.g. to detect if assembled programs are outdated
+     * @return fingerprint of the instruction set
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Instruction findInstructionByMnemonic(String mnemonic) {
+        Instruction instruction = mnemonicTable.get(mnemonic);
+        if (instruction == null) {
+            instruction = mnemonicTable.get(mnemonic.toUpperCase());
+        }
+        return instruction;
+    }
+
+    /**
+     * decodes the instruction of a machine word by its opcode
+     * @param word 32 bit machine word
+     * @return decoded instruction or null if the opcode is unknown
+     */
+    public Instruction findInstructionByOpcode(int word) {
+        if (word == NOP_MACHINE_WORD) {
+            return mnemonicTable.get("NOP");
+        }
+        Instruction instruction = opcodeTable[word >>> (32 - OPCODE_TABLE_BITS)];
+        if (instruction != null && instruction.getMnemonic().startsWith("B.")) { // condition in the Rt field
+            int condition = word & 0x1F;
+            return condition < conditionTable.length ? conditionTable[condition] : null;
         }
-        return null;
+        return instruction;
     }
 
     public String toString() {
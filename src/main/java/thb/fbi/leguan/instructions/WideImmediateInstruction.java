@@ -1,8 +1,8 @@
 package thb.fbi.leguan.instructions;
 
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.simulation.PCRegister;
-import thb.fbi.leguan.simulation.Register;
 import thb.fbi.leguan.utility.MachineCodeTranslator;
 
 /**
@@ -21,14 +21,24 @@ public class WideImmediateInstruction extends Instruction {
     }
 
     @Override
-    public void simulate(InstructionArguments argument, PCRegister pc) {
-        Register Rd = argument.getRd();
-        int immediate = argument.getAlu_Immediate();
-        int shamt = argument.getShamt();
-        this.wideImmediateCode.simulate(Rd, immediate, shamt);
+    public void simulate(DecodedInstruction instruction, long[] X, PCRegister pc) {
+        this.wideImmediateCode.simulate(X, instruction.getRd(), instruction.getAluImmediate(), instruction.getShamt());
         pc.increase();
     }
 
+    /**
+     * encodes the shift amount as hw (shift / 16) in the two bits following the opcode
+     */
+    @Override
+    public int encode(InstructionArguments args, int address) {
+        if (args.getShamt() % 16 != 0) {
+            throw new IllegalArgumentException(mnemonic + ": shift " + args.getShamt() + " is not a multiple of 16");
+        }
+        return opcode << 23 | toUnsignedField(args.getShamt() / 16, 2, "shift") << 21
+                | toUnsignedField(args.getAlu_Immediate(), 16, "immediate") << 5
+                | getRegisterID(args.getRd());
+    }
+
     /**
      * returns this instructions machine code representation with provided arguments
      * in the form of opcode(11b), mov_immediate(16b), Rd(5b)
@@ -37,7 +47,7 @@ public class WideImmediateInstruction extends Instruction {
         String s = "";
         s = MachineCodeTranslator.convertToMachineCode(opcode, 11);
         s += " " + MachineCodeTranslator.convertToMachineCode(args.getAlu_Immediate(), 16);
-        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd().getID(), 5);
+        s += " " + MachineCodeTranslator.convertToMachineCode(args.getRd(), 5);
         return s;
     }
     
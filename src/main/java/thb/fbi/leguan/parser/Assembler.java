@@ -0,0 +1,120 @@
+package thb.fbi.leguan.parser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.antlr.v4.runtime.CharStream;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.instructions.InstructionSet;
+
+/**
+ * \brief assembles source code without a simulator
+ *
+ * every assembly uses its own parser, error lists and program, only the (read-only) instruction set is shared.
+ * So any number of source codes can be assembled at the same time, e.g. by batch jobs.
+ */
+public class Assembler {
+
+    /**
+     * assembles a source code
+     * @param source source code
+     * @param instructionSet populated instruction set
+     * @return program or errors of the source code
+     */
+    public static AssemblyResult assemble(String source, InstructionSet instructionSet) {
+        return assemble(DocumentModel.parseText(source, DocumentModel.DEFAULT_MAX_SYNTAX_ERRORS), instructionSet);
+    }
+
+    /**
+     * assembles a source file directly from a memory-mapped buffer, no String of the whole file is created
+     * @param file source file
+     * @param instructionSet populated instruction set
+     * @return program or errors of the source file
+     * @throws IOException if the file can not be read
+     */
+    public static AssemblyResult assembleFile(Path file, InstructionSet instructionSet) throws IOException {
+        return assemble(new MappedCharStream(file), instructionSet);
+    }
+
+    /**
+     * assembles a source code read from a stream
+     * @param input source code
+     * @param instructionSet populated instruction set
+     * @return program or errors of the source code
+     */
+    public static AssemblyResult assemble(CharStream input, InstructionSet instructionSet) {
+        return assemble(DocumentModel.parseText(input, DocumentModel.DEFAULT_MAX_SYNTAX_ERRORS), instructionSet);
+    }
+
+    /**
+     * creates the program of a parsed document
+     */
+    private static AssemblyResult assemble(ParsedDocument document, InstructionSet instructionSet) {
+        if (document.hasSyntaxErrors()) {
+            return new AssemblyResult(null, document.getSyntaxErrors(), document.getStatistics());
+        }
+        ProgramParser programParser = new ProgramParser(instructionSet);
+        ARMProgram program = programParser.visit(document.getTree());
+        if (!programParser.semanticErrors.isEmpty()) {
+            return new AssemblyResult(null, programParser.semanticErrors, document.getStatistics());
+        }
+        return new AssemblyResult(program, new ArrayList<ParsingError>(), document.getStatistics());
+    }
+
+    /**
+     * assembles several source codes in parallel
+     * @param sources source codes
+     * @param instructionSet populated instruction set
+     * @param pool pool running the assemblies
+     * @return results in order of the source codes
+     * @throws InterruptedException if interrupted while waiting for the assemblies
+     */
+    public static List<AssemblyResult> assembleAll(List<String> sources, InstructionSet instructionSet, ForkJoinPool pool)
+            throws InterruptedException {
+        try {
+            return pool.submit(() -> sources.parallelStream()
+                    .map(source -> assemble(source, instructionSet))
+                    .collect(Collectors.toList())).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Assembly failed", e.getCause());
+        }
+    }
+
+    /**
+     * assembles source files without user interface and prints their errors
+     * @param args paths of the source files
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: Assembler <file>...");
+            System.exit(2);
+        }
+        InstructionSet instructionSet = new InstructionSet();
+        instructionSet.populate();
+        boolean isSuccessful = true;
+        for (String arg : args) {
+            try {
+                AssemblyResult result = assembleFile(Paths.get(arg), instructionSet);
+                if (result.isSuccessful()) {
+                    System.out.println(arg + ": " + result.getProgram().getProgramStatements().size() + " statements");
+                } else {
+                    isSuccessful = false;
+                    for (ParsingError error : result.getErrors()) {
+                        System.out.println(arg + ": " + error.getErrorMessage());
+                    }
+                }
+            } catch (IOException e) {
+                isSuccessful = false;
+                System.err.println(arg + ": " + e.getMessage());
+            }
+        }
+        System.exit(isSuccessful ? 0 : 1);
+    }
+}
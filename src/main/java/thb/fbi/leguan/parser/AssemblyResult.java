@@ -0,0 +1,45 @@
+package thb.fbi.leguan.parser;
+
+import java.util.ArrayList;
+
+import thb.fbi.leguan.data.ARMProgram;
+
+/**
+ * \brief result of assembling one source code
+ *
+ * holds either the assembled program or the errors found (syntax errors, otherwise semantic errors).
+ */
+public class AssemblyResult {
+    /** assembled program, null if there were errors */
+    private final ARMProgram program;
+    /** syntax or semantic errors, empty if the program was assembled */
+    private final ArrayList<ParsingError> errors;
+    /** timings of lexing and parsing */
+    private final ParseStatistics statistics;
+
+    public AssemblyResult(ARMProgram program, ArrayList<ParsingError> errors, ParseStatistics statistics) {
+        this.program = program;
+        this.errors = errors;
+        this.statistics = statistics;
+    }
+
+    public ARMProgram getProgram() {
+        return program;
+    }
+
+    public ArrayList<ParsingError> getErrors() {
+        return errors;
+    }
+
+    public ParseStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * checks if the source code was assembled without errors
+     * @return boolean indicating if there is a program
+     */
+    public boolean isSuccessful() {
+        return program != null;
+    }
+}
@@ -1,9 +1,9 @@
 package thb.fbi.leguan.parser;
 
-import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.TreeMap;
 
+import thb.fbi.leguan.data.DataSegment;
 import thb.fbi.leguan.parser.antlr.LegV8BaseVisitor;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.AsciiContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.DataSegmentContext;
@@ -15,17 +15,23 @@ import thb.fbi.leguan.parser.antlr.LegV8Parser.NumContext;
 
 public class DataSegmentParser extends LegV8BaseVisitor<Object> {
 
+    /** maximum size of a single .space/ .zero directive (1 GiB) */
+    public static final long MAX_RESERVED_SPACE = 1L << 30;
+
     private HashMap<String, Long> dataSegmentMap;
     private long startAdress = 0;
+    /** semantic errors of the current assembly */
+    private ArrayList<ParsingError> errors;
 
-    public DataSegmentParser(HashMap<String, Long> dataSegmentMap, long startAdress) {
+    public DataSegmentParser(HashMap<String, Long> dataSegmentMap, long startAdress, ArrayList<ParsingError> errors) {
         this.dataSegmentMap = dataSegmentMap;
         this.startAdress = startAdress;
+        this.errors = errors;
     }
 
     @Override
-    public TreeMap<Long, Byte> visitDataSegment(DataSegmentContext ctx) {
-        TreeMap<Long, Byte> dataSegment = new TreeMap<Long, Byte>();
+    public DataSegment visitDataSegment(DataSegmentContext ctx) {
+        DataSegment dataSegment = new DataSegment();
         long address = startAdress;
 
         if (ctx != null) {
@@ -49,10 +55,10 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
                                 if (fitSpecifiedByteSize(longValue, 1)) {
                                     bv = longValue.byteValue();
                                 } else {
-                                    ParserHelper.addSemanticError(pair.dataSegmentType().DataSegmentTypes(),
+                                    ParserHelper.addSemanticError(errors, pair.dataSegmentType().DataSegmentTypes(),
                                             ParsingErrorType.DataSegmentTypeFormatException);
                                 }
-                                address = addByte(dataSegment, bv, address);
+                                address = dataSegment.addByte(address, bv);
                                 break;
                             case ".halfword":
                                 longValue = visitDataSegmentValue(pair.dataSegmentValue());
@@ -60,10 +66,10 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
                                 if (fitSpecifiedByteSize(longValue, 2)) {
                                     sv = longValue.shortValue();
                                 } else {
-                                    ParserHelper.addSemanticError(pair.dataSegmentType().DataSegmentTypes(),
+                                    ParserHelper.addSemanticError(errors, pair.dataSegmentType().DataSegmentTypes(),
                                             ParsingErrorType.DataSegmentTypeFormatException);
                                 }
-                                address = addHalfword(dataSegment, sv, address);
+                                address = dataSegment.addHalfword(address, sv);
                                 break;
                             case ".word":
                                 longValue = visitDataSegmentValue(pair.dataSegmentValue());
@@ -71,16 +77,27 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
                                 if (fitSpecifiedByteSize(longValue, 4)) {
                                     iv = longValue.intValue();
                                 } else {
-                                    ParserHelper.addSemanticError(pair.dataSegmentType().DataSegmentTypes(),
+                                    ParserHelper.addSemanticError(errors, pair.dataSegmentType().DataSegmentTypes(),
                                             ParsingErrorType.DataSegmentTypeFormatException);
                                 }
-                                address = addWord(dataSegment, iv, address);
+                                address = dataSegment.addWord(address, iv);
                                 break;
                             case ".dword":
                                 // no check needed, because if value is bigger than a long, throws
                                 // NumberFormatException
                                 long lv = visitDataSegmentValue(pair.dataSegmentValue()).longValue();
-                                address = addDWord(dataSegment, lv, address);
+                                address = dataSegment.addDWord(address, lv);
+                                break;
+                            case ".space":
+                            case ".zero":
+                                // only reserves the address range, memory stays unallocated until written
+                                long size = visitDataSegmentValue(pair.dataSegmentValue());
+                                if (size < 0 || size > MAX_RESERVED_SPACE) {
+                                    ParserHelper.addSemanticError(errors, pair.dataSegmentValue().num().NUMBER(),
+                                            ParsingErrorType.ReservedSpaceOutOfRange);
+                                    size = 0;
+                                }
+                                address = dataSegment.reserve(address, size);
                                 break;
                             case ".ascii":
                                 // ascii string has no limit of bytes
@@ -88,13 +105,14 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
                                 if (asciiContext != null) {
                                     String asciiString = asciiContext.getText();
                                     asciiString = asciiString.replace("\"", ""); // remove quotes
-                                    address = addASCII(dataSegment, asciiString, address);
+                                    byte[] bytes = asciiString.getBytes();
+                                    address = dataSegment.addBytes(address, bytes, 0, bytes.length);
                                 }
                                 break;
                         }
                     }
                 } else {
-                    ParserHelper.addSemanticError(ctx.dataSegmentEntry(i).dataSegmentVariable().PointerDeclaration(), ParsingErrorType.InvalidLabelName);
+                    ParserHelper.addSemanticError(errors, ctx.dataSegmentEntry(i).dataSegmentVariable().PointerDeclaration(), ParsingErrorType.InvalidLabelName);
                 }
             }
         }
@@ -130,7 +148,7 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
         try {
             number = Long.parseLong(numberText, radix);
         } catch (NumberFormatException e) {
-            ParserHelper.addSemanticError(ctx.NUMBER(), ParsingErrorType.NumberFormatException);
+            ParserHelper.addSemanticError(errors, ctx.NUMBER(), ParsingErrorType.NumberFormatException);
         }
         return number;
     }
@@ -140,43 +158,6 @@ public class DataSegmentParser extends LegV8BaseVisitor<Object> {
         return ctx.PointerDeclaration().getText();
     }
 
-    private long addByte(TreeMap<Long, Byte> dataSegment, byte value, long address) {
-        dataSegment.put(address, value);
-        return address + 1;
-    }
-
-    private long addHalfword(TreeMap<Long, Byte> dataSegment, short value, long address) {
-        byte[] bytes = ByteBuffer.allocate(2).putShort(value).array();
-        for (int i = 0; i < bytes.length; i++) {
-            dataSegment.put(address + i, bytes[i]);
-        }
-        return address + bytes.length;
-    }
-
-    private long addWord(TreeMap<Long, Byte> dataSegment, int value, long address) {
-        byte[] bytes = ByteBuffer.allocate(4).putInt(value).array();
-        for (int i = 0; i < bytes.length; i++) {
-            dataSegment.put(address + i, bytes[i]);
-        }
-        return address + bytes.length;
-    }
-
-    private long addDWord(TreeMap<Long, Byte> dataSegment, long value, long address) {
-        byte[] bytes = ByteBuffer.allocate(8).putLong(value).array();
-        for (int i = 0; i < bytes.length; i++) {
-            dataSegment.put(address + i, bytes[i]);
-        }
-        return address + bytes.length;
-    }
-
-    private long addASCII(TreeMap<Long, Byte> dataSegment, String value, long address) {
-        byte[] bytes = value.getBytes();
-        for (int i = 0; i < bytes.length; i++) {
-            dataSegment.put(address + i, bytes[i]);
-        }
-        return address + bytes.length;
-    }
-
     /**
      * returns boolean indicate if value needs more bytes than specified or not
      * 
@@ -0,0 +1,223 @@
+package thb.fbi.leguan.parser;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import thb.fbi.leguan.parser.antlr.LegV8Lexer;
+import thb.fbi.leguan.parser.antlr.LegV8Parser;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.MainContext;
+
+/**
+ * \brief keeps one token stream and parse tree per version of the source code
+ *
+ * syntax highlighting and assembly both request the parsed document for the text they work on.
+ * The text is lexed and parsed only once, a second request for the same text waits for
+ * the running parse or reuses its result. Each edit creates a new version, parses of older versions
+ * still running are cancelled.
+ */
+public class DocumentModel {
+
+    /**
+     * a (running or finished) parse of one text
+     */
+    private class Entry implements ParseTreeListener {
+        private final long version;
+        private final String text;
+        private final FutureTask<ParsedDocument> task;
+        /** set when a newer version exists while parsing */
+        private volatile boolean isCancelled = false;
+
+        private Entry(long version, String text) {
+            this.version = version;
+            this.text = text;
+            this.task = new FutureTask<ParsedDocument>(() -> parseText(this));
+        }
+
+        /**
+         * aborts parsing when cancelled (called for every entered rule)
+         */
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            if (isCancelled) {
+                throw new ParseCancellationException("Version " + version + " is outdated");
+            }
+        }
+
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+        }
+
+        @Override
+        public void visitTerminal(TerminalNode node) {
+        }
+
+        @Override
+        public void visitErrorNode(ErrorNode node) {
+        }
+    }
+
+    /** current version of the text, increased with every edit */
+    private long version = 0;
+    /** parse of the latest requested text */
+    private Entry latest;
+    /** default for the maximum number of reported syntax errors */
+    public static final int DEFAULT_MAX_SYNTAX_ERRORS = 100;
+    /** maximum number of reported syntax errors per text */
+    private volatile int maxSyntaxErrors = DEFAULT_MAX_SYNTAX_ERRORS;
+
+    /**
+     * sets the maximum number of reported syntax errors (applies to texts parsed afterwards)
+     * @param maxSyntaxErrors maximum number of errors, at least 1
+     */
+    public void setMaxSyntaxErrors(int maxSyntaxErrors) {
+        this.maxSyntaxErrors = Math.max(1, maxSyntaxErrors);
+    }
+
+    public int getMaxSyntaxErrors() {
+        return maxSyntaxErrors;
+    }
+
+    /**
+     * creates a new version of the text, cancels the parse of older versions
+     */
+    public synchronized void textChanged() {
+        version++;
+        if (latest != null && !latest.task.isDone()) {
+            latest.isCancelled = true;
+        }
+    }
+
+    /**
+     * drops the parsed document of the latest text (e.g. to free memory or to force parsing again)
+     */
+    public synchronized void clear() {
+        textChanged();
+        latest = null;
+    }
+
+    /**
+     * gets the parsed document for a text, parses the text only if it was not parsed before
+     * @param text source code
+     * @return parsed document
+     * @throws CancellationException if the text was changed while parsing
+     */
+    public ParsedDocument parse(String text) {
+        while (true) {
+            Entry entry;
+            boolean isOwner = false;
+            synchronized (this) {
+                if (latest == null || latest.isCancelled || !latest.text.equals(text)) {
+                    latest = new Entry(version, text);
+                    isOwner = true;
+                }
+                entry = latest;
+            }
+            if (isOwner) {
+                entry.task.run();
+            }
+            try {
+                return entry.task.get();
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof CancellationException)) {
+                    throw new IllegalStateException("Parsing failed", e.getCause());
+                }
+                if (isOwner) {
+                    throw (CancellationException) e.getCause();
+                }
+                // parse of another thread was cancelled, parse again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for parser");
+            }
+        }
+    }
+
+    /**
+     * lexes and parses the text of an entry
+     */
+    private ParsedDocument parseText(Entry entry) {
+        return parseText(entry.version, entry.text, CharStreams.fromString(entry.text), maxSyntaxErrors, entry);
+    }
+
+    /**
+     * lexes and parses a text independent of any document model (e.g. for batch assembly)
+     * @param text source code
+     * @param maxSyntaxErrors maximum number of reported syntax errors
+     * @return parsed document (version 0)
+     */
+    public static ParsedDocument parseText(String text, int maxSyntaxErrors) {
+        return parseText(0, text, CharStreams.fromString(text), maxSyntaxErrors, null);
+    }
+
+    /**
+     * lexes and parses a stream without creating a String of the whole text (e.g. a memory-mapped file)
+     * @param input source code
+     * @param maxSyntaxErrors maximum number of reported syntax errors
+     * @return parsed document (version 0, without text)
+     */
+    public static ParsedDocument parseText(CharStream input, int maxSyntaxErrors) {
+        return parseText(0, null, input, maxSyntaxErrors, null);
+    }
+
+    /**
+     * lexes and parses a text
+     * first stage uses SLL prediction and bails out at the first error (sufficient for almost all texts),
+     * only if it fails the text is parsed again using full LL prediction with error recovery and reporting
+     * @param text source code as String, null if only available as stream
+     * @param input stream of the source code
+     * @param entry entry to check for cancellation, null if parsing can not be cancelled
+     */
+    private static ParsedDocument parseText(long version, String text, CharStream input, int maxSyntaxErrors, Entry entry) {
+        ParseStatistics statistics = new ParseStatistics();
+        long start = System.nanoTime();
+        LegV8Lexer lexer = new LegV8Lexer(input);
+        lexer.removeErrorListeners();
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        LegV8Parser parser = new LegV8Parser(tokens);
+        if (entry != null) {
+            parser.addParseListener(entry);
+        }
+
+        // stage 1: SLL, bail out at first error
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        SyntaxErrorListener syntaxErrorListener = new SyntaxErrorListener(maxSyntaxErrors);
+        MainContext tree = null;
+        try {
+            tree = parser.main();
+        } catch (ParseCancellationException e) {
+            if (entry != null && entry.isCancelled) {
+                throw e;
+            }
+        }
+        statistics.setSllNanos(System.nanoTime() - start);
+
+        // stage 2: full LL with error recovery (reports all syntax errors up to the maximum)
+        if (tree == null) {
+            start = System.nanoTime();
+            parser.reset();
+            parser.addErrorListener(syntaxErrorListener);
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            parser.setErrorHandler(new DefaultErrorStrategy());
+            tree = parser.main();
+            statistics.setLLNanos(System.nanoTime() - start);
+        }
+        parser.removeParseListeners();
+        statistics.setTokens(tokens.size());
+        return new ParsedDocument(version, text, tokens, tree, syntaxErrorListener.syntaxErrors, statistics);
+    }
+}
@@ -0,0 +1,655 @@
+package thb.fbi.leguan.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.DataSegment;
+import thb.fbi.leguan.data.InstructionArguments;
+import thb.fbi.leguan.data.ProgramStatement;
+import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.parser.antlr.LegV8Lexer;
+import thb.fbi.leguan.parser.antlr.LegV8Parser;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.DataSegmentContext;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.LineContext;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.MainContext;
+import thb.fbi.leguan.simulation.Memory;
+
+/**
+ * \brief re-assembles only the lines of source code touched by edits
+ *
+ * keeps the lines of the last full assembly together with their statements. Edits of the code area are
+ * collected as a dirty window, on the next assembly only the lines within this window are lexed and parsed
+ * again. Labels are resolved again and the data segment is laid out again only if label declarations or
+ * the number of instructions changed.
+ * Whenever an edit cannot be handled line by line (data segment, block comments, errors, ...)
+ * reassemble returns null and the caller has to fall back to a full assembly.
+ * Edits may be recorded while assembling on another thread: assemblies pass the edit count of the code
+ * they assemble, the baseline is only kept if no edit was recorded in the meantime.
+ * Re-assembly never changes the program of the baseline (it may be executed meanwhile): changed statements
+ * are copied into a new program, which becomes the baseline once it is applied (@see accept).
+ */
+public class IncrementalAssembler {
+
+    /**
+     * a single line of source code
+     */
+    private static class SourceLine {
+        /** statement of the line, null for empty lines and comments */
+        private ProgramStatement statement;
+        /** declared jump label */
+        private String label;
+        /** referenced jump label (B, BL, CBZ, CBNZ, B.cond) */
+        private String jumpReference;
+        /** indicates if the jump label is referenced by a conditional branch */
+        private boolean isConditionalBranch;
+        /** referenced data segment variable (LDR) */
+        private String dataReference;
+
+        /**
+         * copies the line together with its statement
+         */
+        private SourceLine copy() {
+            SourceLine line = new SourceLine();
+            line.statement = new ProgramStatement(statement);
+            line.label = label;
+            line.jumpReference = jumpReference;
+            line.isConditionalBranch = isConditionalBranch;
+            line.dataReference = dataReference;
+            return line;
+        }
+    }
+
+    /** line without statement */
+    private static final SourceLine EMPTY_LINE = new SourceLine();
+
+    /**
+     * result of a re-assembly, becomes the baseline once its program is applied
+     */
+    private static class Reassembly {
+        /** re-assembled source code */
+        private String code;
+        /** edit count of the re-assembled source code */
+        private long editCount;
+        /** offsets of the first character of each line */
+        private int[] lineStarts;
+        /** lines of the re-assembled source code */
+        private ArrayList<SourceLine> lines;
+        /** Map of all entries in the dataSegment (Name, Address) */
+        private HashMap<String, Long> dataSegmentVariables;
+        /** Map of all jump labels (Name, Address) */
+        private HashMap<String, Integer> jumpMarks;
+        /** re-assembled program */
+        private ARMProgram program;
+    }
+
+    /** instructions the lines are assembled with */
+    private final InstructionSet instructionSet;
+
+    /** source code of the last assembly, null if there is nothing to re-assemble incrementally */
+    private String baseline;
+    /** offsets of the first character of each line of the baseline */
+    private int[] lineStarts;
+    /** lines of the baseline */
+    private ArrayList<SourceLine> lines = new ArrayList<SourceLine>();
+    /** first line after the data segment (lines before can only be changed by a full assembly) */
+    private int firstCodeLine;
+    /** parse tree of the data segment, used to lay out the data segment again */
+    private DataSegmentContext dataSegmentContext;
+    /** Map of all entries in the dataSegment (Name, Address) */
+    private HashMap<String, Long> dataSegmentVariables = new HashMap<String, Long>();
+    /** Map of all jump labels (Name, Address) */
+    private HashMap<String, Integer> jumpMarks = new HashMap<String, Integer>();
+    /** program of the last assembly */
+    private ARMProgram program;
+    /** re-assembly not applied yet, null if there is none */
+    private Reassembly pending;
+
+    /** length of the document including all edits */
+    private int documentLength;
+    /** first changed character since the last assembly */
+    private int dirtyStart;
+    /** number of unchanged characters at the end of the document since the last assembly */
+    private int dirtySuffix;
+    /** number of recorded edits */
+    private long editCount = 0;
+
+    public IncrementalAssembler(InstructionSet instructionSet) {
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * sets the result of a successful full assembly as new baseline
+     * @param code assembled source code
+     * @param tree parse tree of the source code
+     * @param program assembled program
+     * @param editCount edit count of the assembled source code
+     */
+    public synchronized void setBaseline(String code, MainContext tree, ARMProgram program, long editCount) {
+        invalidate();
+        if (editCount != this.editCount || code.contains("/*")) { // outdated or block comments (can span several lines)
+            return;
+        }
+        List<LineContext> lineContexts = tree.program().line();
+        dataSegmentContext = tree.program().dataSegment();
+        firstCodeLine = dataSegmentContext == null ? 0 : dataSegmentContext.stop.getLine(); // lines are off by 1
+        lineStarts = computeLineStarts(code);
+        lines = new ArrayList<SourceLine>(lineStarts.length);
+        for (int i = 0; i < lineStarts.length; i++) {
+            lines.add(EMPTY_LINE);
+        }
+
+        int address = Memory.CODE_SEGMENT_START;
+        for (LineContext ctx : lineContexts) {
+            int line = ctx.start.getLine() - 1;
+            // every statement has to be on a line of its own
+            if (line != ctx.stop.getLine() - 1 || line < firstCodeLine || lines.get(line) != EMPTY_LINE) {
+                return;
+            }
+            lines.set(line, describeLine(ctx, program.getProgramStatement(address)));
+            address = address + Instruction.INSTRUCTION_LENGTH;
+        }
+        HashMap<String, Long> variables = new HashMap<String, Long>();
+        if (layoutDataSegment(lineContexts.size(), variables) == null) {
+            return;
+        }
+        HashMap<String, Integer> marks = collectJumpMarks(lines);
+        if (marks == null) {
+            return;
+        }
+        this.dataSegmentVariables = variables;
+        this.jumpMarks = marks;
+        this.program = program;
+        this.baseline = code;
+        documentLength = code.length();
+        clearDirtyWindow();
+    }
+
+    /**
+     * gets the number of edits recorded so far (taken together with the code to assemble)
+     * @return edit count
+     */
+    public synchronized long getEditCount() {
+        return editCount;
+    }
+
+    /**
+     * drops the baseline, the next assembly has to be a full one
+     */
+    public synchronized void invalidate() {
+        baseline = null;
+        program = null;
+        pending = null;
+        lines = new ArrayList<SourceLine>();
+        dataSegmentContext = null;
+    }
+
+    /**
+     * makes a re-assembled program the new baseline, has to be called when the program is applied
+     * (a re-assembly which is not applied is dropped, the edits stay part of the dirty window)
+     * @param appliedProgram program which is applied
+     */
+    public synchronized void accept(ARMProgram appliedProgram) {
+        if (pending != null && pending.program == appliedProgram && pending.editCount == editCount) {
+            baseline = pending.code;
+            lineStarts = pending.lineStarts;
+            lines = pending.lines;
+            dataSegmentVariables = pending.dataSegmentVariables;
+            jumpMarks = pending.jumpMarks;
+            program = pending.program;
+            clearDirtyWindow();
+        }
+        pending = null;
+    }
+
+    /**
+     * records an edit of the source code (e.g. from CodeArea.plainTextChanges())
+     * @param position offset of the edit
+     * @param removed removed text
+     * @param inserted inserted text
+     */
+    public synchronized void textChanged(int position, String removed, String inserted) {
+        editCount++;
+        if (baseline == null) {
+            return;
+        }
+        dirtyStart = Math.min(dirtyStart, position);
+        dirtySuffix = Math.min(dirtySuffix, documentLength - position - removed.length());
+        documentLength = documentLength + inserted.length() - removed.length();
+    }
+
+    /**
+     * re-assembles the lines changed since the last assembly
+     * the baseline is kept until the program is applied (@see accept)
+     * @param code current source code
+     * @param editCount edit count of the source code
+     * @return re-assembled program or null if a full assembly is required
+     */
+    public synchronized ARMProgram reassemble(String code, long editCount) {
+        Reassembly result = null;
+        if (baseline != null && editCount == this.editCount && dirtyStart != Integer.MAX_VALUE && dirtySuffix >= 0 && code.length() == documentLength) {
+            result = reassembleDirtyWindow(code);
+        }
+        if (result == null) {
+            invalidate();
+            return null;
+        }
+        result.editCount = editCount;
+        pending = result;
+        return result.program;
+    }
+
+    /**
+     * re-parses all lines within the dirty window and builds a new program
+     * @param code current source code
+     * @return re-assembly or null if a full assembly is required
+     */
+    private Reassembly reassembleDirtyWindow(String code) {
+        int baselineLength = baseline.length();
+        int firstLine = getLineOf(dirtyStart);
+        int lastOldLine = getLineOf(Math.max(dirtyStart, baselineLength - dirtySuffix));
+        int regionStart = lineStarts[firstLine];
+        int oldRegionEnd = lastOldLine + 1 < lineStarts.length ? lineStarts[lastOldLine + 1] : baselineLength;
+        int suffixLength = baselineLength - oldRegionEnd;
+        int newRegionEnd = code.length() - suffixLength;
+        if (firstLine < firstCodeLine || newRegionEnd < regionStart
+                || !code.regionMatches(0, baseline, 0, regionStart)
+                || !code.regionMatches(newRegionEnd, baseline, oldRegionEnd, suffixLength)) {
+            return null;
+        }
+        String region = code.substring(regionStart, newRegionEnd);
+        if (region.contains("/*") || region.contains("*/")) {
+            return null;
+        }
+
+        // split region into lines, the newline of the last line belongs to the region if it is not the last line
+        String[] regionLines = region.split("\n", -1);
+        int newLineCount = lastOldLine + 1 < lineStarts.length ? regionLines.length - 1 : regionLines.length;
+        int oldLineCount = lastOldLine - firstLine + 1;
+        if (newLineCount > lines.size() / 2 && newLineCount > 1) { // parsing everything at once is faster
+            return null;
+        }
+
+        ArrayList<SourceLine> newLines = new ArrayList<SourceLine>(newLineCount);
+        for (int i = 0; i < newLineCount; i++) {
+            SourceLine line = parseLine(regionLines[i], firstLine + i);
+            if (line == null) {
+                return null;
+            }
+            newLines.add(line);
+        }
+
+        Reassembly result = new Reassembly();
+        result.lines = new ArrayList<SourceLine>(lines);
+        List<SourceLine> oldLines = result.lines.subList(firstLine, lastOldLine + 1);
+        boolean isLayoutUnchanged = getLayout(oldLines).equals(getLayout(newLines));
+        int firstAddress = Memory.CODE_SEGMENT_START + countStatements(lines.subList(0, firstLine)) * Instruction.INSTRUCTION_LENGTH;
+        oldLines.clear();
+        result.lines.addAll(firstLine, newLines);
+
+        int lineDelta = newLineCount - oldLineCount;
+        if (lineDelta != 0) {
+            for (int i = firstLine + newLineCount; i < result.lines.size(); i++) {
+                SourceLine line = result.lines.get(i);
+                if (line.statement != null) {
+                    line = line.copy(); // statement is part of the baseline program
+                    line.statement.setSourceLine(i);
+                    result.lines.set(i, line);
+                }
+            }
+        }
+
+        boolean isSuccessful;
+        if (isLayoutUnchanged) {
+            isSuccessful = updateStatements(result, newLines, firstAddress, lineDelta != 0);
+        } else {
+            isSuccessful = relink(result);
+        }
+        if (!isSuccessful) {
+            return null;
+        }
+
+        result.code = code;
+        result.lineStarts = computeLineStarts(code);
+        return result;
+    }
+
+    /**
+     * replaces the re-parsed statements within a copy of the program (labels and number of statements are unchanged)
+     * @param result re-assembly to build the program of
+     * @param newLines re-parsed lines
+     * @param firstAddress address of the first statement within the re-parsed lines
+     * @param isSourceLineChanged indicates if the source lines of following statements changed
+     * @return boolean indicating if all references could be resolved
+     */
+    private boolean updateStatements(Reassembly result, List<SourceLine> newLines, int firstAddress, boolean isSourceLineChanged) {
+        result.dataSegmentVariables = dataSegmentVariables;
+        result.jumpMarks = jumpMarks;
+        result.program = new ARMProgram(program);
+        int address = firstAddress;
+        for (SourceLine line : newLines) {
+            if (line.statement != null) {
+                if (!resolveReferences(line, address, result)) {
+                    return false;
+                }
+                if (!isSourceLineChanged) {
+                    result.program.replaceStatement(address, line.statement);
+                }
+                address = address + Instruction.INSTRUCTION_LENGTH;
+            }
+        }
+        if (isSourceLineChanged) { // all following statements are copies
+            result.program.setStatement(collectStatements(result.lines));
+            result.program.decodeStatements();
+        }
+        result.program.setUsedRegister(collectUsedRegisters(result.lines));
+        return true;
+    }
+
+    /**
+     * resolves all labels again and builds a new program from all lines
+     * the data segment is laid out again if the number of statements changed
+     * @param result re-assembly to build the program of
+     * @return boolean indicating if all references could be resolved
+     */
+    private boolean relink(Reassembly result) {
+        int statementCount = countStatements(result.lines);
+        if (statementCount == 0) {
+            return false;
+        }
+        DataSegment dataSegment = program.getDataSegment();
+        result.dataSegmentVariables = dataSegmentVariables;
+        if (statementCount != program.getProgramStatements().size()) {
+            result.dataSegmentVariables = new HashMap<String, Long>();
+            dataSegment = layoutDataSegment(statementCount, result.dataSegmentVariables);
+            if (dataSegment == null) {
+                return false;
+            }
+        }
+        result.jumpMarks = collectJumpMarks(result.lines);
+        if (result.jumpMarks == null) {
+            return false;
+        }
+
+        int address = Memory.CODE_SEGMENT_START;
+        for (int i = 0; i < result.lines.size(); i++) {
+            SourceLine line = result.lines.get(i);
+            if (line.statement != null) {
+                if (line.jumpReference != null || line.dataReference != null) {
+                    line = line.copy(); // resolved addresses may change, statement can be part of the baseline program
+                    result.lines.set(i, line);
+                    if (!resolveReferences(line, address, result)) {
+                        return false;
+                    }
+                }
+                address = address + Instruction.INSTRUCTION_LENGTH;
+            }
+        }
+
+        ARMProgram relinked = new ARMProgram();
+        relinked.setDataSegment(dataSegment);
+        relinked.setStatement(collectStatements(result.lines));
+        relinked.setUsedRegister(collectUsedRegisters(result.lines));
+        relinked.setJumpLabels(new HashMap<String, Integer>(result.jumpMarks));
+        relinked.setDataLabels(new HashMap<String, Long>(result.dataSegmentVariables));
+        relinked.decodeStatements();
+        result.program = relinked;
+        return true;
+    }
+
+    /**
+     * lays out the data segment right after the code segment
+     * @param statementCount number of statements of the code segment
+     * @param variables filled with the addresses of the data segment variables
+     * @return bytes of the data segment or null if there were errors
+     */
+    private DataSegment layoutDataSegment(int statementCount, HashMap<String, Long> variables) {
+        ArrayList<ParsingError> errors = new ArrayList<ParsingError>();
+        long endOfCodeSegmentAdress = Memory.CODE_SEGMENT_START + statementCount * Instruction.INSTRUCTION_LENGTH;
+        DataSegmentParser dataSegmentParser = new DataSegmentParser(variables, endOfCodeSegmentAdress, errors);
+        DataSegment dataSegment = dataSegmentParser.visitDataSegment(dataSegmentContext);
+        return errors.isEmpty() ? dataSegment : null;
+    }
+
+    /**
+     * collects the addresses of all declared jump labels
+     * @param lines lines of the source code
+     * @return jump labels (Name, Address) or null if a label is declared twice
+     */
+    private static HashMap<String, Integer> collectJumpMarks(List<SourceLine> lines) {
+        HashMap<String, Integer> marks = new HashMap<String, Integer>();
+        int address = Memory.CODE_SEGMENT_START;
+        for (SourceLine line : lines) {
+            if (line.statement != null) {
+                if (line.label != null && marks.put(line.label, address) != null) {
+                    return null;
+                }
+                address = address + Instruction.INSTRUCTION_LENGTH;
+            }
+        }
+        return marks;
+    }
+
+    /**
+     * collects the statements of all lines by address
+     */
+    private static TreeMap<Integer, ProgramStatement> collectStatements(List<SourceLine> lines) {
+        TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
+        int address = Memory.CODE_SEGMENT_START;
+        for (SourceLine line : lines) {
+            if (line.statement != null) {
+                statements.put(address, line.statement);
+                address = address + Instruction.INSTRUCTION_LENGTH;
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * resolves the referenced jump label and data segment variable of a line
+     * @param line line containing a statement (changed, must not be part of the baseline program)
+     * @param address address of the statement
+     * @param result re-assembly holding the labels
+     * @return false if a reference is undefined
+     */
+    private static boolean resolveReferences(SourceLine line, int address, Reassembly result) {
+        InstructionArguments args = line.statement.getArguments();
+        if (line.jumpReference != null) {
+            Integer target = result.jumpMarks.get(line.jumpReference);
+            if (target == null) {
+                return false;
+            }
+            if (line.isConditionalBranch) {
+                args.setCond_Br_Address(target);
+            } else {
+                args.setBr_Address(target);
+            }
+        }
+        if (line.dataReference != null) {
+            Long target = result.dataSegmentVariables.get(line.dataReference);
+            if (target == null) {
+                return false;
+            }
+            args.setDt_Address(target);
+        }
+        return true;
+    }
+
+    /**
+     * lexes and parses a single line of source code
+     * @param text text of the line (without newline)
+     * @param sourceLine line number (starting with 0)
+     * @return parsed line or null if the line contains errors or is not a single statement
+     */
+    private SourceLine parseLine(String text, int sourceLine) {
+        if (text.isBlank()) {
+            return EMPTY_LINE;
+        }
+        SyntaxErrorListener errorListener = new SyntaxErrorListener();
+        LegV8Lexer lexer = new LegV8Lexer(CharStreams.fromString(text));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        tokens.fill();
+        if (tokens.LA(1) == Token.EOF) { // comment only
+            return errorListener.syntaxErrors.isEmpty() ? EMPTY_LINE : null;
+        }
+        LegV8Parser parser = new LegV8Parser(tokens);
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        LineContext ctx = parser.line();
+        if (!errorListener.syntaxErrors.isEmpty() || tokens.LA(1) != Token.EOF) {
+            return null;
+        }
+
+        ArrayList<ParsingError> errors = new ArrayList<ParsingError>();
+        ProgramStatementParser statementVisitor = new ProgramStatementParser(instructionSet, errors, new ArrayList<Integer>(),
+                new HashMap<String, Integer>(), new HashMap<Integer, String>(), dataSegmentVariables);
+        ProgramStatement statement = statementVisitor.visitLine(ctx);
+        if (!errors.isEmpty()) {
+            return null;
+        }
+        statement.setSourceLine(sourceLine);
+        return describeLine(ctx, statement);
+    }
+
+    /**
+     * collects the labels and references of a parsed line
+     * @param ctx parse tree of the line
+     * @param statement statement of the line
+     * @return description of the line
+     */
+    private static SourceLine describeLine(LineContext ctx, ProgramStatement statement) {
+        SourceLine line = new SourceLine();
+        line.statement = statement;
+        if (ctx.jumpLabelDeclaration() != null) {
+            String label = ctx.jumpLabelDeclaration().getText();
+            line.label = label.substring(0, label.length() - 1); // remove ":"
+        }
+        if (ctx.branchParam() != null) {
+            line.jumpReference = ctx.branchParam().jumpLabelReference().getText();
+        } else if (ctx.condBranchParam() != null) {
+            line.jumpReference = ctx.condBranchParam().jumpLabelReference().getText();
+            line.isConditionalBranch = true;
+        } else if (ctx.b_cond_Param() != null) {
+            line.jumpReference = ctx.b_cond_Param().jumpLabelReference().getText();
+            line.isConditionalBranch = true;
+        } else if (ctx.dataSegmentParam() != null) {
+            line.dataReference = ctx.dataSegmentParam().dataSegmentLabelReference().getText();
+        }
+        return line;
+    }
+
+    /**
+     * gets the layout of lines: declared labels and their position among the statements
+     * two lists of lines with the same layout can be exchanged without changing any address
+     * @param lines lines to describe
+     * @return layout as string
+     */
+    private static String getLayout(List<SourceLine> lines) {
+        StringBuilder layout = new StringBuilder();
+        int statementCount = 0;
+        for (SourceLine line : lines) {
+            if (line.statement != null) {
+                if (line.label != null) {
+                    layout.append(line.label).append('@').append(statementCount).append(' ');
+                }
+                statementCount++;
+            }
+        }
+        return layout.append(statementCount).toString();
+    }
+
+    /**
+     * counts the lines containing a statement
+     */
+    private static int countStatements(List<SourceLine> lines) {
+        int count = 0;
+        for (SourceLine line : lines) {
+            if (line.statement != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * collects the registers used by all statements
+     * @return list of indices of used registers
+     */
+    private static ArrayList<Integer> collectUsedRegisters(List<SourceLine> lines) {
+        ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
+        for (SourceLine line : lines) {
+            if (line.statement != null) {
+                InstructionArguments args = line.statement.getArguments();
+                addUsedRegister(usedRegisters, args.getRd());
+                if (line.dataReference == null) { // LDR uses XZR implicitly
+                    addUsedRegister(usedRegisters, args.getRn());
+                }
+                addUsedRegister(usedRegisters, args.getRm());
+                addUsedRegister(usedRegisters, args.getRt());
+            }
+        }
+        return usedRegisters;
+    }
+
+    private static void addUsedRegister(ArrayList<Integer> usedRegisters, int register) {
+        if (register != InstructionArguments.NO_REGISTER && !usedRegisters.contains(register)) {
+            usedRegisters.add(register);
+        }
+    }
+
+    /**
+     * gets the line of the baseline containing a character
+     * @param offset offset of the character
+     * @return line number (starting with 0)
+     */
+    private int getLineOf(int offset) {
+        int low = 0;
+        int high = lineStarts.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (lineStarts[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * computes the offset of the first character of each line
+     */
+    private static int[] computeLineStarts(String code) {
+        int count = 1;
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        int[] starts = new int[count];
+        int line = 1;
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) == '\n') {
+                starts[line++] = i + 1;
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * marks the whole document as unchanged
+     */
+    private void clearDirtyWindow() {
+        dirtyStart = Integer.MAX_VALUE;
+        dirtySuffix = Integer.MAX_VALUE;
+    }
+}
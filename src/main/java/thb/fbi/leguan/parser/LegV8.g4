@@ -103,5 +103,5 @@ XZR: 'XZR' ;
 PointerDeclaration: [a-zA-Z][a-zA-Z0-9]* ':' ; 
 PointerReference: [a-zA-Z][a-zA-Z0-9]* ; // potential overlap with register names
 
-DataSegmentTypes: '.byte' | '.halfword' | '.word' | '.dword' | '.ascii';
+DataSegmentTypes: '.byte' | '.halfword' | '.word' | '.dword' | '.ascii' | '.space' | '.zero';
 ASCII_String: '"' [a-zA-Z_,.;: ]+ '"';
\ No newline at end of file
@@ -0,0 +1,196 @@
+package thb.fbi.leguan.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.InstructionArguments;
+import thb.fbi.leguan.data.ProgramStatement;
+import thb.fbi.leguan.instructions.ArithmeticInstruction;
+import thb.fbi.leguan.instructions.BranchInstruction;
+import thb.fbi.leguan.instructions.ConditionalBranchInstruction;
+import thb.fbi.leguan.instructions.DataTransferInstruction;
+import thb.fbi.leguan.instructions.ImmediateInstruction;
+import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.instructions.WideImmediateInstruction;
+import thb.fbi.leguan.simulation.Memory;
+
+/**
+ * \brief loads a binary image of LEGv8 machine words as program (without lexing and parsing)
+ *
+ * the image contains one 32 bit big-endian word per instruction, the first word is placed at
+ * the start of the code segment. Branch targets are encoded relative to the instruction (as in the
+ * LEGv8 formats) and converted back to absolute addresses. Images have no data segment.
+ * The source of each statement is its disassembly.
+ */
+public class MachineCodeLoader {
+    /** instructions to decode */
+    private final InstructionSet instructionSet;
+
+    public MachineCodeLoader(InstructionSet instructionSet) {
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * loads a binary image from a file
+     * @param file file containing the machine words
+     * @return executable program
+     * @throws IOException if the file can not be read
+     */
+    public ARMProgram load(Path file) throws IOException {
+        return load(Files.readAllBytes(file));
+    }
+
+    /**
+     * loads a binary image
+     * @param image machine words (big-endian)
+     * @return executable program
+     * @throws IllegalArgumentException if the image is not word aligned or contains an unknown instruction
+     */
+    public ARMProgram load(byte[] image) {
+        if (image.length % Instruction.INSTRUCTION_LENGTH != 0) {
+            throw new IllegalArgumentException("Image size " + image.length + " is not a multiple of "
+                    + Instruction.INSTRUCTION_LENGTH + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(image).order(ByteOrder.BIG_ENDIAN);
+        TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
+        ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
+        for (int i = 0; buffer.hasRemaining(); i++) {
+            int address = Memory.CODE_SEGMENT_START + i * Instruction.INSTRUCTION_LENGTH;
+            int word = buffer.getInt();
+            Instruction instruction = instructionSet.findInstructionByOpcode(word);
+            if (instruction == null) {
+                throw new IllegalArgumentException(String.format("Unknown instruction 0x%08x at address %d", word, address));
+            }
+            InstructionArguments args = decodeArguments(instruction, word, address);
+            addUsedRegisters(args, usedRegisters);
+            statements.put(address, new ProgramStatement(instruction, args, disassemble(instruction, args), i));
+        }
+
+        ARMProgram program = new ARMProgram();
+        program.setStatement(statements);
+        program.setUsedRegister(usedRegisters);
+        program.decodeStatements();
+        return program;
+    }
+
+    /**
+     * extracts the arguments of a machine word depending on the format of its instruction
+     * only fields used by the parser for this instruction are set, so the statement equals a parsed one
+     */
+    private InstructionArguments decodeArguments(Instruction instruction, int word, int address) {
+        InstructionArguments args = new InstructionArguments();
+        int rd = word & 0x1F;
+        int rn = (word >>> 5) & 0x1F;
+        String mnemonic = instruction.getMnemonic();
+        if (instruction instanceof ArithmeticInstruction) { // R
+            if (mnemonic.equals("NOP")) {
+                return args;
+            }
+            args.setRd(rd);
+            args.setRn(rn);
+            if (mnemonic.equals("LSL") || mnemonic.equals("LSR")) {
+                args.setShamt((word >>> 10) & 0x3F);
+            } else {
+                args.setRm((word >>> 16) & 0x1F);
+            }
+        } else if (instruction instanceof ImmediateInstruction) { // I
+            args.setRd(rd);
+            args.setRn(rn);
+            args.setAlu_Immediate((word >>> 10) & 0xFFF);
+        } else if (instruction instanceof WideImmediateInstruction) { // IW
+            args.setRd(rd);
+            args.setAlu_Immediate((word >>> 5) & 0xFFFF);
+            args.setShamt(((word >>> 21) & 0x3) * 16);
+        } else if (instruction instanceof DataTransferInstruction) { // D
+            args.setRt(rd);
+            args.setRn(rn);
+            args.setDt_Address(word << 11 >> 23); // signed 9 bit offset
+        } else if (instruction instanceof BranchInstruction) { // B
+            int offset = word << 6 >> 6; // signed 26 bit offset
+            args.setBr_Address(address + offset * Instruction.INSTRUCTION_LENGTH);
+        } else if (instruction instanceof ConditionalBranchInstruction) { // CB
+            if (mnemonic.equals("BR")) { // register in the Rn field (R format)
+                args.setRt(rn);
+                return args;
+            }
+            int offset = word << 8 >> 13; // signed 19 bit offset
+            args.setCond_Br_Address(address + offset * Instruction.INSTRUCTION_LENGTH);
+            if (((ConditionalBranchInstruction) instruction).getConditionCode() < 0) { // CBZ, CBNZ
+                args.setRt(rd);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * adds the registers of a statement to the used registers (in order of appearance)
+     */
+    private static void addUsedRegisters(InstructionArguments args, ArrayList<Integer> usedRegisters) {
+        for (int register : new int[] { args.getRd(), args.getRt(), args.getRn(), args.getRm() }) {
+            if (register != InstructionArguments.NO_REGISTER && !usedRegisters.contains(register)) {
+                usedRegisters.add(register);
+            }
+        }
+    }
+
+    /**
+     * creates the source text of a decoded statement, branch targets are shown as absolute addresses
+     */
+    private static String disassemble(Instruction instruction, InstructionArguments args) {
+        String mnemonic = instruction.getMnemonic();
+        if (instruction instanceof ArithmeticInstruction) {
+            if (mnemonic.equals("NOP")) {
+                return mnemonic;
+            } else if (mnemonic.equals("LSL") || mnemonic.equals("LSR")) {
+                return String.format("%s %s, %s, %d", mnemonic, name(args.getRd()), name(args.getRn()), args.getShamt());
+            } else if (mnemonic.equals("STXR")) {
+                return String.format("%s %s, %s [%s]", mnemonic, name(args.getRd()), name(args.getRn()), name(args.getRm()));
+            }
+            return String.format("%s %s, %s, %s", mnemonic, name(args.getRd()), name(args.getRn()), name(args.getRm()));
+        } else if (instruction instanceof ImmediateInstruction) {
+            return String.format("%s %s, %s, %d", mnemonic, name(args.getRd()), name(args.getRn()), args.getAlu_Immediate());
+        } else if (instruction instanceof WideImmediateInstruction) {
+            return String.format("%s %s, %d, LSL %d", mnemonic, name(args.getRd()), args.getAlu_Immediate(), args.getShamt());
+        } else if (instruction instanceof DataTransferInstruction) {
+            return String.format("%s %s, [%s, %d]", mnemonic, name(args.getRt()), name(args.getRn()), args.getDt_Address());
+        } else if (instruction instanceof BranchInstruction) {
+            return String.format("%s 0x%x", mnemonic, args.getBr_Address());
+        } else if (mnemonic.equals("BR")) {
+            return String.format("%s %s", mnemonic, name(args.getRt()));
+        } else if (args.getRt() != InstructionArguments.NO_REGISTER) {
+            return String.format("%s %s, 0x%x", mnemonic, name(args.getRt()), args.getCond_Br_Address());
+        }
+        return String.format("%s 0x%x", mnemonic, args.getCond_Br_Address());
+    }
+
+    /**
+     * gets the name of a register as used by the simulator
+     */
+    private static String name(int register) {
+        return "X" + register;
+    }
+
+    /**
+     * encodes the statements of a program as binary image (e.g. to store an assembled program)
+     * @param program assembled program (without data segment references, LDR can not be encoded)
+     * @return machine words (big-endian)
+     * @throws IllegalArgumentException if a statement can not be encoded (e.g. an immediate does not fit into its field)
+     */
+    public static byte[] encode(ARMProgram program) {
+        TreeMap<Integer, ProgramStatement> statements = program.getProgramStatements();
+        ByteBuffer buffer = ByteBuffer.allocate(statements.size() * Instruction.INSTRUCTION_LENGTH).order(ByteOrder.BIG_ENDIAN);
+        for (Map.Entry<Integer, ProgramStatement> entry : statements.entrySet()) {
+            ProgramStatement statement = entry.getValue();
+            buffer.putInt(statement.getInstruction().encode(statement.getArguments(), entry.getKey()));
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,128 @@
+package thb.fbi.leguan.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * \brief CharStream reading a source file directly from a memory-mapped buffer
+ *
+ * the file is neither copied to the heap nor decoded to a String: every byte is one character
+ * (LEGv8 source code is ASCII, other UTF-8 characters only appear within comments). Only texts of
+ * tokens and statements are decoded (as UTF-8) when requested. The stream may be read by several
+ * threads as long as each uses its own position (e.g. getText of tokens of different chunks).
+ */
+public class MappedCharStream implements CharStream {
+    /** content of the file */
+    private final ByteBuffer buffer;
+    /** number of bytes */
+    private final int size;
+    /** name of the file */
+    private final String sourceName;
+    /** index of the next character */
+    private int position = 0;
+
+    /**
+     * maps a file into memory (read-only)
+     * @param file source file
+     * @throws IOException if the file can not be read or is larger than 2 GiB
+     */
+    public MappedCharStream(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too large (" + fileSize + " bytes)");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize); // stays valid after closing
+        }
+        this.size = buffer.limit();
+        this.sourceName = file.toString();
+    }
+
+    /**
+     * gets the content of the file (e.g. for hashing)
+     * @return read-only view of the whole file
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    public void consume() {
+        if (position >= size) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        position++;
+    }
+
+    @Override
+    public int LA(int i) {
+        int offset;
+        if (i > 0) {
+            offset = position + i - 1;
+        } else if (i < 0) {
+            offset = position + i;
+        } else {
+            return 0; // undefined
+        }
+        if (offset < 0 || offset >= size) {
+            return IntStream.EOF;
+        }
+        return buffer.get(offset) & 0xFF;
+    }
+
+    @Override
+    public int mark() {
+        return -1; // the whole file is always available
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return position;
+    }
+
+    @Override
+    public void seek(int index) {
+        position = Math.min(index, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = Math.max(interval.a, 0);
+        int stop = Math.min(interval.b, size - 1);
+        if (stop < start) {
+            return "";
+        }
+        byte[] bytes = new byte[stop - start + 1];
+        ByteBuffer view = buffer.duplicate(); // own position, other threads may read concurrently
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return sourceName;
+    }
+}
@@ -0,0 +1,127 @@
+package thb.fbi.leguan.parser;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.StyleSpansBuilder;
+
+import thb.fbi.leguan.parser.antlr.LegV8Lexer;
+
+/**
+ * \brief Highlights single paragraphs (lines) of the code using the lexer only
+ *
+ * styles are derived from the token types (same css-classes as the SyntaxHighlighter). Tokens whose
+ * style depends on their context (label declarations and references) are resolved by their neighbouring
+ * tokens. If a paragraph needs more context (e.g. block comments), it has to be highlighted by a full parse.
+ * Syntax errors are only marked by the full parse (the controller falls back to it while the text has errors).
+ */
+public class ParagraphHighlighter {
+
+    private ParagraphHighlighter() {
+    }
+
+    /**
+     * highlights a paragraph
+     * @param paragraph text of the paragraph
+     * @param nextParagraph text of the following paragraph (context of a trailing declaration), null if there is none
+     * @return styles of the paragraph or null if the whole text has to be highlighted
+     */
+    public static StyleSpans<Collection<String>> highlight(String paragraph, String nextParagraph) {
+        if (isPartOfBlockComment(paragraph)) {
+            return null;
+        }
+        List<? extends Token> tokens = tokenize(paragraph);
+        StyleSpansBuilder<Collection<String>> spansBuilder = new StyleSpansBuilder<>();
+        int lastEnd = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            int previousType = i > 0 ? tokens.get(i - 1).getType() : Token.INVALID_TYPE;
+            String style;
+            if (token.getType() == LegV8Lexer.PointerDeclaration) {
+                int nextType;
+                if (i + 1 < tokens.size()) {
+                    nextType = tokens.get(i + 1).getType();
+                } else {
+                    nextType = getFirstTokenType(nextParagraph);
+                    if (nextType == Token.INVALID_TYPE) { // declaration and its content not within the next line
+                        return null;
+                    }
+                }
+                style = nextType == LegV8Lexer.DataSegmentTypes ? "segment-variable" : "jump-label";
+            } else if (token.getType() == LegV8Lexer.PointerReference) {
+                if (i == 0) { // reference of a statement starting in a previous line
+                    return null;
+                }
+                style = previousType == LegV8Lexer.EQUALS_SIGN ? "segment-variable" : "jump-label";
+            } else if (token.getType() == LegV8Lexer.ShiftInstruction && previousType == LegV8Lexer.COMMA) {
+                style = null; // shift of a wide immediate
+            } else {
+                style = getStyle(token.getType());
+            }
+            if (style != null) {
+                spansBuilder.add(Collections.emptyList(), token.getStartIndex() - lastEnd);
+                spansBuilder.add(Collections.singleton(style), token.getStopIndex() + 1 - token.getStartIndex());
+                lastEnd = token.getStopIndex() + 1;
+            }
+        }
+        spansBuilder.add(Collections.emptyList(), paragraph.length() - lastEnd);
+        return spansBuilder.create();
+    }
+
+    /**
+     * checks if a text contains (parts of) a block comment
+     * @param text text to check
+     * @return true if a block comment starts or ends within the text
+     */
+    public static boolean isPartOfBlockComment(String text) {
+        return text.contains("/*") || text.contains("*/");
+    }
+
+    /**
+     * gets the css-class of tokens independent of their context
+     * @param type token type
+     * @return css-class, null if the token is not styled
+     */
+    private static String getStyle(int type) {
+        switch (type) {
+            case LegV8Lexer.ArithmeticInstruction:
+            case LegV8Lexer.ShiftInstruction:
+            case LegV8Lexer.ImmediateInstruction:
+            case LegV8Lexer.WideImmediateInstrcution:
+            case LegV8Lexer.DatatransferInstruction:
+            case LegV8Lexer.ExclusiveInstruction:
+            case LegV8Lexer.CondBranchInstruction:
+            case LegV8Lexer.B_cond_Instruction:
+            case LegV8Lexer.BranchInstruction:
+            case LegV8Lexer.BranchByRegisterInstruction:
+            case LegV8Lexer.DataSegmentInstruction:
+                return "instruction";
+            case LegV8Lexer.REGISTER:
+                return "register";
+            case LegV8Lexer.NUMBER:
+                return "number";
+            case LegV8Lexer.DataSegmentTypes:
+                return "datatype";
+            default:
+                return null;
+        }
+    }
+
+    private static int getFirstTokenType(String paragraph) {
+        if (paragraph == null || isPartOfBlockComment(paragraph)) {
+            return Token.INVALID_TYPE;
+        }
+        List<? extends Token> tokens = tokenize(paragraph);
+        return tokens.isEmpty() ? Token.INVALID_TYPE : tokens.get(0).getType();
+    }
+
+    private static List<? extends Token> tokenize(String text) {
+        LegV8Lexer lexer = new LegV8Lexer(CharStreams.fromString(text));
+        lexer.removeErrorListeners();
+        return lexer.getAllTokens();
+    }
+}
@@ -0,0 +1,303 @@
+package thb.fbi.leguan.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.DataSegment;
+import thb.fbi.leguan.data.InstructionArguments;
+import thb.fbi.leguan.data.ProgramStatement;
+import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.parser.antlr.LegV8Lexer;
+import thb.fbi.leguan.parser.antlr.LegV8Parser;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.LineContext;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.MainContext;
+import thb.fbi.leguan.simulation.Memory;
+
+/**
+ * \brief assembles very large source codes in chunks on several threads
+ *
+ * the source code is lexed once and its tokens are split at line boundaries where a statement starts.
+ * Pass 1 parses and visits the chunks concurrently, each with its own label table (references to labels
+ * of other chunks stay unresolved). Pass 2 merges the label tables and patches the unresolved branch targets.
+ * Tokens keep their positions within the whole source code, so errors refer to the original lines.
+ * Whenever a chunk contains syntax errors assemble returns null and the caller has to fall back to a
+ * regular assembly (which reports the syntax errors of the whole source code).
+ */
+public class ParallelAssembler {
+
+    /** minimum number of lines of a source code to be assembled in chunks */
+    public static final int MIN_LINES = 100_000;
+    /** minimum number of statements per chunk */
+    private static final int MIN_CHUNK_STATEMENTS = 4096;
+    /** number of chunks per thread (to balance chunks of different complexity) */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * consecutive statements of the source code
+     */
+    private static class Chunk {
+        /** tokens of the chunk (the first chunk includes the data segment) */
+        private final List<Token> tokens;
+        /** address of the first statement */
+        private final int address;
+        /** number of statements found while splitting */
+        private final int statementCount;
+        /** parse tree of the chunk, null if it contains syntax errors */
+        private MainContext tree;
+        /** lines of the parse tree */
+        private List<LineContext> lines;
+        private ArrayList<ParsingError> errors = new ArrayList<ParsingError>();
+        private ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
+        private HashMap<String, Integer> jumpMarks = new HashMap<String, Integer>();
+        private HashMap<Integer, String> unresolvedMarks = new HashMap<Integer, String>();
+        private TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
+
+        private Chunk(List<Token> tokens, int address, int statementCount) {
+            this.tokens = tokens;
+            this.address = address;
+            this.statementCount = statementCount;
+        }
+
+        /**
+         * gets the line of a statement of this chunk
+         */
+        private LineContext getLine(int address) {
+            return lines.get((address - this.address) / Instruction.INSTRUCTION_LENGTH);
+        }
+    }
+
+    /**
+     * checks if a source code is large enough to benefit from assembling in chunks
+     * @param source source code
+     * @return boolean indicating if the source code has at least MIN_LINES lines
+     */
+    public static boolean isLarge(String source) {
+        if (source.length() < MIN_LINES) {
+            return false;
+        }
+        int lines = 1;
+        for (int i = 0; i < source.length() && lines < MIN_LINES; i++) {
+            if (source.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines >= MIN_LINES;
+    }
+
+    /**
+     * assembles a source code in chunks
+     * @param source source code
+     * @param instructionSet populated instruction set
+     * @param pool pool parsing and visiting the chunks
+     * @return program or semantic errors of the source code, null if it contains syntax errors (or no statement)
+     * @throws InterruptedException if interrupted while waiting for the chunks
+     */
+    public static AssemblyResult assemble(String source, InstructionSet instructionSet, ForkJoinPool pool)
+            throws InterruptedException {
+        ParseStatistics statistics = new ParseStatistics();
+        long start = System.nanoTime();
+        LegV8Lexer lexer = new LegV8Lexer(CharStreams.fromString(source));
+        lexer.removeErrorListeners();
+        CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+        tokenStream.fill();
+        List<Token> tokens = tokenStream.getTokens();
+        statistics.setTokens(tokens.size());
+
+        int[] starts = findStatementStarts(tokens);
+        if (starts.length == 0) {
+            return null;
+        }
+        int chunkStatements = Math.max(MIN_CHUNK_STATEMENTS,
+                starts.length / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+        ArrayList<Integer> firstStatements = new ArrayList<Integer>();
+        firstStatements.add(0);
+        for (int i = chunkStatements; i < starts.length; i++) {
+            if (i - firstStatements.get(firstStatements.size() - 1) >= chunkStatements && isLineStart(tokens, starts[i])) {
+                firstStatements.add(i);
+            }
+        }
+        ArrayList<Chunk> chunks = new ArrayList<Chunk>(firstStatements.size());
+        for (int i = 0; i < firstStatements.size(); i++) {
+            int firstToken = i == 0 ? 0 : starts[firstStatements.get(i)]; // first chunk includes the data segment
+            int end = i + 1 < firstStatements.size() ? firstStatements.get(i + 1) : starts.length;
+            int endToken = end < starts.length ? starts[end] : tokens.size() - 1; // without EOF
+            int address = Memory.CODE_SEGMENT_START + firstStatements.get(i) * Instruction.INSTRUCTION_LENGTH;
+            chunks.add(new Chunk(tokens.subList(firstToken, endToken), address, end - firstStatements.get(i)));
+        }
+
+        // pass 1: parse and visit the chunks concurrently
+        HashMap<String, Long> dataSegmentVariables = new HashMap<String, Long>();
+        ArrayList<ParsingError> errors = new ArrayList<ParsingError>();
+        DataSegment dataSegment;
+        try {
+            pool.submit(() -> chunks.parallelStream().forEach(ParallelAssembler::parseChunk)).get();
+            statistics.setSllNanos(System.nanoTime() - start);
+            for (Chunk chunk : chunks) {
+                if (chunk.tree == null || chunk.lines.size() != chunk.statementCount) {
+                    return null;
+                }
+            }
+            long endOfCodeSegmentAdress = Memory.CODE_SEGMENT_START + starts.length * Instruction.INSTRUCTION_LENGTH;
+            DataSegmentParser dataSegmentParser = new DataSegmentParser(dataSegmentVariables, endOfCodeSegmentAdress, errors);
+            dataSegment = dataSegmentParser.visitDataSegment(chunks.get(0).tree.program().dataSegment());
+            pool.submit(() -> chunks.parallelStream()
+                    .forEach(chunk -> visitChunk(chunk, instructionSet, dataSegmentVariables))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Assembly failed", e.getCause());
+        }
+
+        // pass 2: merge labels and registers, patch references to labels of other chunks
+        HashMap<String, Integer> jumpMarks = new HashMap<String, Integer>();
+        ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
+        TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
+        for (Chunk chunk : chunks) {
+            errors.addAll(chunk.errors);
+            for (Map.Entry<String, Integer> mark : chunk.jumpMarks.entrySet()) {
+                if (jumpMarks.putIfAbsent(mark.getKey(), mark.getValue()) != null) {
+                    ParserHelper.addSemanticError(errors, chunk.getLine(mark.getValue()).jumpLabelDeclaration().PointerDeclaration(),
+                            ParsingErrorType.DoubledJumpLabelDeclaration);
+                }
+            }
+            for (Integer register : chunk.usedRegisters) {
+                if (!usedRegisters.contains(register)) {
+                    usedRegisters.add(register);
+                }
+            }
+            statements.putAll(chunk.statements);
+        }
+        for (Chunk chunk : chunks) {
+            for (Integer index : new TreeMap<Integer, String>(chunk.unresolvedMarks).keySet()) {
+                resolveMark(chunk, index, statements.get(index).getArguments(), jumpMarks, errors);
+            }
+        }
+        if (!errors.isEmpty()) {
+            return new AssemblyResult(null, errors, statistics);
+        }
+
+        ARMProgram program = new ARMProgram();
+        program.setDataSegment(dataSegment);
+        program.setStatement(statements);
+        program.setUsedRegister(usedRegisters);
+        program.setJumpLabels(jumpMarks);
+        program.setDataLabels(dataSegmentVariables);
+        program.decodeStatements();
+        return new AssemblyResult(program, errors, statistics);
+    }
+
+    /**
+     * finds the tokens starting a statement (instruction or jump label followed by an instruction)
+     * @return indices of the first token of each statement
+     */
+    private static int[] findStatementStarts(List<Token> tokens) {
+        int[] starts = new int[16];
+        int count = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (!isInstruction(tokens.get(i).getType())
+                    || (i > 0 && tokens.get(i - 1).getType() == LegV8Lexer.COMMA)) { // LSL of MOVZ/ MOVK
+                continue;
+            }
+            int start = i > 0 && tokens.get(i - 1).getType() == LegV8Lexer.PointerDeclaration ? i - 1 : i;
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = start;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static boolean isInstruction(int type) {
+        switch (type) {
+            case LegV8Lexer.ArithmeticInstruction:
+            case LegV8Lexer.ShiftInstruction:
+            case LegV8Lexer.ImmediateInstruction:
+            case LegV8Lexer.WideImmediateInstrcution:
+            case LegV8Lexer.DatatransferInstruction:
+            case LegV8Lexer.ExclusiveInstruction:
+            case LegV8Lexer.CondBranchInstruction:
+            case LegV8Lexer.B_cond_Instruction:
+            case LegV8Lexer.BranchInstruction:
+            case LegV8Lexer.BranchByRegisterInstruction:
+            case LegV8Lexer.DataSegmentInstruction:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * checks if a token is the first token of its line (chunks are only split at line boundaries)
+     */
+    private static boolean isLineStart(List<Token> tokens, int token) {
+        return token == 0 || tokens.get(token - 1).getLine() < tokens.get(token).getLine();
+    }
+
+    /**
+     * parses the tokens of a chunk (SLL, bails out at the first syntax error)
+     */
+    private static void parseChunk(Chunk chunk) {
+        LegV8Parser parser = new LegV8Parser(new CommonTokenStream(new ListTokenSource(chunk.tokens)));
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            chunk.tree = parser.main();
+            chunk.lines = chunk.tree.program().line();
+        } catch (ParseCancellationException e) {
+            chunk.tree = null;
+        }
+    }
+
+    /**
+     * creates the statements of a chunk using a chunk-local label table
+     */
+    private static void visitChunk(Chunk chunk, InstructionSet instructionSet, HashMap<String, Long> dataSegmentVariables) {
+        ProgramStatementParser statementVisitor = new ProgramStatementParser(instructionSet, chunk.errors,
+                chunk.usedRegisters, chunk.jumpMarks, chunk.unresolvedMarks, dataSegmentVariables);
+        int address = chunk.address;
+        for (LineContext line : chunk.lines) {
+            statementVisitor.setProgramIndex(address);
+            chunk.statements.put(address, statementVisitor.visitLine(line));
+            address = address + Instruction.INSTRUCTION_LENGTH;
+        }
+    }
+
+    /**
+     * patches the target of a branch referencing a label declared later or within another chunk
+     */
+    private static void resolveMark(Chunk chunk, int index, InstructionArguments args, HashMap<String, Integer> jumpMarks,
+            ArrayList<ParsingError> errors) {
+        Integer target = jumpMarks.get(chunk.unresolvedMarks.get(index));
+        LineContext line = chunk.getLine(index);
+        if (args.getCond_Br_Address() == -1) {
+            if (target == null) {
+                ParserHelper.addSemanticError(errors, ProgramParser.getConditionalJumpReference(line).PointerReference(),
+                        ParsingErrorType.UndefinedJumpLabelReference);
+            } else {
+                args.setCond_Br_Address(target);
+            }
+        } else if (args.getBr_Address() == -1) {
+            if (target == null) {
+                ParserHelper.addSemanticError(errors, line.branchParam().jumpLabelReference().PointerReference(),
+                        ParsingErrorType.UndefinedJumpLabelReference);
+            } else {
+                args.setBr_Address(target);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package thb.fbi.leguan.parser;
+
+/**
+ * Statistics of lexing and parsing a text
+ *
+ * the text is parsed with fast SLL prediction first, full LL prediction is only used when SLL fails
+ */
+public class ParseStatistics {
+    /** number of tokens of the text */
+    private int tokens = 0;
+    /** time of the SLL stage in nanoseconds (including lexing) */
+    private long sllNanos = 0;
+    /** time of the LL stage in nanoseconds, 0 if not needed */
+    private long llNanos = 0;
+    /** indicates if the LL stage was needed */
+    private boolean isLLRequired = false;
+
+    protected void setTokens(int tokens) {
+        this.tokens = tokens;
+    }
+
+    protected void setSllNanos(long sllNanos) {
+        this.sllNanos = sllNanos;
+    }
+
+    protected void setLLNanos(long llNanos) {
+        this.llNanos = llNanos;
+        this.isLLRequired = true;
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public long getSllNanos() {
+        return sllNanos;
+    }
+
+    public long getLLNanos() {
+        return llNanos;
+    }
+
+    public boolean isLLRequired() {
+        return isLLRequired;
+    }
+
+    /**
+     * gets the total time of all stages
+     * @return time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return sllNanos + llNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (isLLRequired) {
+            return String.format("%d tokens parsed in %.3f ms (SLL failed after %.3f ms, LL %.3f ms)",
+                    tokens, getTotalNanos() / 1e6, sllNanos / 1e6, llNanos / 1e6);
+        }
+        return String.format("%d tokens parsed in %.3f ms (SLL)", tokens, sllNanos / 1e6);
+    }
+}
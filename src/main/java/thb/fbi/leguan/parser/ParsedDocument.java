@@ -0,0 +1,70 @@
+package thb.fbi.leguan.parser;
+
+import java.util.ArrayList;
+
+import org.antlr.v4.runtime.CommonTokenStream;
+
+import thb.fbi.leguan.parser.antlr.LegV8Parser.MainContext;
+
+/**
+ * \brief lexed and parsed version of the source code
+ *
+ * holds token stream, parse tree and syntax errors of one version of the text.
+ * Shared by syntax highlighting, assembly and error reporting, has to be treated as read-only.
+ */
+public class ParsedDocument {
+    /** version of the document model this text belongs to */
+    private final long version;
+    /** parsed text, null if parsed from a stream (e.g. a file) */
+    private final String text;
+    /** tokens of the text */
+    private final CommonTokenStream tokens;
+    /** parse tree starting with rule 'main' */
+    private final MainContext tree;
+    /** syntax errors found while parsing */
+    private final ArrayList<ParsingError> syntaxErrors;
+    /** timings of lexing and parsing */
+    private final ParseStatistics statistics;
+
+    public ParsedDocument(long version, String text, CommonTokenStream tokens, MainContext tree,
+            ArrayList<ParsingError> syntaxErrors, ParseStatistics statistics) {
+        this.version = version;
+        this.text = text;
+        this.tokens = tokens;
+        this.tree = tree;
+        this.syntaxErrors = syntaxErrors;
+        this.statistics = statistics;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public CommonTokenStream getTokens() {
+        return tokens;
+    }
+
+    public MainContext getTree() {
+        return tree;
+    }
+
+    public ArrayList<ParsingError> getSyntaxErrors() {
+        return syntaxErrors;
+    }
+
+    public ParseStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * checks if the text contains syntax errors
+     * @return boolean indicating if there are syntax errors
+     */
+    public boolean hasSyntaxErrors() {
+        return !syntaxErrors.isEmpty();
+    }
+}
@@ -1,15 +1,17 @@
 package thb.fbi.leguan.parser;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.regex.Matcher;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 public class ParserHelper {
 
-    public static ArrayList<ParsingError> semanticErrors = new ArrayList<ParsingError>();
+    /** names of special registers, can not be used as label */
+    private static final Set<String> FORBIDDEN_NAMES = Set.of("XZR", "SP", "LR", "FP");
+    /** names of general purpose registers, can not be used as label (compiled once, patterns are thread-safe) */
+    private static final Pattern REGISTER_NAME = Pattern.compile("X(0|[1-9]|1[0-9]|2[0-9]|3[0-1])");
 
     /**
      * function to verify that a label name does not equal another name (register, instruction, ...)
@@ -17,35 +19,19 @@ public class ParserHelper {
      * @return boolean indicating if given string is valid or not
      */
     static boolean isLabelNameValid(String label) {
-        ArrayList<String> forbiddenNames = new ArrayList<String>(Arrays.asList("XZR", "SP", "LR", "FP"));
-        if(forbiddenNames.contains(label)) {
-            return false;
-        }
-        Pattern pattern = Pattern.compile("X(0|[1-9]|1[0-9]|2[0-9]|3[0-1])");
-        Matcher matcher = pattern.matcher(label);
-        if(matcher.matches()) {
-            return false;
-        }
-        return true;
+        return !FORBIDDEN_NAMES.contains(label) && !REGISTER_NAME.matcher(label).matches();
     }
     
     /**
      * helper function for adding semantic errors to list
      * 
+     * @param errors    list of errors of the current assembly
      * @param token     the token of the parse tree which is responsible for
      *                  throwing the error
      * @param errorType type of parsing error
      */
-    static void addSemanticError(TerminalNode node, ParsingErrorType errorType) {
+    static void addSemanticError(ArrayList<ParsingError> errors, TerminalNode node, ParsingErrorType errorType) {
         ParsingError err = new ParsingError(node, errorType);
-        semanticErrors.add(err);
-    }
-
-    public static ArrayList<ParsingError> getSemanticErrors() {
-        return semanticErrors;
-    }
-
-    public static void setSemanticErrors(ArrayList<ParsingError> semanticErrors) {
-        ParserHelper.semanticErrors = semanticErrors;
+        errors.add(err);
     }
 }
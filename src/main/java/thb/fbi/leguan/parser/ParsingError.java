@@ -50,6 +50,9 @@ public class ParsingError {
             case DataSegmentTypeFormatException:
                 this.msg = "Value in data segment exceeds its specified size '" + identifier + "'"; // type + value
                 break;
+            case ReservedSpaceOutOfRange:
+                this.msg = "Reserved space has to be between 0 and " + DataSegmentParser.MAX_RESERVED_SPACE + " bytes. Used '" + identifier + "'"; // size
+                break;
             default:
                 this.msg = "Undefined Error occured";
                 break;
@@ -8,6 +8,7 @@ public enum ParsingErrorType {
     NumberFormatException,
     WideImmediateShiftOutOfRange,
     WrongShiftforWideImmediate,
-    DataSegmentTypeFormatException;
+    DataSegmentTypeFormatException,
+    ReservedSpaceOutOfRange;
 
 }
@@ -0,0 +1,401 @@
+package thb.fbi.leguan.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.DataSegment;
+import thb.fbi.leguan.data.InstructionArguments;
+import thb.fbi.leguan.data.ProgramStatement;
+import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.parser.antlr.LegV8Lexer;
+import thb.fbi.leguan.parser.antlr.LegV8Parser;
+
+/**
+ * \brief on-disk cache of assembled programs
+ *
+ * an assembled program (statements, labels, used registers, data segment and source lines) is stored
+ * in a compact binary file named by the SHA-256 hash of the source code, the grammar and the instruction set.
+ * A cached program is loaded without lexing, parsing and visiting the source code.
+ * The size of the cache directory is bounded, the least recently used programs are evicted first.
+ * When grammar or instruction set change, the entries of the cache directory are dropped.
+ */
+public class ProgramCache {
+    /** version of the file format, increase when the format changes */
+    private static final int FORMAT_VERSION = 2;
+    /** first bytes of every cache file ("LGVC") */
+    private static final int MAGIC = 0x4C475643;
+    /** file extension of cache entries */
+    private static final String ENTRY_EXTENSION = ".bin";
+    /** file holding the version (hash of grammar and instruction set) of the cached entries */
+    private static final String VERSION_FILE = "version";
+    /** default size bound of the cache directory (32 MB) */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    /** directory of the cache entries */
+    private final Path directory;
+    /** size bound of all entries in bytes */
+    private final long maxBytes;
+    /** instructions of stored statements (by mnemonic) */
+    private final InstructionSet instructionSet;
+    /** instruction set fingerprint the directory was validated for, null if not validated yet */
+    private String validatedFingerprint = null;
+    /** hash of format version, grammar and instruction set (prefix of every key) */
+    private byte[] versionHash;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ProgramCache(Path directory, long maxBytes, InstructionSet instructionSet) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * gets the cache directory of the application within the home directory of the user
+     * @return directory of the cache entries
+     */
+    public static Path getDefaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".leguan", "cache");
+    }
+
+    /**
+     * loads the assembled program of a source code
+     * @param source source code
+     * @return cached program or null if the source code is not cached (or the entry is unreadable)
+     */
+    public synchronized ARMProgram load(String source) {
+        return load(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * loads the assembled program of an encoded source code (e.g. a memory-mapped file)
+     * @param source source code (UTF-8), its position is not changed
+     * @return cached program or null if the source code is not cached (or the entry is unreadable)
+     */
+    public synchronized ARMProgram load(ByteBuffer source) {
+        try {
+            validate();
+            Path file = getEntry(source);
+            if (!Files.isRegularFile(file)) {
+                misses++;
+                return null;
+            }
+            ARMProgram program;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                program = readProgram(in);
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis())); // most recently used
+            hits++;
+            return program;
+        } catch (IOException | RuntimeException e) { // broken or outdated entry, assemble the source code again
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * stores the assembled program of a source code, evicts least recently used entries if the cache is full
+     * (the cache is optional, failures to write are ignored)
+     * @param source source code
+     * @param program program assembled from the source code
+     */
+    public synchronized void store(String source, ARMProgram program) {
+        store(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)), program);
+    }
+
+    /**
+     * stores the assembled program of an encoded source code
+     * @param source source code (UTF-8), its position is not changed
+     * @param program program assembled from the source code
+     */
+    public synchronized void store(ByteBuffer source, ARMProgram program) {
+        try {
+            validate();
+            Path file = getEntry(source);
+            Path temporary = Files.createTempFile(directory, "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writeProgram(out, program);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        } catch (IOException | RuntimeException e) {
+            // program is not cached
+        }
+    }
+
+    /**
+     * removes all entries of the cache
+     */
+    public synchronized void clear() {
+        try {
+            deleteEntries();
+        } catch (IOException e) {
+            // entries are dropped as soon as they are outdated
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * checks if grammar or instruction set changed since the entries were stored and drops all entries if so
+     */
+    private void validate() throws IOException {
+        String fingerprint = instructionSet.getFingerprint();
+        if (fingerprint.equals(validatedFingerprint)) {
+            return;
+        }
+        MessageDigest digest = createDigest();
+        digest.update(Integer.toString(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+        digest.update(LegV8Lexer._serializedATN.getBytes(StandardCharsets.UTF_8));
+        digest.update(LegV8Parser._serializedATN.getBytes(StandardCharsets.UTF_8));
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        versionHash = digest.digest();
+        String version = toHex(versionHash);
+
+        Files.createDirectories(directory);
+        Path versionFile = directory.resolve(VERSION_FILE);
+        if (!Files.isRegularFile(versionFile)
+                || !version.equals(new String(Files.readAllBytes(versionFile), StandardCharsets.UTF_8))) {
+            deleteEntries();
+            Files.write(versionFile, version.getBytes(StandardCharsets.UTF_8));
+        }
+        validatedFingerprint = fingerprint;
+    }
+
+    /**
+     * gets the file of the cache entry of a source code
+     */
+    private Path getEntry(ByteBuffer source) {
+        MessageDigest digest = createDigest();
+        digest.update(versionHash);
+        digest.update(source.duplicate());
+        return directory.resolve(toHex(digest.digest()) + ENTRY_EXTENSION);
+    }
+
+    /**
+     * deletes the least recently used entries until all entries fit into the size bound
+     */
+    private void evict() throws IOException {
+        ArrayList<Path> entries = listEntries();
+        long size = 0;
+        HashMap<Path, FileTime> lastUsed = new HashMap<Path, FileTime>();
+        for (Path entry : entries) {
+            size += Files.size(entry);
+            lastUsed.put(entry, Files.getLastModifiedTime(entry));
+        }
+        if (size <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparing(lastUsed::get));
+        for (Path entry : entries) {
+            if (size <= maxBytes) {
+                break;
+            }
+            size -= Files.size(entry);
+            Files.deleteIfExists(entry);
+        }
+    }
+
+    private void deleteEntries() throws IOException {
+        if (Files.isDirectory(directory)) {
+            for (Path entry : listEntries()) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    private ArrayList<Path> listEntries() throws IOException {
+        ArrayList<Path> entries = new ArrayList<Path>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_EXTENSION)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    //// serialization ////
+
+    private void writeProgram(DataOutputStream out, ARMProgram program) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+
+        TreeMap<Integer, ProgramStatement> statements = program.getProgramStatements();
+        out.writeInt(statements.size());
+        for (Map.Entry<Integer, ProgramStatement> entry : statements.entrySet()) {
+            ProgramStatement statement = entry.getValue();
+            InstructionArguments args = statement.getArguments();
+            out.writeInt(entry.getKey());
+            out.writeUTF(statement.getInstruction().getMnemonic());
+            out.writeInt(statement.getSourceLine());
+            out.writeUTF(statement.getSource());
+            writeRegister(out, args.getRd());
+            writeRegister(out, args.getRn());
+            writeRegister(out, args.getRm());
+            writeRegister(out, args.getRt());
+            out.writeInt(args.getShamt());
+            out.writeInt(args.getAlu_Immediate());
+            out.writeLong(args.getDt_Address());
+            out.writeInt(args.getBr_Address());
+            out.writeInt(args.getCond_Br_Address());
+        }
+
+        out.writeInt(program.getUsedRegisters().size());
+        for (int register : program.getUsedRegisters()) {
+            writeRegister(out, register);
+        }
+
+        // data segment as runs of consecutive bytes
+        out.writeInt(program.getDataSegment().getRuns().size());
+        for (DataSegment.Run run : program.getDataSegment().getRuns()) {
+            out.writeLong(run.getAddress());
+            out.writeInt(run.getLength());
+            out.write(run.getBytes(), 0, run.getLength());
+        }
+        out.writeInt(program.getDataSegment().getReservations().size());
+        for (DataSegment.Reservation reservation : program.getDataSegment().getReservations()) {
+            out.writeLong(reservation.getAddress());
+            out.writeLong(reservation.getSize());
+        }
+
+        out.writeInt(program.getJumpLabels().size());
+        for (Map.Entry<String, Integer> label : program.getJumpLabels().entrySet()) {
+            out.writeUTF(label.getKey());
+            out.writeInt(label.getValue());
+        }
+        out.writeInt(program.getDataLabels().size());
+        for (Map.Entry<String, Long> label : program.getDataLabels().entrySet()) {
+            out.writeUTF(label.getKey());
+            out.writeLong(label.getValue());
+        }
+    }
+
+    private ARMProgram readProgram(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a cache entry of this version");
+        }
+
+        int statementCount = in.readInt();
+        TreeMap<Integer, ProgramStatement> statements = new TreeMap<Integer, ProgramStatement>();
+        for (int i = 0; i < statementCount; i++) {
+            int address = in.readInt();
+            String mnemonic = in.readUTF();
+            Instruction instruction = instructionSet.findInstructionByMnemonic(mnemonic);
+            if (instruction == null) {
+                throw new IOException("Unknown instruction " + mnemonic);
+            }
+            int sourceLine = in.readInt();
+            String source = in.readUTF();
+            InstructionArguments args = new InstructionArguments();
+            args.setRd(readRegister(in));
+            args.setRn(readRegister(in));
+            args.setRm(readRegister(in));
+            args.setRt(readRegister(in));
+            args.setShamt(in.readInt());
+            args.setAlu_Immediate(in.readInt());
+            args.setDt_Address(in.readLong());
+            args.setBr_Address(in.readInt());
+            args.setCond_Br_Address(in.readInt());
+            statements.put(address, new ProgramStatement(instruction, args, source, sourceLine));
+        }
+
+        int registerCount = in.readInt();
+        ArrayList<Integer> usedRegisters = new ArrayList<Integer>(registerCount);
+        for (int i = 0; i < registerCount; i++) {
+            usedRegisters.add(readRegister(in));
+        }
+
+        DataSegment dataSegment = new DataSegment();
+        int runCount = in.readInt();
+        for (int i = 0; i < runCount; i++) {
+            long start = in.readLong();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            dataSegment.addBytes(start, bytes, 0, bytes.length);
+        }
+        int reservationCount = in.readInt();
+        for (int i = 0; i < reservationCount; i++) {
+            dataSegment.reserve(in.readLong(), in.readLong());
+        }
+
+        HashMap<String, Integer> jumpLabels = new HashMap<String, Integer>();
+        int jumpLabelCount = in.readInt();
+        for (int i = 0; i < jumpLabelCount; i++) {
+            jumpLabels.put(in.readUTF(), in.readInt());
+        }
+        HashMap<String, Long> dataLabels = new HashMap<String, Long>();
+        int dataLabelCount = in.readInt();
+        for (int i = 0; i < dataLabelCount; i++) {
+            dataLabels.put(in.readUTF(), in.readLong());
+        }
+
+        ARMProgram program = new ARMProgram();
+        program.setStatement(statements);
+        program.setUsedRegister(usedRegisters);
+        program.setDataSegment(dataSegment);
+        program.setJumpLabels(jumpLabels);
+        program.setDataLabels(dataLabels);
+        program.decodeStatements();
+        return program;
+    }
+
+    private static void writeRegister(DataOutputStream out, int register) throws IOException {
+        out.writeByte(register); // NO_REGISTER is stored as -1
+    }
+
+    private static int readRegister(DataInputStream in) throws IOException {
+        int id = in.readByte();
+        return id < 0 ? InstructionArguments.NO_REGISTER : id;
+    }
+
+    //// hashing ////
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -2,40 +2,51 @@ package thb.fbi.leguan.parser;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.TreeMap;
 
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.DataSegment;
 import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.data.ProgramStatement;
 import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.instructions.InstructionSet;
 import thb.fbi.leguan.parser.antlr.LegV8BaseVisitor;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.JumpLabelReferenceContext;
+import thb.fbi.leguan.parser.antlr.LegV8Parser.LineContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.MainContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.ProgramContext;
 import thb.fbi.leguan.simulation.Memory;
-import thb.fbi.leguan.simulation.Register;
 
 public class ProgramParser extends LegV8BaseVisitor<ARMProgram> {
 
+    /** instructions the program is assembled with */
+    private final InstructionSet instructionSet;
     /** Map of all entries in the dataSegment (Name, Address) */
     private HashMap<String, Long> dataSegmentVariables = new HashMap<String, Long>();
-    /** TreeMap of all static values being stored in memory defined within the dataSegment (address, value) */
-    private TreeMap<Long, Byte> dataSegment = new TreeMap<Long, Byte>();
+    /** all static values being stored in memory defined within the dataSegment */
+    private DataSegment dataSegment = new DataSegment();
     /** List of all occured semantic Errors (occuring during parser/ non-syntax errors) */
     public ArrayList<ParsingError> semanticErrors = new ArrayList<ParsingError>();
-    /** List of all used registers */
-    private ArrayList<Register> usedRegisters = new ArrayList<Register>();
+    /** List of indices of all used registers */
+    private ArrayList<Integer> usedRegisters = new ArrayList<Integer>();
     /** Map of all (resolved) jump labels */
     private HashMap<String, Integer> jumpMarks = new HashMap<String, Integer>();
     /** Map of all (unresolved) jump label (=labels that were referenced before they were declared aka downward jump */
     private HashMap<Integer, String> unresolvedMarks = new HashMap<Integer, String>();
 
+    public ProgramParser(InstructionSet instructionSet) {
+        this.instructionSet = instructionSet;
+    }
+
     /**
      * clears all arrays and maps
      * resetting errors and found jumpMarks
      */
     public void clear() {
+        dataSegmentVariables.clear();
         semanticErrors.clear();
         usedRegisters.clear();
         jumpMarks.clear();
@@ -54,18 +65,19 @@ public class ProgramParser extends LegV8BaseVisitor<ARMProgram> {
     @Override
     public ARMProgram visitProgram(ProgramContext ctx) {
         // right after code segment starts the static data segment; Use Context to get number of instructions of program beforehand
-        int endOfCodeSegmentAdress = Memory.CODE_SEGMENT_START + ctx.line().size() * Instruction.INSTRUCTION_LENGTH;
-        ParserHelper.setSemanticErrors(this.semanticErrors);
-        DataSegmentParser dataSegmentParser = new DataSegmentParser(dataSegmentVariables, endOfCodeSegmentAdress);
-        ProgramStatementParser statementVisitor = new ProgramStatementParser(usedRegisters, jumpMarks, unresolvedMarks, dataSegmentVariables);
+        List<LineContext> lineContexts = ctx.line(); // ctx.line(i) walks all children, get the list only once
+        int endOfCodeSegmentAdress = Memory.CODE_SEGMENT_START + lineContexts.size() * Instruction.INSTRUCTION_LENGTH;
+        DataSegmentParser dataSegmentParser = new DataSegmentParser(dataSegmentVariables, endOfCodeSegmentAdress, semanticErrors);
+        ProgramStatementParser statementVisitor = new ProgramStatementParser(instructionSet, semanticErrors,
+                usedRegisters, jumpMarks, unresolvedMarks, dataSegmentVariables);
         TreeMap<Integer, ProgramStatement> lines = new TreeMap<Integer, ProgramStatement>();
 
         dataSegment = dataSegmentParser.visitDataSegment(ctx.dataSegment());
 
         int codeAdress = Memory.CODE_SEGMENT_START;
-        for(int i = 0; i < ctx.line().size(); i++) {
+        for(int i = 0; i < lineContexts.size(); i++) {
             statementVisitor.setProgramIndex(codeAdress);
-            ProgramStatement statement = statementVisitor.visitLine(ctx.line(i));
+            ProgramStatement statement = statementVisitor.visitLine(lineContexts.get(i));
             lines.put(codeAdress, statement);
             codeAdress = codeAdress + Instruction.INSTRUCTION_LENGTH;
         }
@@ -78,13 +90,14 @@ public class ProgramParser extends LegV8BaseVisitor<ARMProgram> {
         for (Integer index : unresolvedMarks.keySet()) {
             ProgramStatement statement = lines.get(index);
             InstructionArguments args = statement.getArguments();
+            LineContext line = lineContexts.get((index - Memory.CODE_SEGMENT_START) / Instruction.INSTRUCTION_LENGTH);
 
             if(args.getCond_Br_Address() == -1) {
                 String id = unresolvedMarks.get(index);
                 Integer sourceLine = jumpMarks.get(id);
 
                 if(sourceLine == null) {
-                    addSemanticError(ctx.line(index).condBranchParam().jumpLabelReference().PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
+                    addSemanticError(getConditionalJumpReference(line).PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
                 } else {
                     args.setCond_Br_Address(sourceLine);
                 }
@@ -94,7 +107,7 @@ public class ProgramParser extends LegV8BaseVisitor<ARMProgram> {
                 Integer sourceLine = jumpMarks.get(id);
 
                 if(sourceLine == null) {
-                    addSemanticError(ctx.line(index).branchParam().jumpLabelReference().PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
+                    addSemanticError(line.branchParam().jumpLabelReference().PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
                 } else {
                     args.setBr_Address(sourceLine);
                 }   
@@ -105,9 +118,24 @@ public class ProgramParser extends LegV8BaseVisitor<ARMProgram> {
         program.setDataSegment(dataSegment);
         program.setStatement(lines);
         program.setUsedRegister(statementVisitor.getUsedRegisters());
+        program.setJumpLabels(new HashMap<String, Integer>(jumpMarks));
+        program.setDataLabels(new HashMap<String, Long>(dataSegmentVariables));
+        program.decodeStatements();
         return program;
     }
 
+    /**
+     * gets the label reference of a conditional branch (CBZ/ CBNZ or B.cond)
+     * @param line line containing the conditional branch
+     * @return label reference
+     */
+    static JumpLabelReferenceContext getConditionalJumpReference(LineContext line) {
+        if (line.condBranchParam() != null) {
+            return line.condBranchParam().jumpLabelReference();
+        }
+        return line.b_cond_Param().jumpLabelReference();
+    }
+
     /**
      * helper function for adding parser error to list
      * @param token the token of the parse tree which is responsible for throwing the error 
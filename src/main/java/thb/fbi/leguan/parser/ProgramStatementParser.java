@@ -36,22 +36,34 @@ import thb.fbi.leguan.parser.antlr.LegV8Parser.ShiftInstructionContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.ShiftParamContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.WideImmediateInstructionContext;
 import thb.fbi.leguan.parser.antlr.LegV8Parser.WideImmediateParamContext;
-import thb.fbi.leguan.simulation.Register;
-import thb.fbi.leguan.simulation.Simulator;
-import thb.fbi.leguan.simulation.SimulatorSingleton;
-
+import thb.fbi.leguan.instructions.InstructionSet;
+
+/**
+ * \brief creates the program statements of the lines of a parse tree
+ *
+ * holds no global state: instructions are looked up in the given instruction set, registers are
+ * referenced by index and errors are added to the list of the current assembly.
+ * Instances are not shared, so several programs can be assembled concurrently.
+ */
 public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
-    private static Simulator simulator = SimulatorSingleton.getSimulator();
+    /** index of the zero register (implicit base register of LDR) */
+    public static final int XZR_INDEX = 31;
+
     private int programIndex = 0; // current program statement in list
 
-    private ArrayList<Register> usedRegisters;
+    private final InstructionSet instructionSet;
+    private final ArrayList<ParsingError> errors;
+    private ArrayList<Integer> usedRegisters;
     private HashMap<String, Integer> jumpMarks;
     private HashMap<Integer, String> unresolvedMarks;
     private HashMap<String, Long> dataSegmentVariables;
 
-    public ProgramStatementParser(ArrayList<Register> usedRegisters, HashMap<String, Integer> jumpMarks,
+    public ProgramStatementParser(InstructionSet instructionSet, ArrayList<ParsingError> errors,
+            ArrayList<Integer> usedRegisters, HashMap<String, Integer> jumpMarks,
             HashMap<Integer, String> unresolvedMarks, HashMap<String, Long> dataSegmentVariables) {
+        this.instructionSet = instructionSet;
+        this.errors = errors;
         this.usedRegisters = usedRegisters;
         this.jumpMarks = jumpMarks;
         this.unresolvedMarks = unresolvedMarks;
@@ -88,9 +100,9 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
     /**
      * return list of used registers
      * 
-     * @return list of (used) parsed registers
+     * @return list of indices of (used) parsed registers
      */
-    public ArrayList<Register> getUsedRegisters() {
+    public ArrayList<Integer> getUsedRegisters() {
         return usedRegisters;
     }
 
@@ -122,9 +134,10 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
     /**
      * visits a single register node
      * maps special registers to index
+     * @return index of the register
      */
     @Override
-    public Register visitRegister(RegisterContext ctx) {
+    public Integer visitRegister(RegisterContext ctx) {
         String registerName = ctx.REGISTER().getText();
         int index = 0;
         switch (registerName) {
@@ -145,16 +158,14 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
                 index = Integer.parseInt(registerName);
         }
 
-        Register register = null;
-        try {
-            register = simulator.getRegisters()[index];
-            if (!usedRegisters.contains(register)) {
-                usedRegisters.add(register);
-            }
-        } catch (ArrayIndexOutOfBoundsException e) {
-            ParserHelper.addSemanticError(ctx.REGISTER(), ParsingErrorType.RegisterOutOfRange);
+        if (index > XZR_INDEX) {
+            ParserHelper.addSemanticError(errors, ctx.REGISTER(), ParsingErrorType.RegisterOutOfRange);
+            return InstructionArguments.NO_REGISTER;
+        }
+        if (!usedRegisters.contains(index)) {
+            usedRegisters.add(index);
         }
-        return register;
+        return index;
     }
 
     /**
@@ -175,7 +186,7 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
         try {
             number = Integer.parseInt(numberText, radix);
         } catch (NumberFormatException e) {
-            ParserHelper.addSemanticError(ctx.NUMBER(), ParsingErrorType.NumberFormatException);
+            ParserHelper.addSemanticError(errors, ctx.NUMBER(), ParsingErrorType.NumberFormatException);
         }
         return number;
     }
@@ -186,12 +197,12 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
         id = id.substring(0, id.length() - 1); // remove ":"
         if (ParserHelper.isLabelNameValid(id)) {
             if (jumpMarks.containsKey(id)) {
-                ParserHelper.addSemanticError(ctx.PointerDeclaration(), ParsingErrorType.DoubledJumpLabelDeclaration);
+                ParserHelper.addSemanticError(errors, ctx.PointerDeclaration(), ParsingErrorType.DoubledJumpLabelDeclaration);
             } else {
                 jumpMarks.put(id, this.programIndex);
             }
         } else {
-            ParserHelper.addSemanticError(ctx.PointerDeclaration(), ParsingErrorType.InvalidLabelName);
+            ParserHelper.addSemanticError(errors, ctx.PointerDeclaration(), ParsingErrorType.InvalidLabelName);
         }
         return null;
     }
@@ -207,7 +218,7 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
                 unresolvedMarks.put(this.programIndex, id);
             }
         } else {
-            ParserHelper.addSemanticError(ctx.PointerReference(), ParsingErrorType.InvalidLabelName);
+            ParserHelper.addSemanticError(errors, ctx.PointerReference(), ParsingErrorType.InvalidLabelName);
         }
         return -1;
     }
@@ -220,10 +231,10 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
             if (address != null) {
                 return address;
             } else {
-                ParserHelper.addSemanticError(ctx.PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
+                ParserHelper.addSemanticError(errors, ctx.PointerReference(), ParsingErrorType.UndefinedJumpLabelReference);
             }
         } else {
-            ParserHelper.addSemanticError(ctx.PointerReference(), ParsingErrorType.InvalidLabelName);
+            ParserHelper.addSemanticError(errors, ctx.PointerReference(), ParsingErrorType.InvalidLabelName);
         }
         return -1L;
     }
@@ -235,9 +246,9 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
      * @return
      */
     private Instruction getInstructionByName(String instructionName) {
-        Instruction instruction = simulator.getInstructionSet().findInstructionByMnemonic(instructionName);
+        Instruction instruction = instructionSet.findInstructionByMnemonic(instructionName);
         if(instruction == null) {
-            instruction = simulator.getInstructionSet().findInstructionByMnemonic("NULL");
+            instruction = instructionSet.findInstructionByMnemonic("NULL");
         }
         return instruction;
     }
@@ -310,9 +321,9 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitArithmeticParam(ArithmeticParamContext ctx) {
-        Register Rd = visitRegister(ctx.register(0));
-        Register Rn = visitRegister(ctx.register(1));
-        Register Rm = visitRegister(ctx.register(2));
+        int Rd = visitRegister(ctx.register(0));
+        int Rn = visitRegister(ctx.register(1));
+        int Rm = visitRegister(ctx.register(2));
         InstructionArguments args = new InstructionArguments();
         args.setRd(Rd);
         args.setRn(Rn);
@@ -322,8 +333,8 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitImmediateParam(ImmediateParamContext ctx) {
-        Register Rd = visitRegister(ctx.register(0));
-        Register Rn = visitRegister(ctx.register(1));
+        int Rd = visitRegister(ctx.register(0));
+        int Rn = visitRegister(ctx.register(1));
         int alu_immediate = visitNum(ctx.num());
         InstructionArguments args = new InstructionArguments();
         args.setRd(Rd);
@@ -334,15 +345,15 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitWideImmediateParam(WideImmediateParamContext ctx) {
-        Register Rd = visitRegister(ctx.register());
+        int Rd = visitRegister(ctx.register());
         int immediate = visitNum(ctx.num(0));
         int shamt = visitNum(ctx.num(1));
         // only allows 0, 16, 32 and 48 as shift value
         if (shamt != 0 && shamt != 16 && shamt != 32 && shamt != 48) {
-            ParserHelper.addSemanticError(ctx.num(1).NUMBER(), ParsingErrorType.WideImmediateShiftOutOfRange);
+            ParserHelper.addSemanticError(errors, ctx.num(1).NUMBER(), ParsingErrorType.WideImmediateShiftOutOfRange);
         }
         if (ctx.ShiftInstruction().getText().equals("LSR")) {
-            ParserHelper.addSemanticError(ctx.ShiftInstruction(), ParsingErrorType.WrongShiftforWideImmediate);
+            ParserHelper.addSemanticError(errors, ctx.ShiftInstruction(), ParsingErrorType.WrongShiftforWideImmediate);
         }
         InstructionArguments args = new InstructionArguments();
         args.setRd(Rd);
@@ -353,8 +364,8 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitDatatransferParam(DatatransferParamContext ctx) {
-        Register Rt = visitRegister(ctx.register(0));
-        Register Rn = visitRegister(ctx.register(1));
+        int Rt = visitRegister(ctx.register(0));
+        int Rn = visitRegister(ctx.register(1));
         int dt_address = visitNum(ctx.num());
         InstructionArguments args = new InstructionArguments();
         args.setRt(Rt);
@@ -365,9 +376,9 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitExclusiveParam(ExclusiveParamContext ctx) {
-        Register Rd = visitRegister(ctx.register(0));
-        Register Rn = visitRegister(ctx.register(1));
-        Register Rm = visitRegister(ctx.register(2));
+        int Rd = visitRegister(ctx.register(0));
+        int Rn = visitRegister(ctx.register(1));
+        int Rm = visitRegister(ctx.register(2));
         InstructionArguments args = new InstructionArguments();
         args.setRd(Rd);
         args.setRn(Rn);
@@ -377,7 +388,7 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitCondBranchParam(CondBranchParamContext ctx) {
-        Register Rt = visitRegister(ctx.register());
+        int Rt = visitRegister(ctx.register());
         int cond_br_address = visitJumpLabelReference(ctx.jumpLabelReference());
         InstructionArguments args = new InstructionArguments();
         args.setRt(Rt);
@@ -403,7 +414,7 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitBranchByRegisterParam(BranchByRegisterParamContext ctx) {
-        Register Rt = visitRegister(ctx.register());
+        int Rt = visitRegister(ctx.register());
         InstructionArguments args = new InstructionArguments();
         args.setRt(Rt);
         return args;
@@ -411,8 +422,8 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitShiftParam(ShiftParamContext ctx) {
-        Register Rd = visitRegister(ctx.register(0));
-        Register Rn = visitRegister(ctx.register(1));
+        int Rd = visitRegister(ctx.register(0));
+        int Rn = visitRegister(ctx.register(1));
         int shamt = visitNum(ctx.num());
         InstructionArguments args = new InstructionArguments();
         args.setRd(Rd);
@@ -423,8 +434,8 @@ public class ProgramStatementParser extends LegV8BaseVisitor<Object> {
 
     @Override
     public InstructionArguments visitDataSegmentParam(DataSegmentParamContext ctx) {
-        Register Rt = visitRegister(ctx.register());
-        Register Rn = simulator.getRegisters()[31];
+        int Rt = visitRegister(ctx.register());
+        int Rn = XZR_INDEX;
         long dt_address = visitDataSegmentLabelReference(ctx.dataSegmentLabelReference());
         InstructionArguments args = new InstructionArguments();
         args.setRt(Rt);
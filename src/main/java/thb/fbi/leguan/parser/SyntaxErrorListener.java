@@ -12,12 +12,40 @@ import org.antlr.v4.runtime.Recognizer;
 public class SyntaxErrorListener extends BaseErrorListener {
 
     public ArrayList<ParsingError> syntaxErrors = new ArrayList<ParsingError>();
+    /** maximum number of reported errors, further errors are dropped */
+    private int maxErrors;
+    /** number of dropped errors */
+    private int droppedErrors = 0;
+
+    public SyntaxErrorListener() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public SyntaxErrorListener(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
 
     @Override
     public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
             String msg, RecognitionException e) {
         
-        syntaxErrors.add(new ParsingError(line, charPositionInLine, msg));
+        if (syntaxErrors.size() < maxErrors) {
+            syntaxErrors.add(new ParsingError(line, charPositionInLine, msg));
+        } else {
+            if (droppedErrors == 0) {
+                syntaxErrors.add(new ParsingError(line, charPositionInLine,
+                        "Too many syntax errors, only the first " + maxErrors + " are reported"));
+            }
+            droppedErrors++;
+        }
+    }
+
+    /**
+     * gets the number of errors that were not reported because the maximum was reached
+     * @return number of dropped errors
+     */
+    public int getDroppedErrors() {
+        return droppedErrors;
     }
 
     /**
@@ -25,5 +53,6 @@ public class SyntaxErrorListener extends BaseErrorListener {
      */
     public void clearSyntaxErrors() {
         syntaxErrors.clear();
+        droppedErrors = 0;
     }
 }
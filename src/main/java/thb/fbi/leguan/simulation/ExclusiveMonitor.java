@@ -0,0 +1,154 @@
+package thb.fbi.leguan.simulation;
+
+import java.io.Serializable;
+
+/**
+ * exclusive monitor for LDXR/ STXR (load/ store exclusive)
+ *
+ * modeled on the ARMv8 monitors: every hardware context holds at most one reservation,
+ * tagged by the address of its reservation granule(s). A load exclusive replaces the reservation
+ * of its context, a normal store to a reserved granule marks the reservation as modified,
+ * a store exclusive fails if its reservation was modified and clears it on success.
+ * Stores to memory without any reservation only check a single flag.
+ */
+public class ExclusiveMonitor implements Serializable {
+    /** number of address bits within a reservation granule (8 bytes = one double word) */
+    public static final int GRANULE_BITS = 3;
+    /** number of bytes reserved by a load exclusive */
+    private static final int RESERVATION_SIZE = 8;
+
+    /** indicates if any context holds a reservation (fast path for stores) */
+    private boolean hasReservations = false;
+    /** indicates per context if it holds a reservation */
+    private boolean[] isReserved;
+    /** indicates per context if the reserved granules were written by a normal store */
+    private boolean[] isModified;
+    /** tag of the first reserved granule per context */
+    private long[] firstGranule;
+    /** tag of the last reserved granule per context (differs from first only for unaligned addresses) */
+    private long[] lastGranule;
+    /** number of successful store exclusives */
+    private long successCount = 0;
+    /** number of failed store exclusives */
+    private long failureCount = 0;
+
+    /**
+     * @param contexts number of hardware contexts (processors/ threads) accessing memory
+     */
+    public ExclusiveMonitor(int contexts) {
+        isReserved = new boolean[contexts];
+        isModified = new boolean[contexts];
+        firstGranule = new long[contexts];
+        lastGranule = new long[contexts];
+    }
+
+    /**
+     * copies the reservations and counters of another monitor
+     * @param other monitor to copy
+     */
+    public ExclusiveMonitor(ExclusiveMonitor other) {
+        hasReservations = other.hasReservations;
+        isReserved = other.isReserved.clone();
+        isModified = other.isModified.clone();
+        firstGranule = other.firstGranule.clone();
+        lastGranule = other.lastGranule.clone();
+        successCount = other.successCount;
+        failureCount = other.failureCount;
+    }
+
+    /**
+     * reserves the double word at the address for a context (load exclusive)
+     * replaces a previous reservation of this context
+     * @param context index of the hardware context
+     * @param address address of the double word
+     */
+    public void reserve(int context, long address) {
+        isReserved[context] = true;
+        isModified[context] = false;
+        firstGranule[context] = address >> GRANULE_BITS;
+        lastGranule[context] = (address + RESERVATION_SIZE - 1) >> GRANULE_BITS;
+        hasReservations = true;
+    }
+
+    /**
+     * notifies about a normal store, marks all reservations containing any of the stored bytes as modified
+     * @param address address of the first stored byte
+     * @param size number of stored bytes (1, 2, 4 or 8)
+     */
+    public void store(long address, int size) {
+        if (!hasReservations) {
+            return;
+        }
+        long first = address >> GRANULE_BITS;
+        long last = (address + size - 1) >> GRANULE_BITS;
+        for (int i = 0; i < isReserved.length; i++) {
+            if (isReserved[i] && first <= lastGranule[i] && last >= firstGranule[i]) {
+                isModified[i] = true;
+            }
+        }
+    }
+
+    /**
+     * checks if a store exclusive of a context may be executed and updates the reservation
+     * the store fails only if the context's reservation of the address was modified.
+     * On success the reservation is cleared.
+     * @param context index of the hardware context
+     * @param address address of the double word to store
+     * @return boolean indicating if the store exclusive succeeds
+     */
+    public boolean storeExclusive(int context, long address) {
+        long granule = address >> GRANULE_BITS;
+        boolean isHit = isReserved[context] && granule >= firstGranule[context] && granule <= lastGranule[context];
+        if (isHit && isModified[context]) {
+            failureCount++;
+            return false;
+        }
+        if (isHit) {
+            release(context);
+        }
+        successCount++;
+        return true;
+    }
+
+    /**
+     * clears the reservation of a context
+     * @param context index of the hardware context
+     */
+    private void release(int context) {
+        isReserved[context] = false;
+        isModified[context] = false;
+        hasReservations = false;
+        for (boolean reserved : isReserved) {
+            hasReservations |= reserved;
+        }
+    }
+
+    /**
+     * clears all reservations and counters
+     */
+    public void clear() {
+        for (int i = 0; i < isReserved.length; i++) {
+            isReserved[i] = false;
+            isModified[i] = false;
+        }
+        hasReservations = false;
+        successCount = 0;
+        failureCount = 0;
+    }
+
+    /**
+     * checks if a context holds a reservation
+     * @param context index of the hardware context
+     */
+    public boolean isReserved(int context) {
+        return isReserved[context];
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+}
@@ -0,0 +1,31 @@
+package thb.fbi.leguan.simulation;
+
+/**
+ * Listener Interface for the execution of instructions by the Simulator
+ *
+ * decouples the simulator from the UI, so it can run with or without JavaFX
+ */
+public interface ExecutionListener {
+
+    /**
+     * called before a continuous run (all instructions) is started
+     */
+    public void runStarted();
+
+    /**
+     * called right before a single instruction is executed
+     */
+    public void instructionStarted();
+
+    /**
+     * called right after a single instruction was executed
+     * @param changedRegister index of the register written by the instruction or -1 if none
+     */
+    public void instructionFinished(int changedRegister);
+
+    /**
+     * called after a continuous run (all instructions) has stopped
+     * @param statistics statistics of the run
+     */
+    public void runFinished(RunStatistics statistics);
+}
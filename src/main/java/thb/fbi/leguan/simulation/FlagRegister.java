@@ -16,6 +16,10 @@ public class FlagRegister {
     private static boolean c = false;
     /** Overflow condition flag, Observable for UI */
     private static boolean v = false;
+    /** indicates if notifications are suspended (e.g. while running all instructions) */
+    private static boolean isObserverSuspended = false;
+    /** indicates if flags were changed while notifications are suspended */
+    private static boolean isChangedWhileSuspended = false;
 
     /**
      * set Controller as observer
@@ -33,7 +37,40 @@ public class FlagRegister {
         z = false;
         c = false;
         v = false;
-        observer.update(n, z, c, v);
+        notifyObserver();
+    }
+
+    /**
+     * notifies the observer about the current flags
+     * only remembers the change while notifications are suspended
+     */
+    private static void notifyObserver() {
+        if (isObserverSuspended) {
+            isChangedWhileSuspended = true;
+        } else if (observer != null) {
+            observer.update(n, z, c, v);
+        }
+    }
+
+    /**
+     * suspends notifications of the observer until resumed
+     */
+    public static synchronized void suspendObserver() {
+        isObserverSuspended = true;
+        isChangedWhileSuspended = false;
+    }
+
+    /**
+     * resumes notifications and notifies observer once if flags were changed while suspended
+     */
+    public static synchronized void resumeObserver() {
+        if (!isObserverSuspended) {
+            return;
+        }
+        isObserverSuspended = false;
+        if (isChangedWhileSuspended) {
+            notifyObserver();
+        }
     }
 
     /**
@@ -105,7 +142,7 @@ public class FlagRegister {
         setZFlag(checkZFlag(result));
         setCFlag(checkCFlag(op1, op2));
         setVFlag(checkVFlag(op1, op2, result));
-        observer.update(n, z, c, v);
+        notifyObserver();
     }
 
     /**
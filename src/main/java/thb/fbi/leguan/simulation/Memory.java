@@ -1,261 +1,222 @@
 package thb.fbi.leguan.simulation;
 
-import java.nio.ByteBuffer;
-import java.util.HashMap;
+import java.util.Map;
 import java.util.TreeMap;
 
+import thb.fbi.leguan.data.DataSegment;
+
 /**
  * class for memory storage (only data, instruction is seperate in ProgramStatement)
  */
 public class Memory {
 
-    private static TreeMap<Long, Byte> dataStorage = new TreeMap<Long, Byte>(); // address used as key
-    /** lock addresses; boolean indicates if changed by other store instruction than STXR */
-    private static HashMap<Long, Boolean> lockStorage = new HashMap<Long, Boolean>();
+    /** sparse page table holding all bytes, untouched addresses are read as 0 */
+    private static PageTable dataStorage = new PageTable();
+    /** exclusive monitor for LDXR/ STXR, the simulator is a single hardware context */
+    private static ExclusiveMonitor exclusiveMonitor = new ExclusiveMonitor(1);
+    /** hardware context of the simulator */
+    private static final int CONTEXT = 0;
     /** start of the dynamic data segment (1000 0000 hex) */
     public final static long DATA_SEGMENT_START = 268435456;
     /** start of the code/ text segment (40 0000 hex) */
     public final static int CODE_SEGMENT_START = 4194304; 
 
     private static MemoryObserver observer;
+    /** dirty ranges since the last drain, start address mapped to end address (exclusive) */
+    private static TreeMap<Long, Long> dirtyRanges = new TreeMap<Long, Long>();
+    /** indicates if memory was reset since the last drain */
+    private static boolean isResetPending = false;
 
     /**
-     * resets the memory by clearing the hashmap
+     * resets the memory by dropping all pages
      */
-    public static void reset() {
+    public static synchronized void reset() {
         dataStorage.clear();
-        notifyObserver(-1, -1);
+        exclusiveMonitor.clear();
+        boolean hadPendingChanges = hasPendingChanges();
+        dirtyRanges.clear();
+        isResetPending = true;
+        if (!hadPendingChanges && observer != null) {
+            observer.memoryChanged();
+        }
     }
 
     /**
      * set Controller as observer
      * @param observer controller class that implements the MemoryObserver
      */
-    public static void setObserver(MemoryObserver observer) {
+    public static synchronized void setObserver(MemoryObserver observer) {
         Memory.observer = observer;
     }
 
     /**
-     * notify Observer for changes in HashMap
+     * records a change of memory and notifies the observer if it is the first change since the last drain
+     * @param address first changed address
+     * @param nrOfBytes number of changed bytes
      */
-    public static void notifyObserver(long address, int nrOfBytes) {
-        observer.update(dataStorage, address, nrOfBytes);
+    public static synchronized void notifyObserver(long address, int nrOfBytes) {
+        addChangedRange(address, address + nrOfBytes);
     }
 
     /**
-     * Adds address (double word) to locked storage
-     * @param address address of memory (double word) to lock
+     * records a changed range of memory and notifies the observer if it is the first change since the last drain
+     * @param start first changed address
+     * @param end end address (exclusive)
      */
-    public static void addLockedStorage(long address) {
-        for(int i = 0; i < 8; i++) {
-            lockStorage.put(address+i, false);
+    private static void addChangedRange(long start, long end) {
+        if (observer == null) {
+            return;
+        }
+        boolean hadPendingChanges = hasPendingChanges();
+        addDirtyRange(start, end);
+        if (!hadPendingChanges) {
+            observer.memoryChanged();
         }
     }
 
     /**
-     * update locked storage (STUR** instruction accessed locked memory)
-     * @param address address of memory
-     * @param size number of bytes changed (1, 2, 4 or 8)
+     * checks if there are changes not yet drained
      */
-    public static void updateLockedStorage(long address, int size) {
-        for(int i = 0; i < size; i++) {
-            if(lockStorage.containsKey(address+i)) {
-                lockStorage.put(address+i, true);
-            }
-        }
+    private static boolean hasPendingChanges() {
+        return isResetPending || !dirtyRanges.isEmpty();
     }
 
     /**
-     * check locked storage and returns whether lock storage was changes prior or not
-     * @param address
-     * @return boolean indicating if locked storage was changed by non-STXR instruction
+     * adds a range to the dirty ranges, merging it with overlapping or adjacent ranges
+     * @param start first address
+     * @param end end address (exclusive)
      */
-    public static boolean checkLockedStorage(long address) {
-        for(int i = 0; i < 8; i++) {
-            if(lockStorage.containsKey(address)) {
-                if(lockStorage.get(address)) {
-                    return true;
-                }
+    private static void addDirtyRange(long start, long end) {
+        Map.Entry<Long, Long> previous = dirtyRanges.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            if (previous.getValue() >= end) { // already contained
+                return;
             }
+            start = previous.getKey();
         }
-        return false;
+        Map.Entry<Long, Long> next;
+        while ((next = dirtyRanges.ceilingEntry(start)) != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            dirtyRanges.remove(next.getKey());
+        }
+        dirtyRanges.put(start, end);
     }
 
     /**
-     * clear locked storage
-     * @param address address of memory (double word) to unlock
+     * takes all changes since the last drain
+     * the bytes of the change set are copied at once, so they are consistent with each other
+     * @return changes since the last drain (possibly empty)
      */
-    public static void clearLockedStorage(long address) {
-        for(int i = 0; i < 8; i++) {
-            lockStorage.remove(address+i);
+    public static synchronized MemoryChangeSet drainChanges() {
+        TreeMap<Long, Byte> bytes = new TreeMap<Long, Byte>();
+        for (Map.Entry<Long, Long> range : dirtyRanges.entrySet()) {
+            dataStorage.getWrittenBytes(range.getKey(), range.getValue(), bytes);
         }
+        MemoryChangeSet changes = new MemoryChangeSet(isResetPending, dirtyRanges, bytes);
+        dirtyRanges = new TreeMap<Long, Long>();
+        isResetPending = false;
+        return changes;
     }
 
     /**
      * loads a single Byte from data
-     * @param address to point to memory/ index/ key of hashmap 
+     * @param address to point to memory
      * @return 1 byte value of memory
      */
-    public static byte loadByte(long address) {
-        return getByte(address);
+    public static synchronized byte loadByte(long address) {
+        return dataStorage.loadByte(address);
     }
 
     /**
      * loads 2 Bytes/ half word from data
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @return 2 byte value of memory
      */
-    public static long loadHalfword(long address) {
-        byte[]bytes = new byte[2];
-        for(int i = 0; i < bytes.length; i++) {
-            bytes[i] = getByte(address + i);
-        }
-        return combineBytes(bytes);
+    public static synchronized long loadHalfword(long address) {
+        return dataStorage.loadHalfword(address);
     }
 
     /**
      * loads 4 Bytes/ a word from data
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @return 4 byte value of memory
      */
-    public static long loadWord(long address) {
-        byte[]bytes = new byte[4];
-        for(int i = 0; i < bytes.length; i++) {
-            bytes[i] = getByte(address + i);
-        }
-        return combineBytes(bytes);
+    public static synchronized long loadWord(long address) {
+        return dataStorage.loadWord(address);
     }
 
     /**
      * loads 8 Bytes/ a double word from data
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @return 8 byte value of memory
      */
-    public static long loadDWord(long address) {
-        byte[]bytes = new byte[8];
-        for(int i = 0; i < bytes.length; i++) {
-            bytes[i] = getByte(address + i);
-        }
-        return combineBytes(bytes);
+    public static synchronized long loadDWord(long address) {
+        return dataStorage.loadDWord(address);
     }
 
     /**
      * loads 8 Bytes/ a double word from data and locks the addresses
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @return 8 byte value of memory
      */
-    public static long loadExclusive(long address) {
-        addLockedStorage(address);
-        byte[]bytes = new byte[8];
-        for(int i = 0; i < bytes.length; i++) {
-            bytes[i] = getByte(address + i);
-        }
-        return combineBytes(bytes);
-    }
-
-    /**
-     * gets a single Byte 
-     * 
-     * because the HashMap uses the Byte class instead
-     * of the primitive datatype byte, accessing a empty
-     * index results in a NullpointerException
-     * @param address
-     * @return
-     */
-    private static byte getByte(long address) {
-        Byte data = dataStorage.get(address);
-        if(data == null) {
-            return 0;
-        }
-        return data;
-    }
-
-    /**
-     * combines an array of bytes into a single long value (Big Endian)
-     * ARMv8 supports both Little and Big Endian, this implementation supports BE only
-     * @param bytes array of bytes to be combined, first element will be highest byte
-     * @return bytes combined into a single long value
-     */
-    private static long combineBytes(byte[] bytes) {
-        long result = bytes[0];
-        for(int i = 1; i < bytes.length; i++) {
-            if(bytes[i] < 0) { // when bytes[i] is negative and is casted to long, it will have many leading 1s, changing the bitwise OR operation
-                long b = bytes[i];
-                b = b & 255; // 255 = first 8 bit set
-                result = (((result) << 8) | b);
-            } else {
-                result = (((result) << 8) | bytes[i]); 
-            }
-        }
-        return result;
+    public static synchronized long loadExclusive(long address) {
+        exclusiveMonitor.reserve(CONTEXT, address);
+        return dataStorage.loadDWord(address);
     }
 
     /**
      * puts/ stores a Byte into memory
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @param value to be stored in memory
      */
-    public static void storeByte(long address, byte value) {
-        dataStorage.put(address, value);
-        updateLockedStorage(address, 1);
+    public static synchronized void storeByte(long address, byte value) {
+        dataStorage.storeByte(address, value);
+        exclusiveMonitor.store(address, 1);
         notifyObserver(address, 1);
     }
 
     /**
      * puts/ stores 2 Bytes/ Half word into memory
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @param value to be stored in memory
      */
-    public static void storeHalfword(long address, short value) {
-        byte[] bytes = ByteBuffer.allocate(2).putShort(value).array();
-        for(int i = 0; i < bytes.length; i++) {
-            dataStorage.put(address+i, bytes[i]);
-        }
-        updateLockedStorage(address, 2);
+    public static synchronized void storeHalfword(long address, short value) {
+        dataStorage.storeHalfword(address, value);
+        exclusiveMonitor.store(address, 2);
         notifyObserver(address, 2);
     }
 
     /**
      * puts/ stores 4 Bytes/ a word into memory
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @param value to be stored in memory
      */
-    public static void storeWord(long address, int value) {
-        byte[] bytes = ByteBuffer.allocate(4).putInt(value).array();
-        for(int i = 0; i < bytes.length; i++) {
-            dataStorage.put(address+i, bytes[i]);
-        }
-        updateLockedStorage(address, 4);
+    public static synchronized void storeWord(long address, int value) {
+        dataStorage.storeWord(address, value);
+        exclusiveMonitor.store(address, 4);
         notifyObserver(address, 4);
     }
 
     /**
      * puts/ stores 8 Bytes/ double word into memory
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @param value to be stored in memory
      */
-    public static void storeDWord(long address, long value) {
-        byte[] bytes = ByteBuffer.allocate(8).putLong(value).array();
-        for(int i = 0; i < bytes.length; i++) {
-            dataStorage.put(address+i, bytes[i]);
-        }
-        updateLockedStorage(address, 8);
+    public static synchronized void storeDWord(long address, long value) {
+        dataStorage.storeDWord(address, value);
+        exclusiveMonitor.store(address, 8);
         notifyObserver(address, 8);
     }
 
     /**
      * store double word to memory and return boolean wheter operation was successful or not
-     * @param address to point to memory/ index/ key of hashmap
+     * @param address to point to memory
      * @param value to be stored in memory
      * @return boolean indicating if operation was successful or not 
      */
-    public static boolean storeExclusive(long address, long value) {
-        if(! checkLockedStorage(address)) { // successful operation
-            byte[] bytes = ByteBuffer.allocate(8).putLong(value).array();
-            for(int i = 0; i < bytes.length; i++) {
-                dataStorage.put(address+i, bytes[i]);
-            }
-            clearLockedStorage(address);
+    public static synchronized boolean storeExclusive(long address, long value) {
+        if(exclusiveMonitor.storeExclusive(CONTEXT, address)) { // successful operation
+            dataStorage.storeDWord(address, value);
             notifyObserver(address, 8);
             return true;
         } else { // failed operation
@@ -263,10 +224,30 @@ public class Memory {
         }
     }
 
-    public static void storeDataSegment(TreeMap<Long, Byte> dataSegment) {
-        if(!dataSegment.isEmpty()) {
-            dataStorage.putAll(dataSegment); // can potentially override keys
-            notifyObserver(dataSegment.firstKey(), dataSegment.size());
+    /**
+     * gets the exclusive monitor (e.g. for its success and failure counters)
+     * @return exclusive monitor of memory
+     */
+    public static ExclusiveMonitor getExclusiveMonitor() {
+        return exclusiveMonitor;
+    }
+
+    /**
+     * copies the static data of a program into memory, run by run
+     * reserved ranges are only cleared, their pages are allocated when written first
+     * @param dataSegment data segment of the program
+     */
+    public static synchronized void storeDataSegment(DataSegment dataSegment) {
+        for (DataSegment.Reservation reservation : dataSegment.getReservations()) {
+            if (dataStorage.clearRange(reservation.getAddress(), reservation.getEndAddress())) {
+                // dropped bytes are missing in the snapshot of the dirty range
+                addChangedRange(reservation.getAddress(), reservation.getEndAddress());
+            }
+        }
+        for (DataSegment.Run run : dataSegment.getRuns()) { // can potentially override bytes
+            dataStorage.storeBlock(run.getAddress(), run.getBytes(), 0, run.getLength());
+            exclusiveMonitor.store(run.getAddress(), run.getLength());
+            notifyObserver(run.getAddress(), run.getLength());
         }
     }
 }
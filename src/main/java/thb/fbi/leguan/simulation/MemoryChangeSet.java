@@ -0,0 +1,62 @@
+package thb.fbi.leguan.simulation;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Set of changes made to memory since the last drain
+ *
+ * contains the coalesced dirty address ranges and a snapshot of all written bytes
+ * within these ranges, taken at once so it is consistent even while memory keeps changing.
+ * Addresses within a dirty range that are missing in the snapshot were dropped (e.g. reserved range cleared).
+ */
+public class MemoryChangeSet {
+    /** indicates if memory was reset (all previous values are dropped) */
+    private final boolean isReset;
+    /** non-overlapping dirty ranges, start address mapped to end address (exclusive) */
+    private final TreeMap<Long, Long> ranges;
+    /** snapshot of all written bytes within the dirty ranges */
+    private final TreeMap<Long, Byte> bytes;
+
+    public MemoryChangeSet(boolean isReset, TreeMap<Long, Long> ranges, TreeMap<Long, Byte> bytes) {
+        this.isReset = isReset;
+        this.ranges = ranges;
+        this.bytes = bytes;
+    }
+
+    /**
+     * checks if there are no changes at all
+     */
+    public boolean isEmpty() {
+        return !isReset && ranges.isEmpty();
+    }
+
+    public boolean isReset() {
+        return isReset;
+    }
+
+    public SortedMap<Long, Long> getRanges() {
+        return Collections.unmodifiableSortedMap(ranges);
+    }
+
+    public SortedMap<Long, Byte> getBytes() {
+        return Collections.unmodifiableSortedMap(bytes);
+    }
+
+    /**
+     * gets the lowest changed address
+     * @return lowest address or -1 if no range changed
+     */
+    public long getLowestAddress() {
+        return ranges.isEmpty() ? -1 : ranges.firstKey();
+    }
+
+    /**
+     * gets the highest changed address
+     * @return highest address (inclusive) or -1 if no range changed
+     */
+    public long getHighestAddress() {
+        return ranges.isEmpty() ? -1 : ranges.lastEntry().getValue() - 1;
+    }
+}
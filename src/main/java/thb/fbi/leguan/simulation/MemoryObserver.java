@@ -1,10 +1,16 @@
 package thb.fbi.leguan.simulation;
 
-import java.util.TreeMap;
-
 /**
  * Observer Interface specifically for Memory and its Controller
+ *
+ * memory only signals that changes are pending, the observer fetches them as
+ * a compact MemoryChangeSet via Memory.drainChanges() (e.g. on the next UI pulse).
+ * Until then all further changes are coalesced and the observer is not notified again.
  */
 public interface MemoryObserver {
-    public void update(TreeMap<Long, Byte> newData, long changedAddress, int changedBytes);
+    /**
+     * called when memory changed for the first time after the last drain
+     * may be called from any thread (the thread changing the memory)
+     */
+    public void memoryChanged();
 }
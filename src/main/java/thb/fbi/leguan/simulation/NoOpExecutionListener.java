@@ -0,0 +1,24 @@
+package thb.fbi.leguan.simulation;
+
+/**
+ * default ExecutionListener of the Simulator which ignores all events
+ * used when running without UI (headless)
+ */
+public class NoOpExecutionListener implements ExecutionListener {
+
+    @Override
+    public void runStarted() {
+    }
+
+    @Override
+    public void instructionStarted() {
+    }
+
+    @Override
+    public void instructionFinished(int changedRegister) {
+    }
+
+    @Override
+    public void runFinished(RunStatistics statistics) {
+    }
+}
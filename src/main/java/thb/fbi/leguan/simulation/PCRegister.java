@@ -6,16 +6,34 @@ import thb.fbi.leguan.instructions.Instruction;
  * class for special register PC (Program Count)
  */
 public class PCRegister extends Register {
+    /** address used by the simulation, published to UI on synchronizeValue */
+    private long address;
 
     public PCRegister(String name, long value, int id) {
         super("PC", value, id);
+        this.address = value;
     }
 
     /**
      * increase the program count by Instruction.INSTRUCTION_LENGTH
+     * (UI is not updated until synchronizeValue is called)
      */
     public void increase() {
-        setValue(valueProperty.get() + Instruction.INSTRUCTION_LENGTH);
+        address += Instruction.INSTRUCTION_LENGTH;
+    }
+
+    /**
+     * sets the program count to a new address (e.g. by branching)
+     * (UI is not updated until synchronizeValue is called)
+     * @param address new address
+     */
+    public void branch(long address) {
+        this.address = address;
+    }
+
+    @Override
+    public long getValue() {
+        return address;
     }
 
     /** 
@@ -23,10 +41,22 @@ public class PCRegister extends Register {
      */
     @Override
     public synchronized void setValue(long value) {
+        address = value;
         valueProperty.set(value);
         super.updateShownValue(value);
     }
 
+    /**
+     * publishes the current address to the UI
+     */
+    @Override
+    public synchronized void synchronizeValue() {
+        if (address != valueProperty.get()) {
+            valueProperty.set(address);
+            super.updateShownValue(address);
+        }
+    }
+
     /** 
      * when NumberFormat changes update the shown value in UI 
      */
@@ -0,0 +1,350 @@
+package thb.fbi.leguan.simulation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * sparse page table used as backing storage for memory
+ *
+ * memory is split into fixed-size pages of primitive bytes which are allocated on first write.
+ * Untouched addresses are read as 0. Halfwords, words and double words lying within a single page
+ * are read and written with one big endian access, only accesses crossing a page boundary fall back
+ * to single bytes.
+ */
+public class PageTable {
+    /** number of address bits used as offset within a page */
+    public static final int PAGE_BITS = 12;
+    /** size of a single page in bytes (4 KiB) */
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+    /** mask for the offset within a page */
+    private static final long OFFSET_MASK = PAGE_SIZE - 1;
+
+    /** big endian views onto the byte array of a page (ARMv8 supports both, this implementation supports BE only) */
+    private static final VarHandle SHORT_VIEW = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /** allocated pages, page number (address >> PAGE_BITS) used as key */
+    private TreeMap<Long, Page> pages = new TreeMap<Long, Page>();
+    /** page number of the last accessed page, saves the lookup for consecutive accesses */
+    private long lastPageNumber;
+    /** last accessed page (null when no page is cached) */
+    private Page lastPage = null;
+
+    /**
+     * a single page of memory
+     */
+    private static class Page {
+        /** content of the page */
+        private final byte[] data = new byte[PAGE_SIZE];
+        /** bitmap of all bytes that were written at least once (used for displaying memory) */
+        private final long[] written = new long[PAGE_SIZE / Long.SIZE];
+
+        /**
+         * marks a number of bytes as written
+         * @param offset offset of first byte within the page
+         * @param size number of bytes
+         */
+        private void markWritten(int offset, int size) {
+            for (int i = offset; i < offset + size; i++) {
+                written[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * removes all pages
+     */
+    public void clear() {
+        pages.clear();
+        lastPage = null;
+    }
+
+    /**
+     * gets the number of allocated pages
+     * @return number of allocated pages
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * gets the page containing the address
+     * @param address address within the page
+     * @param allocate if true missing pages will be allocated
+     * @return page or null if page does not exist and allocate is false
+     */
+    private Page getPage(long address, boolean allocate) {
+        long pageNumber = address >> PAGE_BITS;
+        if (lastPage != null && lastPageNumber == pageNumber) {
+            return lastPage;
+        }
+        Page page = pages.get(pageNumber);
+        if (page == null) {
+            if (!allocate) {
+                return null;
+            }
+            page = new Page();
+            pages.put(pageNumber, page);
+        }
+        lastPageNumber = pageNumber;
+        lastPage = page;
+        return page;
+    }
+
+    /**
+     * checks if an access of the given size stays within a single page
+     */
+    private static boolean isWithinPage(int offset, int size) {
+        return offset <= PAGE_SIZE - size;
+    }
+
+    /**
+     * loads a single byte
+     * @param address address of byte
+     * @return byte value, 0 when untouched
+     */
+    public byte loadByte(long address) {
+        Page page = getPage(address, false);
+        if (page == null) {
+            return 0;
+        }
+        return page.data[(int) (address & OFFSET_MASK)];
+    }
+
+    /**
+     * loads 2 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @return halfword value
+     */
+    public short loadHalfword(long address) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 2)) {
+            Page page = getPage(address, false);
+            return page == null ? 0 : (short) SHORT_VIEW.get(page.data, offset);
+        }
+        return (short) loadBytes(address, 2);
+    }
+
+    /**
+     * loads 4 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @return word value
+     */
+    public int loadWord(long address) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 4)) {
+            Page page = getPage(address, false);
+            return page == null ? 0 : (int) INT_VIEW.get(page.data, offset);
+        }
+        return (int) loadBytes(address, 4);
+    }
+
+    /**
+     * loads 8 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @return double word value
+     */
+    public long loadDWord(long address) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 8)) {
+            Page page = getPage(address, false);
+            return page == null ? 0 : (long) LONG_VIEW.get(page.data, offset);
+        }
+        return loadBytes(address, 8);
+    }
+
+    /**
+     * loads bytes one by one, used for accesses crossing a page boundary
+     * @param address address of first (highest) byte
+     * @param size number of bytes
+     * @return bytes combined into a single value (Big Endian, not sign extended)
+     */
+    private long loadBytes(long address, int size) {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            result = (result << 8) | (loadByte(address + i) & 0xFF);
+        }
+        return result;
+    }
+
+    /**
+     * stores a single byte
+     * @param address address of byte
+     * @param value value to store
+     */
+    public void storeByte(long address, byte value) {
+        Page page = getPage(address, true);
+        int offset = (int) (address & OFFSET_MASK);
+        page.data[offset] = value;
+        page.markWritten(offset, 1);
+    }
+
+    /**
+     * stores 2 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @param value value to store
+     */
+    public void storeHalfword(long address, short value) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 2)) {
+            Page page = getPage(address, true);
+            SHORT_VIEW.set(page.data, offset, value);
+            page.markWritten(offset, 2);
+        } else {
+            storeBytes(address, value, 2);
+        }
+    }
+
+    /**
+     * stores 4 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @param value value to store
+     */
+    public void storeWord(long address, int value) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 4)) {
+            Page page = getPage(address, true);
+            INT_VIEW.set(page.data, offset, value);
+            page.markWritten(offset, 4);
+        } else {
+            storeBytes(address, value, 4);
+        }
+    }
+
+    /**
+     * stores 8 bytes (Big Endian)
+     * @param address address of first (highest) byte
+     * @param value value to store
+     */
+    public void storeDWord(long address, long value) {
+        int offset = (int) (address & OFFSET_MASK);
+        if (isWithinPage(offset, 8)) {
+            Page page = getPage(address, true);
+            LONG_VIEW.set(page.data, offset, value);
+            page.markWritten(offset, 8);
+        } else {
+            storeBytes(address, value, 8);
+        }
+    }
+
+    /**
+     * copies a block of bytes into memory, page by page
+     * @param address address of the first byte
+     * @param bytes source array
+     * @param offset offset of the first byte within the source array
+     * @param length number of bytes to copy
+     */
+    public void storeBlock(long address, byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            Page page = getPage(address, true);
+            int pageOffset = (int) (address & OFFSET_MASK);
+            int chunk = Math.min(length, PAGE_SIZE - pageOffset);
+            System.arraycopy(bytes, offset, page.data, pageOffset, chunk);
+            page.markWritten(pageOffset, chunk);
+            address += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * sets an address range back to untouched (read as 0), pages lying completely within the range are dropped
+     * costs depend on the number of allocated pages within the range, not on its size
+     * @param start first address
+     * @param end end address (exclusive)
+     * @return boolean indicating if any allocated page was affected
+     */
+    public boolean clearRange(long start, long end) {
+        if (end <= start) {
+            return false;
+        }
+        long first = start >> PAGE_BITS;
+        long last = (end - 1) >> PAGE_BITS;
+        ArrayList<Long> affected = new ArrayList<Long>(pages.subMap(first, true, last, true).keySet());
+        for (long pageNumber : affected) {
+            long pageStart = pageNumber << PAGE_BITS;
+            int from = (int) Math.max(0, start - pageStart);
+            int to = (int) Math.min(PAGE_SIZE, end - pageStart);
+            if (from == 0 && to == PAGE_SIZE) {
+                pages.remove(pageNumber);
+            } else {
+                Page page = pages.get(pageNumber);
+                Arrays.fill(page.data, from, to, (byte) 0);
+                for (int i = from; i < to; i++) {
+                    page.written[i >>> 6] &= ~(1L << i);
+                }
+            }
+        }
+        lastPage = null; // might have been dropped
+        return !affected.isEmpty();
+    }
+
+    /**
+     * stores bytes one by one, used for accesses crossing a page boundary
+     * @param address address of first (highest) byte
+     * @param value value to store, lowest size bytes are used
+     * @param size number of bytes
+     */
+    private void storeBytes(long address, long value, int size) {
+        for (int i = 0; i < size; i++) {
+            storeByte(address + i, (byte) (value >>> ((size - 1 - i) * 8)));
+        }
+    }
+
+    /**
+     * gets all bytes that were written at least once, sorted by address
+     * @return map of address and byte value
+     */
+    public TreeMap<Long, Byte> getWrittenBytes() {
+        TreeMap<Long, Byte> bytes = new TreeMap<Long, Byte>();
+        for (Map.Entry<Long, Page> entry : pages.entrySet()) {
+            long pageStart = entry.getKey() << PAGE_BITS;
+            addWrittenBytes(entry.getValue(), pageStart, 0, PAGE_SIZE, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * adds all bytes within a range that were written at least once
+     * @param start first address of the range
+     * @param end end of the range (exclusive)
+     * @param bytes map the bytes are added to
+     */
+    public void getWrittenBytes(long start, long end, TreeMap<Long, Byte> bytes) {
+        long firstPage = start >> PAGE_BITS;
+        long lastPage = (end - 1) >> PAGE_BITS;
+        for (Map.Entry<Long, Page> entry : pages.subMap(firstPage, true, lastPage, true).entrySet()) {
+            long pageStart = entry.getKey() << PAGE_BITS;
+            int from = (int) Math.max(0, start - pageStart);
+            int to = (int) Math.min(PAGE_SIZE, end - pageStart);
+            addWrittenBytes(entry.getValue(), pageStart, from, to, bytes);
+        }
+    }
+
+    /**
+     * adds the written bytes of a page within an offset range
+     * @param page page to read
+     * @param pageStart address of the first byte of the page
+     * @param from first offset
+     * @param to end offset (exclusive)
+     * @param bytes map the bytes are added to
+     */
+    private static void addWrittenBytes(Page page, long pageStart, int from, int to, TreeMap<Long, Byte> bytes) {
+        for (int i = from >>> 6; i < page.written.length && i * Long.SIZE < to; i++) {
+            long bits = page.written[i];
+            while (bits != 0) {
+                int offset = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                if (offset >= from && offset < to) {
+                    bytes.put(pageStart + offset, page.data[offset]);
+                }
+                bits &= bits - 1; // clear lowest set bit
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package thb.fbi.leguan.simulation;
 
 import java.text.NumberFormat;
+import java.util.Locale;
 
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleLongProperty;
@@ -16,7 +17,9 @@ public class Register {
     protected String name;
     /** number/ id/ index of the register */
     protected int id;
-    /** value in the register, Property instead of primitive for easier updating UI */
+    /** register file holding the actual value used by the simulation (index = id), null if the property holds the value */
+    protected long[] registerFile;
+    /** value in the register as shown in UI, Property instead of primitive for easier updating UI */
     protected SimpleLongProperty valueProperty = new SimpleLongProperty(0);
     /** Property for indicating if register is in use or can be grayed out in UI */
     private SimpleBooleanProperty isUsed = new SimpleBooleanProperty(true);
@@ -24,6 +27,10 @@ public class Register {
     protected SimpleStringProperty shownValue = new SimpleStringProperty("0");
     /** format of value to be shown can be either binary, decimal or hexadecimal */
     protected Base numberFormat = Base.DEC;
+    /** cached format for decimal values (recreated when default Locale changes) */
+    private NumberFormat decimalFormat;
+    /** Locale of the cached decimal format */
+    private Locale decimalFormatLocale;
 
     public Register(String name, long value, int id) {
         this.name = name;
@@ -31,6 +38,28 @@ public class Register {
         valueProperty.set(value);
     }
 
+    /**
+     * creates a register backed by a register file
+     * @param name name of the register
+     * @param registerFile register file used by the simulation, holds the value at index id
+     * @param id number/ index of the register
+     */
+    public Register(String name, long[] registerFile, int id) {
+        this(name, registerFile[id], id);
+        this.registerFile = registerFile;
+    }
+
+    /**
+     * publishes the value of the register file to the properties (UI)
+     * does nothing if the value has not changed since the last update
+     */
+    public synchronized void synchronizeValue() {
+        if (registerFile != null && registerFile[id] != valueProperty.get()) {
+            valueProperty.set(registerFile[id]);
+            updateShownValue();
+        }
+    }
+
     /**
      * Updates the shown value in UI
      */
@@ -78,12 +107,24 @@ public class Register {
                 throw new IllegalArgumentException("Usage of ASCII in register is not yet supported");
             case DEC: // signed decimal
             default:
-                NumberFormat nf = NumberFormat.getInstance();
-                this.shownValue.set("" + nf.format(value));
+                this.shownValue.set(getDecimalFormat().format(value));
                 break;
         }
     }
 
+    /**
+     * gets the format for decimal values of the current Locale
+     * creating a NumberFormat is expensive, so it is only created once per Locale
+     */
+    private NumberFormat getDecimalFormat() {
+        Locale locale = Locale.getDefault();
+        if (decimalFormat == null || !locale.equals(decimalFormatLocale)) {
+            decimalFormat = NumberFormat.getInstance(locale);
+            decimalFormatLocale = locale;
+        }
+        return decimalFormat;
+    }
+
     public String getName() {
         return name;
     }
@@ -96,7 +137,14 @@ public class Register {
         return valueProperty;
     }
 
+    /**
+     * gets the current value of the register (may be ahead of the value shown in UI)
+     * @return value of the register
+     */
     public long getValue() {
+        if (registerFile != null) {
+            return registerFile[id];
+        }
         return valueProperty.get();
     }
 
@@ -116,6 +164,9 @@ public class Register {
      * when value of register changes update shown value in UI 
      */
     public synchronized void setValue(long value) {
+        if (registerFile != null) {
+            registerFile[id] = value;
+        }
         valueProperty.set(value);
         updateShownValue();
     }
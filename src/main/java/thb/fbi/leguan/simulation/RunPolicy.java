@@ -0,0 +1,73 @@
+package thb.fbi.leguan.simulation;
+
+/**
+ * Policy limiting a continuous run of the simulator
+ *
+ * a run stops when the program ends, when one of the limits is reached
+ * or when it is stopped/ paused by the user
+ */
+public class RunPolicy {
+    /** value for a limit that is not set */
+    public static final long UNLIMITED = 0;
+    /** default time limit in milliseconds (prevents endless loops in UI) */
+    public static final long DEFAULT_TIME_LIMIT = 10000;
+
+    /** maximum number of instructions to execute, UNLIMITED for no limit */
+    private long instructionLimit;
+    /** maximum wall-clock time of the run in milliseconds, UNLIMITED for no limit */
+    private long timeLimit;
+
+    /**
+     * creates an unlimited policy (run can only be stopped by stopThread or pause)
+     */
+    public RunPolicy() {
+        this(UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * @param instructionLimit maximum number of instructions, UNLIMITED for no limit
+     * @param timeLimit maximum wall-clock time in milliseconds, UNLIMITED for no limit
+     */
+    public RunPolicy(long instructionLimit, long timeLimit) {
+        setInstructionLimit(instructionLimit);
+        setTimeLimit(timeLimit);
+    }
+
+    /**
+     * gets the default policy used by the UI (only limited by time)
+     * @return new default policy
+     */
+    public static RunPolicy getDefault() {
+        return new RunPolicy(UNLIMITED, DEFAULT_TIME_LIMIT);
+    }
+
+    public boolean hasInstructionLimit() {
+        return instructionLimit != UNLIMITED;
+    }
+
+    public boolean hasTimeLimit() {
+        return timeLimit != UNLIMITED;
+    }
+
+    public long getInstructionLimit() {
+        return instructionLimit;
+    }
+
+    public void setInstructionLimit(long instructionLimit) {
+        if (instructionLimit < 0) {
+            throw new IllegalArgumentException("Instruction limit must not be negative");
+        }
+        this.instructionLimit = instructionLimit;
+    }
+
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    public void setTimeLimit(long timeLimit) {
+        if (timeLimit < 0) {
+            throw new IllegalArgumentException("Time limit must not be negative");
+        }
+        this.timeLimit = timeLimit;
+    }
+}
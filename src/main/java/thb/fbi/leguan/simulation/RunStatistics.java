@@ -0,0 +1,92 @@
+package thb.fbi.leguan.simulation;
+
+/**
+ * Statistics of a continuous run of the simulator
+ *
+ * a paused run keeps its statistics, so they are accumulated when resumed
+ */
+public class RunStatistics {
+    /** policy the run was started with */
+    private RunPolicy policy;
+    /** number of executed instructions */
+    private long instructions = 0;
+    /** elapsed wall-clock time in nanoseconds */
+    private long elapsedNanos = 0;
+    /** reason the run stopped, null while running */
+    private StopReason stopReason = null;
+
+    public RunStatistics(RunPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * gets the number of executed instructions per second
+     * @return instructions per second, 0 if no time elapsed
+     */
+    public double getInstructionsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return instructions * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * checks if the instruction limit of the policy is reached
+     */
+    public boolean isInstructionLimitReached() {
+        return policy.hasInstructionLimit() && instructions >= policy.getInstructionLimit();
+    }
+
+    /**
+     * checks if the time limit of the policy is reached
+     * @param runningNanos time of the current run segment not yet added
+     */
+    public boolean isTimeLimitReached(long runningNanos) {
+        return policy.hasTimeLimit() && (elapsedNanos + runningNanos) / 1000000 >= policy.getTimeLimit();
+    }
+
+    /**
+     * gets the number of instructions left until the instruction limit is reached
+     * @return remaining instructions, Long.MAX_VALUE if unlimited
+     */
+    public long getRemainingInstructions() {
+        if (!policy.hasInstructionLimit()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, policy.getInstructionLimit() - instructions);
+    }
+
+    protected void addInstructions(long instructions) {
+        this.instructions += instructions;
+    }
+
+    protected void addElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos += elapsedNanos;
+    }
+
+    protected void setStopReason(StopReason stopReason) {
+        this.stopReason = stopReason;
+    }
+
+    public RunPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getInstructions() {
+        return instructions;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d instructions executed in %.3f s (%.0f instructions/s), stop reason: %s",
+                instructions, elapsedNanos / 1e9, getInstructionsPerSecond(), stopReason);
+    }
+}
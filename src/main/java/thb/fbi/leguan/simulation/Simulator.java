@@ -1,26 +1,30 @@
 package thb.fbi.leguan.simulation;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
-import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTree;
+import java.util.concurrent.ForkJoinPool;
 
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
-import thb.fbi.leguan.controller.MemoryController;
-import thb.fbi.leguan.controller.RegisterPaneController;
 import thb.fbi.leguan.data.ARMProgram;
-import thb.fbi.leguan.data.ProgramStatement;
-import thb.fbi.leguan.instructions.Instruction;
+import thb.fbi.leguan.data.DecodedInstruction;
 import thb.fbi.leguan.instructions.InstructionSet;
+import thb.fbi.leguan.parser.DocumentModel;
+import thb.fbi.leguan.parser.Assembler;
+import thb.fbi.leguan.parser.AssemblyResult;
+import thb.fbi.leguan.parser.IncrementalAssembler;
+import thb.fbi.leguan.parser.MachineCodeLoader;
+import thb.fbi.leguan.parser.MappedCharStream;
+import thb.fbi.leguan.parser.ParallelAssembler;
+import thb.fbi.leguan.parser.ParseStatistics;
+import thb.fbi.leguan.parser.ParsedDocument;
 import thb.fbi.leguan.parser.ParsingError;
+import thb.fbi.leguan.parser.ProgramCache;
 import thb.fbi.leguan.parser.ProgramParser;
-import thb.fbi.leguan.parser.SyntaxErrorListener;
-import thb.fbi.leguan.parser.antlr.LegV8Lexer;
-import thb.fbi.leguan.parser.antlr.LegV8Parser;
 import thb.fbi.leguan.utility.ExecutorServiceProvider;
 
 /** 
@@ -32,7 +36,9 @@ public class Simulator {
     private InstructionSet instructionSet = new InstructionSet();
     /** number of registers */
     public final int registerNr = 32;
-    /** array of accessible regsiters */
+    /** register file used by the simulation (architectural state) */
+    private long[] registerFile;
+    /** array of accessible regsiters (model for UI, backed by registerFile) */
     private Register[] registers;
     /** programm counter */
     private PCRegister pc = new PCRegister("PC", Memory.CODE_SEGMENT_START, -1);
@@ -40,34 +46,52 @@ public class Simulator {
     private FlagRegister flagRegister = new FlagRegister();
     /** program to execute */
     private ARMProgram program;
-    /** Listener for Syntax Errors */
-    private SyntaxErrorListener syntaxErrorListener;
-    /** Visitor for Syntax Tree */
-    private ProgramParser programParser;
+    /** lexed and parsed versions of the code (shared with syntax highlighting) */
+    private DocumentModel documentModel = new DocumentModel();
+    /** errors of the last assembly (syntax errors, otherwise semantic errors) */
+    private ArrayList<ParsingError> errors = new ArrayList<ParsingError>();
+    /** result of the last applied assembly, null if nothing was assembled yet */
+    private AssemblyResult lastAssembly = null;
+    /** timings of the last full parse, null if nothing was parsed yet */
+    private ParseStatistics lastParseStatistics = null;
+    /** assembler re-parsing only the changed lines of code */
+    private IncrementalAssembler incrementalAssembler;
+    /** on-disk cache of assembled programs, null if disabled (disabled unless set, @see setProgramCache) */
+    private ProgramCache programCache;
     /** Executor for delegating threads */
     private ExecutorService executor;
+    /** number of instructions executed between checking limits and stop/ pause requests */
+    private static final long INSTRUCTION_SLICE = 4096;
     /** boolean for endless loop when running all code */
     private SimpleBooleanProperty isRunning = new SimpleBooleanProperty(false);
+    /** request to stop the current run (cooperative cancellation) */
+    private volatile boolean isStopRequested = false;
+    /** request to pause the current run */
+    private volatile boolean isPauseRequested = false;
+    /** policy used by runAllInstructions */
+    private RunPolicy runPolicy = RunPolicy.getDefault();
+    /** statistics of the paused run, null if no run is paused */
+    private volatile RunStatistics pausedRun = null;
+    /** statistics of the last finished run */
+    private volatile RunStatistics lastRunStatistics = null;
     /** boolean indicating code is changed (and unparsed) */
     private SimpleBooleanProperty isCodeChanged = new SimpleBooleanProperty(true);
     /** boolean indicating code is correct and parse */
     private SimpleBooleanProperty isCodeParsed = new SimpleBooleanProperty(false);;
-
-    protected static RegisterPaneController registerPaneController;
-
-    protected static MemoryController memoryController;
+    /** listener notified about executed instructions (e.g. to update the UI) */
+    private ExecutionListener executionListener = new NoOpExecutionListener();
 
     public Simulator() {
+        registerFile = new long[registerNr];
         registers = new Register[registerNr];
         instructionSet.populate();
         for (int i = 0; i < registers.length; i++) {
-            registers[i] = new Register("X"+i, 0, i);
+            registers[i] = new Register("X"+i, registerFile, i);
             registers[i].setNumberFormat(Base.DEC);
         }
         pc.setValue(Memory.CODE_SEGMENT_START);
         this.program = new ARMProgram();
-        syntaxErrorListener = new SyntaxErrorListener();
-        programParser = new ProgramParser();
+        incrementalAssembler = new IncrementalAssembler(instructionSet);
         executor = ExecutorServiceProvider.getExecutorService();
 
         isCodeChanged.addListener(new ChangeListener<Boolean>() {
@@ -88,7 +112,7 @@ public class Simulator {
      */
     public void updateShownRegisters() {
         for (Register r : registers) {
-            if(! program.getUsedRegisters().contains(r)) {
+            if(! program.getUsedRegisters().contains(r.getID())) {
                 r.setIsUsed(false);
             } else {
                 r.setIsUsed(true);
@@ -102,42 +126,148 @@ public class Simulator {
      */
     public int forwardStep() {
         runNextInstruction();
+        synchronizeRegisters();
 
         // get source line of next instruction
-        ProgramStatement nextStatement = program.getProgramStatement((int) pc.getValue());
-        if(nextStatement != null) {
-            return nextStatement.getSourceLine();
+        DecodedInstruction nextInstruction = program.getDecodedInstruction(pc.getValue());
+        if(nextInstruction != null) {
+            return nextInstruction.getSourceLine();
         }
         return -1;
     }
 
     /**
-     * parses and executes the whole written code 
-     * @param code written text to parse
+     * executes the whole parsed program in a background thread using the set run policy
      */
     public void runAllInstructions() {
+        runAllInstructions(runPolicy);
+    }
+
+    /**
+     * executes the whole parsed program in a background thread
+     * @param policy policy limiting the run
+     */
+    public void runAllInstructions(RunPolicy policy) {
+        RunStatistics statistics = startRun(policy);
         executor.execute(new Runnable() {
             @Override
             public void run() {
-                runCode();
+                runCode(statistics);
             }
         });
     }
 
     /**
-     * executes whole parsed program 
-     * has hidden failsafe mechnism - preventing endless loops
+     * resumes a paused run in a background thread (keeping its statistics and remaining limits)
+     * does nothing if no run is paused
      */
-    private void runCode() {
-        isRunning.set(true);
-        int failsafe = 0;
+    public void resume() {
+        RunStatistics statistics = startResume();
+        if (statistics != null) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runCode(statistics);
+                }
+            });
+        }
+    }
+
+    /**
+     * executes the whole parsed program in the calling thread (headless use)
+     * @param policy policy limiting the run
+     * @return statistics of the run
+     */
+    public RunStatistics run(RunPolicy policy) {
+        return runCode(startRun(policy));
+    }
+
+    /**
+     * resumes a paused run in the calling thread (headless use)
+     * @return statistics of the run or null if no run is paused
+     */
+    public RunStatistics resumeRun() {
+        RunStatistics statistics = startResume();
+        if (statistics == null) {
+            return null;
+        }
+        return runCode(statistics);
+    }
+
+    /**
+     * prepares a new run, drops a paused run
+     */
+    private RunStatistics startRun(RunPolicy policy) {
+        pausedRun = null;
+        isStopRequested = false;
+        isPauseRequested = false;
+        return new RunStatistics(policy);
+    }
 
-        while(isRunning.get() && failsafe < 50000) {
-            failsafe++;
-            if(! runNextInstruction()) {
-                isRunning.set(false);
+    /**
+     * prepares resuming the paused run
+     * @return statistics of the paused run or null if no run is paused
+     */
+    private RunStatistics startResume() {
+        RunStatistics statistics = pausedRun;
+        pausedRun = null;
+        isStopRequested = false;
+        isPauseRequested = false;
+        return statistics;
+    }
+
+    /**
+     * executes the program until it ends, a limit of the policy is reached or it gets stopped/ paused
+     * instructions are executed in slices, limits and requests are checked between slices
+     * @param statistics statistics of the run (contains the policy)
+     * @return statistics of the run
+     */
+    private RunStatistics runCode(RunStatistics statistics) {
+        isRunning.set(true);
+        executionListener.runStarted();
+        StopReason stopReason = null;
+        long start = System.nanoTime();
+
+        try {
+            while(stopReason == null) {
+                long slice = Math.min(INSTRUCTION_SLICE, statistics.getRemainingInstructions());
+                long executed = 0;
+                while(executed < slice && !isStopRequested && !isPauseRequested) {
+                    if(! runNextInstruction()) {
+                        stopReason = StopReason.FINISHED;
+                        break;
+                    }
+                    executed++;
+                }
+                statistics.addInstructions(executed);
+
+                if(stopReason != null) {
+                    break;
+                } else if(isStopRequested) {
+                    stopReason = StopReason.STOPPED;
+                } else if(isPauseRequested) {
+                    stopReason = StopReason.PAUSED;
+                } else if(statistics.isInstructionLimitReached()) {
+                    stopReason = StopReason.INSTRUCTION_LIMIT;
+                } else if(statistics.isTimeLimitReached(System.nanoTime() - start)) {
+                    stopReason = StopReason.TIME_LIMIT;
+                }
+            }
+        } finally {
+            statistics.addElapsedNanos(System.nanoTime() - start);
+            if(stopReason == null) { // aborted by an exception
+                stopReason = StopReason.STOPPED;
+            }
+            statistics.setStopReason(stopReason);
+            if(stopReason == StopReason.PAUSED) {
+                pausedRun = statistics;
             }
+            lastRunStatistics = statistics;
+            isRunning.set(false);
+            synchronizeRegisters();
+            executionListener.runFinished(statistics);
         }
+        return statistics;
     }
 
     /**
@@ -145,30 +275,28 @@ public class Simulator {
      * @return boolean indicating if an instruction was executed or not (statement/ instruction was null)
      */
     private boolean runNextInstruction() {
-        ProgramStatement statement = program.getProgramStatement((int) pc.getValue());
-        if(statement != null) {
-            Instruction instruction = statement.getInstruction();
-            if(instruction != null) {
-                // update UI Highlighting
-                registerPaneController.clearFlagHighlighting();
-                memoryController.clearMemoryHighlighting();
-
-                instruction.simulate(statement.getArguments(), pc);
-
-                // set highlighting for specific a specific registerbox
-                if(statement.getArguments().getRd() != null) {
-                    registerPaneController.updateRegisterHighlighting(statement.getArguments().getRd().getID());
-                } else if(statement.getArguments().getRt() != null) {
-                    registerPaneController.updateRegisterHighlighting(statement.getArguments().getRt().getID());
-                } else {
-                    registerPaneController.updateRegisterHighlighting(-1);
-                }
-                return true;
-            } 
+        DecodedInstruction instruction = program.getDecodedInstruction(pc.getValue());
+        if(instruction != null) {
+            executionListener.instructionStarted();
+            instruction.getInstruction().simulate(instruction, registerFile, pc);
+            // notify about the changed register (if any)
+            executionListener.instructionFinished(instruction.getChangedRegister());
+            return true;
         }
         return false;
     }
 
+    /**
+     * publishes the values of the register file and pc to the registers shown in UI
+     * (called after a step, when a run stops and periodically while running)
+     */
+    public void synchronizeRegisters() {
+        for (Register register : registers) {
+            register.synchronizeValue();
+        }
+        pc.synchronizeValue();
+    }
+
     /**
      * parses the code when changes in code detected
      * @param code code to parse
@@ -176,50 +304,149 @@ public class Simulator {
      */
     public boolean parse(String code) {
         if(isCodeChanged.get()) {
-            isCodeChanged.set(false);
+            applyAssembly(assemble(code, incrementalAssembler.getEditCount()));
+        }
+        return isCodeParsed.get();
+    }
 
-            LegV8Parser parser = getParser(code);
+    /**
+     * assembles code without changing the program or any property of the simulator, so it can run on a background thread
+     * (the result is applied by applyAssembly)
+     * @param code code to assemble
+     * @param editCount edit count of the incremental assembler taken together with the code
+     * @return assembled program or errors
+     * @throws CancellationException if the code was changed or the thread was interrupted while assembling
+     */
+    public AssemblyResult assemble(String code, long editCount) {
+        // only re-parse the changed lines if possible
+        ARMProgram reassembledProgram = incrementalAssembler.reassemble(code, editCount);
+        if(reassembledProgram != null) {
+            return new AssemblyResult(reassembledProgram, new ArrayList<ParsingError>(), null);
+        }
 
-            // parse form start symbol 'main'
-            ParseTree antlrTree = parser.main();
-            
-            if(syntaxErrorListener.syntaxErrors.isEmpty()) {
-                // clear visitor/ program parser
-                programParser.clear();
-                this.program = programParser.visit(antlrTree);
-
-                if(programParser.semanticErrors.isEmpty()) {
-                    isCodeParsed.set(true);
-                    updateShownRegisters();
-                    reset();
-                } else {
-                    isCodeParsed.set(false);
-                }
-            } else {
-                isCodeParsed.set(false);
+        // code assembled before (e.g. in an earlier session)
+        ARMProgram cachedProgram = programCache == null ? null : programCache.load(code);
+        if(cachedProgram != null) {
+            incrementalAssembler.invalidate();
+            return new AssemblyResult(cachedProgram, new ArrayList<ParsingError>(), null);
+        }
+
+        // very large programs are assembled in chunks on all cores, errors are reported by a regular parse
+        AssemblyResult chunkedResult = assembleInChunks(code);
+        if(chunkedResult != null && chunkedResult.isSuccessful()) {
+            if(programCache != null) {
+                programCache.store(code, chunkedResult.getProgram());
             }
+            incrementalAssembler.invalidate();
+            return chunkedResult;
         }
-        return isCodeParsed.get();
+        if(Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Assembly was interrupted");
+        }
+
+        // lex and parse (shared with syntax highlighting when it already parsed this text)
+        ParsedDocument document = documentModel.parse(code);
+        if(document.hasSyntaxErrors()) {
+            return new AssemblyResult(null, document.getSyntaxErrors(), document.getStatistics());
+        }
+        ProgramParser programParser = new ProgramParser(instructionSet);
+        ARMProgram parsedProgram = programParser.visit(document.getTree());
+        if(! programParser.semanticErrors.isEmpty()) {
+            return new AssemblyResult(null, programParser.semanticErrors, document.getStatistics());
+        }
+        if(programCache != null) {
+            programCache.store(code, parsedProgram);
+        }
+        incrementalAssembler.setBaseline(code, document.getTree(), parsedProgram, editCount);
+        return new AssemblyResult(parsedProgram, new ArrayList<ParsingError>(), document.getStatistics());
     }
 
-    /*
-     * Types of Parser and Lexer are specific to the name of the used grammar
-     * 
+    /**
+     * assembles a source file directly from a memory-mapped buffer without creating a String of the file
+     * (e.g. for large files or headless use, the result is applied by applyAssembly).
+     * The incremental assembler is not used as there is no text to edit.
+     * @param file source file
+     * @return assembled program or errors
+     * @throws IOException if the file can not be read
      */
-    private LegV8Parser getParser(String code) {
-        LegV8Parser parser = null;
+    public AssemblyResult assembleFile(Path file) throws IOException {
+        MappedCharStream input = new MappedCharStream(file);
+        incrementalAssembler.invalidate();
+        ARMProgram cachedProgram = programCache == null ? null : programCache.load(input.getBuffer());
+        if(cachedProgram != null) {
+            return new AssemblyResult(cachedProgram, new ArrayList<ParsingError>(), null);
+        }
+        AssemblyResult result = Assembler.assemble(input, instructionSet);
+        if(result.isSuccessful() && programCache != null) {
+            programCache.store(input.getBuffer(), result.getProgram());
+        }
+        return result;
+    }
 
-        CharStream input = CharStreams.fromString(code);
-        LegV8Lexer lexer = new LegV8Lexer(input);
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        parser = new LegV8Parser(tokens);
+    /**
+     * applies the result of an assembly: sets the program and resets the simulator
+     * (has to be called on the thread owning the UI)
+     * @param result result of assemble
+     * @return boolean indicating if the code was assembled successfully
+     */
+    public boolean applyAssembly(AssemblyResult result) {
+        lastAssembly = result;
+        isCodeChanged.set(false);
+        errors = result.getErrors();
+        if(result.getStatistics() != null) {
+            lastParseStatistics = result.getStatistics();
+        }
+        if(result.isSuccessful()) {
+            this.program = result.getProgram();
+            incrementalAssembler.accept(program); // re-assembled programs become the baseline when applied
+            isCodeParsed.set(true);
+            updateShownRegisters();
+            reset();
+        } else {
+            isCodeParsed.set(false);
+        }
+        return isCodeParsed.get();
+    }
 
-        // syntax error handling
-        syntaxErrorListener.clearSyntaxErrors();
-        parser.removeErrorListeners();
-        parser.addErrorListener(syntaxErrorListener);
+    /**
+     * assembles large code in chunks (see ParallelAssembler)
+     * @param code code to assemble
+     * @return result of the assembly or null if the code is too small or contains syntax errors
+     */
+    private AssemblyResult assembleInChunks(String code) {
+        if(!ParallelAssembler.isLarge(code)) {
+            return null;
+        }
+        try {
+            return ParallelAssembler.assemble(code, instructionSet, ForkJoinPool.commonPool());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
 
-        return parser;
+    /**
+     * loads a binary image of machine words as program (replaces the parsed code)
+     * @param image machine words (big-endian)
+     * @throws IllegalArgumentException if the image contains an unknown instruction
+     */
+    public void loadMachineCode(byte[] image) {
+        this.program = new MachineCodeLoader(instructionSet).load(image);
+        errors = new ArrayList<ParsingError>();
+        lastAssembly = new AssemblyResult(program, errors, null);
+        incrementalAssembler.invalidate();
+        isCodeChanged.set(false);
+        isCodeParsed.set(true);
+        updateShownRegisters();
+        reset();
+    }
+
+    /**
+     * gets the result of the last applied assembly (e.g. to skip assembling unchanged code)
+     * @return result or null if nothing was assembled yet
+     */
+    public AssemblyResult getLastAssembly() {
+        return lastAssembly;
     }
 
     /**
@@ -227,12 +454,7 @@ public class Simulator {
      * @return list of occured errors while parsing
      */
     public ArrayList<ParsingError> getErrors() {
-        if(! syntaxErrorListener.syntaxErrors.isEmpty()) {
-            return syntaxErrorListener.syntaxErrors;
-        } else if(! programParser.semanticErrors.isEmpty()) {
-            return programParser.semanticErrors;
-        }
-        return null;
+        return errors.isEmpty() ? null : errors;
     }
 
     /**
@@ -257,12 +479,29 @@ public class Simulator {
     }
 
     /**
-     * stops all running threads and restantiate executorService
+     * stops a running (or paused) run, the machine state is kept
      */
     public void stopThread() {
+        isStopRequested = true;
+        pausedRun = null;
         isRunning.set(false);
     }
 
+    /**
+     * pauses a running run, the machine state is kept and the run can be resumed
+     */
+    public void pause() {
+        isPauseRequested = true;
+    }
+
+    /**
+     * checks if there is a paused run that can be resumed
+     * @return boolean indicating if a run is paused
+     */
+    public boolean isPaused() {
+        return pausedRun != null;
+    }
+
     /**
      * gets the list of all registers (R0 - R31)
      * @return List of registers
@@ -295,15 +534,71 @@ public class Simulator {
         return this.isRunning;
     }
 
+    public RunPolicy getRunPolicy() {
+        return runPolicy;
+    }
+
+    public void setRunPolicy(RunPolicy runPolicy) {
+        this.runPolicy = runPolicy;
+    }
+
+    public RunStatistics getLastRunStatistics() {
+        return lastRunStatistics;
+    }
+
+    /**
+     * gets the incremental assembler, edits of the code have to be reported to it
+     * @return incremental assembler
+     */
+    public IncrementalAssembler getIncrementalAssembler() {
+        return incrementalAssembler;
+    }
+
+    /**
+     * gets the lexing and parsing timings of the last full parse
+     * (code re-assembled incrementally is not parsed as a whole)
+     * @return parse statistics or null if nothing was parsed yet
+     */
+    public ParseStatistics getLastParseStatistics() {
+        return lastParseStatistics;
+    }
+
+    public ProgramCache getProgramCache() {
+        return programCache;
+    }
+
+    /**
+     * sets the cache of assembled programs (e.g. by the application, headless use does not cache by default)
+     * @param programCache cache or null to always assemble the code
+     */
+    public void setProgramCache(ProgramCache programCache) {
+        this.programCache = programCache;
+    }
+
+    /**
+     * gets the document model, syntax highlighting uses it to share the parsed code with assembly
+     * @return document model
+     */
+    public DocumentModel getDocumentModel() {
+        return documentModel;
+    }
+
     public SimpleBooleanProperty getIsCodeChanged() {
         return isCodeChanged;
     }
 
-    public static void setRegisterPaneController(RegisterPaneController registerPaneController) {
-        Simulator.registerPaneController = registerPaneController;
+    /**
+     * sets the listener notified about executed instructions
+     * @param executionListener listener to use, null resets to a listener ignoring all events (headless)
+     */
+    public void setExecutionListener(ExecutionListener executionListener) {
+        if(executionListener == null) {
+            executionListener = new NoOpExecutionListener();
+        }
+        this.executionListener = executionListener;
     }
 
-    public static void setMemoryController(MemoryController memoryController) {
-        Simulator.memoryController = memoryController;
-    }   
+    public ExecutionListener getExecutionListener() {
+        return this.executionListener;
+    }
 }
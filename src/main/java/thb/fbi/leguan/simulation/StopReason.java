@@ -0,0 +1,17 @@
+package thb.fbi.leguan.simulation;
+
+/**
+ * reasons for a continuous run of the simulator to stop
+ */
+public enum StopReason {
+    /** no further instruction to execute */
+    FINISHED,
+    /** instruction limit of the RunPolicy reached */
+    INSTRUCTION_LIMIT,
+    /** time limit of the RunPolicy reached */
+    TIME_LIMIT,
+    /** stopped by the user */
+    STOPPED,
+    /** paused by the user, can be resumed */
+    PAUSED
+}
@@ -10,6 +10,14 @@ public interface ILeguanTools {
 
     public abstract void updateCode(ARMProgram program, String code);
 
+    /**
+     * prepares updating the code on a background thread (e.g. simulating the program)
+     * @return action applying the update, has to be run on the JavaFX application thread
+     */
+    public default Runnable prepareCode(ARMProgram program, String code) {
+        return () -> updateCode(program, code);
+    }
+
     /**
      * add css files to be loaded when initializing/ displaying extension
      * @param cssFile complete path to the css file to be added
@@ -65,6 +65,15 @@ public class PipelineVisualizerAdapter implements ILeguanTools {
         }
     }
 
+    @Override
+    public Runnable prepareCode(ARMProgram program, String code) {
+        PipelineVisualizerController controller = pipelineVisualizerController;
+        if (controller != null) {
+            return controller.prepareCode(program, code);
+        }
+        return () -> {};
+    }
+
     private void unsetPipelineVisualizerController() {
         pipelineVisualizerController = null;
     }
@@ -24,6 +24,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.WindowConstants;
 
+import thb.fbi.pipeline_visualizer.pipeline.FrameHistory;
 import thb.fbi.pipeline_visualizer.pipeline.MFrame;
 import thb.fbi.pipeline_visualizer.pipeline.WireLabel;
 
@@ -33,7 +34,7 @@ public class PipelinePanel extends JPanel {
     int width = 1024;
     int wireNumber = 76;
     WireLabel wire[] = new WireLabel[wireNumber];
-    MFrame frames[];
+    FrameHistory frames;
     MFrame currentFrame;
     int clockPulse;
     MouseEventHandler mHandler;
@@ -66,10 +67,10 @@ public class PipelinePanel extends JPanel {
         this.addMouseWheelListener(mHandler);
     }
 
-    public void updateMFrames(MFrame frames[]) {
+    public void updateMFrames(FrameHistory frames) {
         this.frames = frames;
         clockPulse = 0;
-        currentFrame = frames[clockPulse];
+        currentFrame = frames.get(clockPulse);
     }
 
     public void paintComponent(Graphics g) {
@@ -1554,10 +1555,10 @@ public class PipelinePanel extends JPanel {
     }
 
     public void nextClockPulse() {
-        if (clockPulse < frames.length - 1) {
+        if (frames.hasFrame(clockPulse + 1)) { // simulates the cycle if necessary
             clockPulse++;
             repaint();
-            currentFrame = frames[clockPulse];
+            currentFrame = frames.get(clockPulse);
         }
     }
 
@@ -1565,7 +1566,7 @@ public class PipelinePanel extends JPanel {
         if (clockPulse > 0) {
             clockPulse--;
             repaint();
-            currentFrame = frames[clockPulse];
+            currentFrame = frames.get(clockPulse);
         }
     }
 
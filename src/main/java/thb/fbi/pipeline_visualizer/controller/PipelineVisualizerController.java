@@ -4,6 +4,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
 import javax.swing.SwingUtilities;
 
 import javafx.application.Platform;
@@ -13,6 +18,8 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.embed.swing.SwingNode;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
@@ -22,13 +29,25 @@ import javafx.scene.control.TextArea;
 import javafx.scene.control.TitledPane;
 import javafx.util.Callback;
 import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.utility.ExecutorServiceProvider;
+import thb.fbi.pipeline_visualizer.pipeline.FrameHistory;
+import thb.fbi.pipeline_visualizer.pipeline.HazardConfiguration;
 import thb.fbi.pipeline_visualizer.pipeline.MFrame;
 import thb.fbi.pipeline_visualizer.pipeline.PipelineSimulator;
 import thb.fbi.pipeline_visualizer.pipeline.TwoBitPrecitionEntry;
+import thb.fbi.pipeline_visualizer.pipeline.TwoBitPredictorState;
 
 public class PipelineVisualizerController {
 
     private PipelineSimulator pipelineSimulator;
+    /** executor simulating cycles ahead of the shown one */
+    private ExecutorService readAheadExecutor;
+    /** executor comparing all hazard configurations */
+    private ExecutorService comparisonExecutor;
+    /** finished simulations of all hazard configurations for the shown program, null if not finished yet */
+    private volatile Map<HazardConfiguration, PipelineSimulator> comparisonResults;
+    /** number of started comparisons, used to discard results of outdated programs */
+    private AtomicLong comparisonCount = new AtomicLong();
     private PipelinePanel pipelinePanel;
 
     @FXML
@@ -39,6 +58,8 @@ public class PipelineVisualizerController {
     ChoiceBox<DataHazardOption> dataHazardOption;
     @FXML
     ChoiceBox<ControlHazardOption> controlHazardOption;
+    @FXML
+    ChoiceBox<TwoBitPredictorState> predictorStartOption;
 
     @FXML
     TableView<Map.Entry<Integer, TwoBitPrecitionEntry>> twoBitPredictorTable;
@@ -49,6 +70,21 @@ public class PipelineVisualizerController {
     @FXML
     TableColumn<Map.Entry<Integer, TwoBitPrecitionEntry>, String> addressColumn;
 
+    @FXML
+    TableView<Map.Entry<HazardConfiguration, PipelineSimulator>> comparisonTable;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> configurationColumn;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> cyclesColumn;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> cpiColumn;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> sfColumn;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> dataHazardsColumn;
+    @FXML
+    TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> controlHazardsColumn;
+
     @FXML
     Label clockCycleCounter;
     @FXML
@@ -69,6 +105,8 @@ public class PipelineVisualizerController {
     @FXML
     public void initialize() {
         pipelineSimulator = new PipelineSimulator();
+        readAheadExecutor = ExecutorServiceProvider.getExecutorService();
+        comparisonExecutor = ExecutorServiceProvider.getExecutorService();
         pipelinePanel = new PipelinePanel();
 
         modeChoiceBox.setItems(FXCollections.observableArrayList(DisplayMode.values()));
@@ -76,10 +114,8 @@ public class PipelineVisualizerController {
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                MFrame frames[]= new MFrame[1];
                 MFrame emptyFrame = new MFrame(false, false);
-                frames[0] = emptyFrame;
-                pipelinePanel.updateMFrames(frames);
+                pipelinePanel.updateMFrames(new FrameHistory(emptyFrame));
                 pipelineSwingNode.setContent(pipelinePanel);
             }
         });
@@ -90,6 +126,17 @@ public class PipelineVisualizerController {
         controlHazardOption.setItems(FXCollections.observableArrayList(ControlHazardOption.values()));
         controlHazardOption.getSelectionModel().selectFirst();
 
+        predictorStartOption.setItems(FXCollections.observableArrayList(TwoBitPredictorState.values()));
+        predictorStartOption.getSelectionModel().select(TwoBitPredictorState.LikelyNotTaken);
+
+        setComparisonColumn(configurationColumn, simulation -> simulation.getKey().toString());
+        setComparisonColumn(cyclesColumn, simulation -> simulation.getValue().clockCycleCounter
+                + (simulation.getValue().isCycleLimitReached() ? "+" : ""));
+        setComparisonColumn(cpiColumn, simulation -> String.format("%.2f", simulation.getValue().cpi));
+        setComparisonColumn(sfColumn, simulation -> String.format("%.2f", simulation.getValue().sf));
+        setComparisonColumn(dataHazardsColumn, simulation -> String.valueOf(simulation.getValue().dataHazardCounter));
+        setComparisonColumn(controlHazardsColumn, simulation -> String.valueOf(simulation.getValue().controlHazardCounter));
+
         codeColumn.setCellValueFactory(
                 new Callback<TableColumn.CellDataFeatures<Map.Entry<Integer, TwoBitPrecitionEntry>, String>, ObservableValue<String>>() {
                     @Override
@@ -120,18 +167,80 @@ public class PipelineVisualizerController {
     }
 
     public void updateCode(ARMProgram program, String code) {
-        pipelineSimulator.setProgram(program);
-        MFrame frames[] = pipelineSimulator.execute();
+        prepareCode(program, code).run();
+    }
 
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                pipelinePanel.updateMFrames(frames);
-                clearTwoBitPredictorTable();
+    /**
+     * simulates the pipeline for a program (may be called on a background thread)
+     * the shown program is not changed until the returned action is run
+     * @return action showing the simulated frames (has to be run on the JavaFX application thread)
+     */
+    public Runnable prepareCode(ARMProgram program, String code) {
+        FrameHistory history = pipelineSimulator.executeLazily(program, readAheadExecutor);
+        IllegalStateException failure = null;
+        try {
+            history.hasFrame(0); // simulates the first cycle and starts simulating ahead
+        } catch (IllegalStateException e) {
+            failure = e;
+            history = new FrameHistory(new MFrame(false, false)); // empty pipeline
+        }
+        FrameHistory frames = history;
+        IllegalStateException firstCycleFailure = failure;
 
-                updateStatistics();
+        return () -> {
+            pipelineSimulator.setProgram(program);
+            startComparison();
+            if (firstCycleFailure != null) {
+                showSimulationError(firstCycleFailure);
+            }
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    pipelinePanel.updateMFrames(frames);
+                    clearTwoBitPredictorTable();
+
+                    updateStatistics();
+
+                    codeTextArea.setText(code);
+                }
+            });
+        };
+    }
 
-                codeTextArea.setText(code);
+    private void setComparisonColumn(TableColumn<Map.Entry<HazardConfiguration, PipelineSimulator>, String> column,
+            Function<Map.Entry<HazardConfiguration, PipelineSimulator>, String> value) {
+        column.setCellValueFactory(cell -> new SimpleStringProperty(value.apply(cell.getValue())));
+    }
+
+    /**
+     * simulates all hazard configurations of the current program concurrently and shows their statistics,
+     * results of a previous program are discarded
+     */
+    private void startComparison() {
+        long comparison = comparisonCount.incrementAndGet();
+        comparisonResults = null;
+        comparisonTable.setPlaceholder(null); // default placeholder, replaced if the comparison fails
+        // copied on the JavaFX thread, the shown configuration may change while comparing
+        PipelineSimulator simulator = new PipelineSimulator(pipelineSimulator);
+        comparisonExecutor.execute(() -> {
+            try {
+                Map<HazardConfiguration, PipelineSimulator> results = simulator.executeAll(ForkJoinPool.commonPool());
+                Platform.runLater(() -> {
+                    if (comparison == comparisonCount.get()) {
+                        comparisonResults = results;
+                        comparisonTable.setItems(FXCollections.observableArrayList(results.entrySet()));
+                    }
+                });
+            } catch (IllegalStateException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                Platform.runLater(() -> {
+                    if (comparison == comparisonCount.get()) {
+                        comparisonTable.getItems().clear();
+                        comparisonTable.setPlaceholder(new Label("Comparison failed: " + cause));
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         });
     }
@@ -154,15 +263,25 @@ public class PipelineVisualizerController {
         }
     }
 
+    /**
+     * shows the statistics up to the displayed cycle (independent of the cycles simulated ahead)
+     */
     private void updateStatistics() {
+        MFrame frame = pipelinePanel.currentFrame;
+        int clockCycles = pipelinePanel.clockPulse + 1;
+        int instructions = frame.instructionCounter;
+        double cpi = instructions == 0 ? 0.0 : (double) clockCycles / instructions;
+        double sf = (double) (instructions * 5) / clockCycles;
+        int dataHazards = frame.dataHazardCounter;
+        int controlHazards = frame.controlHazardCounter;
         // this could be troublesome when called within the SwingUtilities function
         Platform.runLater(() -> {
-            clockCycleCounter.setText(String.valueOf(pipelineSimulator.clockCycleCounter));
-            instructionCounter.setText(String.valueOf(pipelineSimulator.instructionCounter));
-            dataHazardCounter.setText(String.valueOf(pipelineSimulator.dataHazardCounter));
-            controlHazardCounter.setText(String.valueOf(pipelineSimulator.controlHazardCounter));
-            cpiValue.setText(String.format("%.2f", pipelineSimulator.cpi)); // display 2 decimal places
-            sfValue.setText(String.format("%.2f", pipelineSimulator.sf)); // display 2 decimal places
+            clockCycleCounter.setText(String.valueOf(clockCycles));
+            instructionCounter.setText(String.valueOf(instructions));
+            dataHazardCounter.setText(String.valueOf(dataHazards));
+            controlHazardCounter.setText(String.valueOf(controlHazards));
+            cpiValue.setText(String.format("%.2f", cpi)); // display 2 decimal places
+            sfValue.setText(String.format("%.2f", sf)); // display 2 decimal places
         });
     }
 
@@ -170,15 +289,33 @@ public class PipelineVisualizerController {
      * steps forward to the next clock pulse
      */
     public void forwardClockPulse() {
-        pipelinePanel.nextClockPulse();
+        try {
+            pipelinePanel.nextClockPulse();
+        } catch (IllegalStateException e) {
+            showSimulationError(e);
+        }
+        updateStatistics();
         updateTwoBitPredictorTable(pipelinePanel.currentFrame.twoBitPredictionTable);
     }
 
+    /**
+     * shows why the pipeline simulation stopped
+     * @param e exception of the frame history, its cause was thrown by the simulation
+     */
+    private void showSimulationError(IllegalStateException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        Alert errorAlert = new Alert(AlertType.ERROR);
+        errorAlert.setHeaderText(e.getMessage());
+        errorAlert.setContentText(cause.toString());
+        errorAlert.show();
+    }
+
     /**
      * steps backward to the previous clock pulse
      */
     public void backwardClockPulse() {
         pipelinePanel.previousClockPulse();
+        updateStatistics();
         updateTwoBitPredictorTable(pipelinePanel.currentFrame.twoBitPredictionTable);
     }
 
@@ -205,36 +342,53 @@ public class PipelineVisualizerController {
      * updates the selected data hazard option
      */
     public void updateDataHazardOption() {
-        MFrame frames[] = null;
-        clearTwoBitPredictorTable();
-        switch (dataHazardOption.getValue()) {
-            case Forwarding:
-                frames = pipelineSimulator.setForwardingEnabled(true);
-                break;
-            case Detect_Stall:
-                frames = pipelineSimulator.setForwardingEnabled(false);
-                break;
-        }
-        pipelinePanel.updateMFrames(frames);
-        updateStatistics();
+        showSelectedConfiguration();
     }
 
     /**
      * updates the selected control hazard option
      */
     public void updateControlHazardOption() {
-        MFrame frames[] = null;
-        clearTwoBitPredictorTable();
         switch (controlHazardOption.getValue()) {
             case Predict_NotTaken:
-                frames = pipelineSimulator.setIs2BitPredictorEnabled(false);
                 twoBitPredictorPane.expandedProperty().set(false);
                 break;
             case TwoBitPredictor:
-                frames = pipelineSimulator.setIs2BitPredictorEnabled(true);
                 twoBitPredictorPane.expandedProperty().set(true);
                 break;
         }
+        showSelectedConfiguration();
+    }
+
+    /**
+     * updates the selected starting state of the 2 bit predictor
+     */
+    public void updatePredictorStartOption() {
+        showSelectedConfiguration();
+    }
+
+    /**
+     * shows the frames of the selected hazard configuration, uses the finished simulation of the comparison
+     * if there is one (otherwise simulates lazily)
+     */
+    private void showSelectedConfiguration() {
+        clearTwoBitPredictorTable();
+        boolean isForwardingEnabled = dataHazardOption.getValue() == DataHazardOption.Forwarding;
+        TwoBitPredictorState startingState = null;
+        if (controlHazardOption.getValue() == ControlHazardOption.TwoBitPredictor) {
+            startingState = predictorStartOption.getValue();
+        }
+        HazardConfiguration configuration = new HazardConfiguration(isForwardingEnabled, startingState);
+        pipelineSimulator.setConfiguration(configuration);
+
+        Map<HazardConfiguration, PipelineSimulator> results = comparisonResults;
+        PipelineSimulator result = results != null ? results.get(configuration) : null;
+        FrameHistory frames;
+        if (result != null && !result.isCycleLimitReached()) {
+            frames = result.Frames;
+        } else {
+            frames = pipelineSimulator.executeLazily(readAheadExecutor);
+        }
         pipelinePanel.updateMFrames(frames);
         updateStatistics();
     }
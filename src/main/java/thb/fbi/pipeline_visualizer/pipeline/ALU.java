@@ -9,6 +9,27 @@ import java.io.Serializable;
 
 public class ALU implements Serializable {
 
+    //// branch conditions ////
+    /** result of the ALU is 0 (default) */
+    static final int CONDITION_RESULT_ZERO = 0;
+    /** second operand is 0 (CBZ) */
+    static final int CONDITION_OPERAND_ZERO = 1;
+    /** second operand is not 0 (CBNZ) */
+    static final int CONDITION_OPERAND_NOT_ZERO = 2;
+    // conditions of B.cond, evaluated on the flags
+    static final int CONDITION_EQ = 3;
+    static final int CONDITION_NE = 4;
+    static final int CONDITION_LT = 5;
+    static final int CONDITION_LE = 6;
+    static final int CONDITION_GT = 7;
+    static final int CONDITION_GE = 8;
+    static final int CONDITION_MI = 9;
+    static final int CONDITION_PL = 10;
+    static final int CONDITION_VS = 11;
+    static final int CONDITION_VC = 12;
+    /** branches unconditionally (BR) */
+    static final int CONDITION_ALWAYS = 13;
+
     /** negative flag */
     public boolean nFlag = false;
     /** zero flag */
@@ -21,6 +42,13 @@ public class ALU implements Serializable {
     ALU() {
     }
 
+    ALU(ALU other) {
+        this.nFlag = other.nFlag;
+        this.zFlag = other.zFlag;
+        this.cFlag = other.cFlag;
+        this.vFlag = other.vFlag;
+    }
+
     int process(int A, int B, short opcode, int ALUOp, boolean setsFlag) {
         if (ALUOp == 0) { // (00) add for loads and stores
             return A + B;
@@ -86,40 +114,41 @@ public class ALU implements Serializable {
     /**
      * checks if branching condition is met; used for setting ALU_zero
      * 
-     * @param mnemonic   of the instruction in the EX stage
+     * @param condition  of the instruction in the EX stage (@see MicroOp.branchCondition)
      * @param operand2   used in the ALU
      * @param ALU_result result of the ALU operation
      * @return boolean indicating if branch condition is met (if true then ALU_zero
      *         is true)
      */
-    public boolean checkBranchCondition(String mnemonic, int operand2, int ALU_result) {
-        switch (mnemonic) {
-            case "CBZ":
+    public boolean checkBranchCondition(int condition, int operand2, int ALU_result) {
+        switch (condition) {
+            case CONDITION_OPERAND_ZERO:
                 return (operand2 == 0);
-            case "CBNZ":
+            case CONDITION_OPERAND_NOT_ZERO:
                 return (operand2 != 0);
-            case "B.EQ":
+            case CONDITION_EQ:
                 return this.zFlag;
-            case "B.NE":
+            case CONDITION_NE:
                 return !this.zFlag;
-            case "B.LT":
+            case CONDITION_LT:
                 return this.nFlag != this.vFlag;
-            case "B.LE":
+            case CONDITION_LE:
                 return !(!this.zFlag && this.nFlag == this.vFlag);
-            case "B.GT":
+            case CONDITION_GT:
                 return !this.zFlag && this.nFlag == this.vFlag;
-            case "B.GE":
+            case CONDITION_GE:
                 return this.nFlag == this.vFlag;
-            case "B.MI":
+            case CONDITION_MI:
                 return this.nFlag;
-            case "B.PL":
+            case CONDITION_PL:
                 return !this.nFlag;
-            case "B.VS":
+            case CONDITION_VS:
                 return this.vFlag;
-            case "B.VC":
+            case CONDITION_VC:
                 return !this.vFlag;
-            case "BR":
+            case CONDITION_ALWAYS:
                 return true;
+            case CONDITION_RESULT_ZERO:
             default:
                 return (ALU_result == 0);
         }
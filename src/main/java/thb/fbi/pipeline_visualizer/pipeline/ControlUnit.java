@@ -32,177 +32,40 @@ public class ControlUnit implements Serializable {
     /** indicates if instruction can set flags */
     public boolean setsFlag;
 
+    /**
+     * copies a control unit, WB and MEM are passed to keep them shared with other parts of the copied frame
+     */
+    ControlUnit(ControlUnit other, WB wb, MEM mem) {
+        this.opcode = other.opcode;
+        this.WB = wb;
+        this.MEM = mem;
+        this.ALUOp = other.ALUOp;
+        this.ALUSource = other.ALUSource;
+        this.RegDest = other.RegDest;
+        this.byteSizeMemoryAccess = other.byteSizeMemoryAccess;
+        this.memoryAccessExclusive = other.memoryAccessExclusive;
+        this.setsFlag = other.setsFlag;
+    }
+
+    /**
+     * sets the control signals of an instruction, these are pre-decoded (@see MicroOp)
+     */
     ControlUnit(Instruction instruction) {
+        MicroOp microOp = instruction.getMicroOp();
         this.opcode = instruction.getOpcode();
         this.WB = new WB();
+        this.WB.RegWrite = microOp.RegWrite;
+        this.WB.MemToReg = microOp.MemToReg;
         this.MEM = new MEM();
-        this.byteSizeMemoryAccess = -1;
-        this.memoryAccessExclusive = false;
-        this.setsFlag = false;
-
-        if (instruction.getMnemonic().equals("NOP")) { // classified as Arithmetic
-            this.ALUOp = -1;
-            this.ALUSource = false;
-            this.RegDest = false;
-        } else {
-            switch (instruction.getFormat()) {
-                case Arithmetic:
-                    setFlagsForArithmetic();
-                    if (instruction.getMnemonic().endsWith("S")) {
-                        this.setsFlag = true;
-                    }
-                    break;
-                case Branch:
-                    setFlagsForBranch();
-                    break;
-                case Conditional_Branch:
-                    setFlagsForCondBranch();
-                    break;
-                case Datatransfer:
-                    switch (instruction.getMnemonic()) {
-                        case "LDUR":
-                            setFlagsForDatatransfer_Load();
-                            this.byteSizeMemoryAccess = (byte) 8;
-                            break;
-                        case "LDURB":
-                            setFlagsForDatatransfer_Load();
-                            this.byteSizeMemoryAccess = (byte) 1;
-                            break;
-                        case "LDURH":
-                            setFlagsForDatatransfer_Load();
-                            this.byteSizeMemoryAccess = (byte) 2;
-                            break;
-                        case "LDURSW":
-                            setFlagsForDatatransfer_Load();
-                            this.byteSizeMemoryAccess = (byte) 4;
-                            break;
-                        case "LDXR":
-                            setFlagsForDatatransfer_Load();
-                            this.byteSizeMemoryAccess = (byte) 8;
-                            this.memoryAccessExclusive = true;
-                            break;
-                        case "STUR":
-                            setFlagsForDatatransfer_Store();
-                            this.byteSizeMemoryAccess = (byte) 8;
-                            break;
-                        case "STURB":
-                            setFlagsForDatatransfer_Store();
-                            this.byteSizeMemoryAccess = (byte) 1;
-                            break;
-                        case "STURH":
-                            setFlagsForDatatransfer_Store();
-                            this.byteSizeMemoryAccess = (byte) 2;
-                            break;
-                        case "STURW":
-                            setFlagsForDatatransfer_Store();
-                            this.byteSizeMemoryAccess = (byte) 4;
-                            break;
-                        case "STXR":
-                            setFlagsForDatatransfer_Store();
-                            this.byteSizeMemoryAccess = (byte) 8;
-                            this.memoryAccessExclusive = true;
-                            break;
-                        case "LDR":
-                            setFlagsForDatatransfer_Load();
-                            this.WB.MemToReg = false; // override since address directly is needed
-                            this.byteSizeMemoryAccess = (byte) 8;
-                            break;
-                    }
-                    break;
-                case Immediate:
-                    setFlagsForImmediate();
-                    if (instruction.getMnemonic().endsWith("S")) {
-                        this.setsFlag = true;
-                    }
-                    break;
-                case Wide_Immediate:
-                    setFlagsForWideImmediate();
-                    break;
-                case Unknown:
-                default:
-                    this.ALUOp = -1;
-                    this.ALUSource = false;
-                    this.RegDest = false;
-            }
-
-        }
-    }
-
-    private void setFlagsForArithmetic() {
-        this.WB.RegWrite = true;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = false;
-        this.ALUOp = 2;
-        this.ALUSource = false;
-        this.RegDest = true;
-    }
-
-    private void setFlagsForBranch() {
-        this.WB.RegWrite = false;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = true;
-        this.ALUOp = 1;
-        this.ALUSource = false;
-        this.RegDest = true;
-    }
-
-    private void setFlagsForCondBranch() {
-        this.WB.RegWrite = false;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = true;
-        this.ALUOp = 1;
-        this.ALUSource = false;
-        this.RegDest = true;
-    }
-
-    private void setFlagsForDatatransfer_Load() {
-        this.WB.RegWrite = true;
-        this.WB.MemToReg = true;
-        this.MEM.MemRead = true;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = false;
-        this.ALUOp = 0;
-        this.ALUSource = true;
-        this.RegDest = false;
-    }
-
-    private void setFlagsForDatatransfer_Store() {
-        this.WB.RegWrite = false;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = true;
-        this.MEM.branch = false;
-        this.ALUOp = 0;
-        this.ALUSource = true;
-        this.RegDest = false;
-    }
-
-    private void setFlagsForImmediate() {
-        this.WB.RegWrite = true;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = false;
-        this.ALUOp = 2;
-        this.ALUSource = true;
-        this.RegDest = true;
-    }
-
-    private void setFlagsForWideImmediate() {
-        this.WB.RegWrite = true;
-        this.WB.MemToReg = false;
-        this.MEM.MemRead = false;
-        this.MEM.MemWrite = false;
-        this.MEM.branch = false;
-        this.ALUOp = 2;
-        this.ALUSource = true;
-        this.RegDest = true;
+        this.MEM.MemRead = microOp.MemRead;
+        this.MEM.MemWrite = microOp.MemWrite;
+        this.MEM.branch = microOp.branch;
+        this.ALUOp = microOp.ALUOp;
+        this.ALUSource = microOp.ALUSource;
+        this.RegDest = microOp.RegDest;
+        this.byteSizeMemoryAccess = microOp.byteSizeMemoryAccess;
+        this.memoryAccessExclusive = microOp.memoryAccessExclusive;
+        this.setsFlag = microOp.setsFlag;
     }
 
     public String toString(int mode) {
@@ -27,8 +27,8 @@ public class EX_MEM_Pipeline implements Serializable {
     public int PC;
     /** unedited line of code belonging to this instruction */
     public String codeString;
-    /** mnemonic of the instruction */
-    public String mnemonic;
+    /** pre-decoded operation of the instruction */
+    public MicroOp microOp;
 
     //// helper fields (not part of actual specification) ////
     /** number of bytes to access from memory (load/store) */
@@ -37,7 +37,28 @@ public class EX_MEM_Pipeline implements Serializable {
     public boolean memoryAccessExclusive;
     /** register for putting result of STXR (indicates if operation was succesful) */
     public int exclusiveCheckRegister;
-    
+
+    EX_MEM_Pipeline() {
+    }
+
+    /**
+     * copies a latch, WB and MEM are passed to keep them shared with other parts of the copied frame
+     */
+    EX_MEM_Pipeline(EX_MEM_Pipeline other, WB wb, MEM mem) {
+        this.WB = wb;
+        this.MEM = mem;
+        this.PCBranch = other.PCBranch;
+        this.ALU_result = other.ALU_result;
+        this.ALU_zero = other.ALU_zero;
+        this.MemDataWrite = other.MemDataWrite;
+        this.destReg = other.destReg;
+        this.PC = other.PC;
+        this.codeString = other.codeString;
+        this.microOp = other.microOp;
+        this.byteSizeMemoryAccess = other.byteSizeMemoryAccess;
+        this.memoryAccessExclusive = other.memoryAccessExclusive;
+        this.exclusiveCheckRegister = other.exclusiveCheckRegister;
+    }
 
     void Flush() {
         WB.MemToReg = false;
@@ -0,0 +1,309 @@
+package thb.fbi.pipeline_visualizer.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import thb.fbi.leguan.simulation.ExclusiveMonitor;
+
+/**
+ * \brief Frames of all simulated clock cycles, stored as keyframes and deltas
+ *
+ * every KEYFRAME_INTERVAL cycles a full copy of the frame is kept. The cycles in between only keep their
+ * latches and the changes of registers, memory and prediction table. Frames are rebuilt on demand from
+ * the preceding keyframe (or the last rebuilt frame when stepping forward).
+ *
+ * A lazy history (@see PipelineSimulator.executeLazily) simulates cycles when their frames are requested
+ * and simulates up to READ_AHEAD cycles ahead in the background. Keyframes are the checkpoints for
+ * stepping backward.
+ */
+public class FrameHistory {
+    /** number of cycles between two full copies */
+    public static final int KEYFRAME_INTERVAL = 32;
+    /** number of cycles simulated ahead of the last requested frame (lazy simulation) */
+    public static final int READ_AHEAD = 256;
+    /** number of cycles simulated at once while reading ahead (the history is locked meanwhile) */
+    private static final int READ_AHEAD_BATCH = 16;
+
+    /**
+     * changes of a clock cycle compared to the previous one
+     */
+    private static class Delta {
+        /** latches and counters of the cycle (without registers, memory and prediction table) */
+        private MFrame latches;
+        /** indices of changed registers (value or flag) */
+        private int[] registerIndices;
+        /** values of changed registers by index within registerIndices */
+        private int[] registerValues;
+        /** flags of changed registers by index within registerIndices */
+        private boolean[] registerFlags;
+        /** addresses of stored bytes */
+        private long[] memoryAddresses;
+        /** stored bytes by index within memoryAddresses */
+        private byte[] memoryValues;
+        /** state of the exclusive monitor, null if it was not accessed */
+        private ExclusiveMonitor exclusiveMonitor;
+        /** added or changed entries of the prediction table */
+        private HashMap<Integer, TwoBitPrecitionEntry> predictionUpdates;
+
+        /**
+         * applies the changes onto the frame of the previous cycle
+         * @param frame frame of the previous cycle, becomes the frame of this cycle
+         */
+        private void applyTo(MFrame frame) {
+            frame.copyLatches(latches);
+            for (int i = 0; i < registerIndices.length; i++) {
+                frame.register[registerIndices[i]] = registerValues[i];
+                frame.regFlag[registerIndices[i]] = registerFlags[i];
+            }
+            frame.Memory.restore(memoryAddresses, memoryValues, exclusiveMonitor);
+            if (predictionUpdates != null) {
+                for (Map.Entry<Integer, TwoBitPrecitionEntry> entry : predictionUpdates.entrySet()) {
+                    frame.twoBitPredictionTable.put(entry.getKey(), new TwoBitPrecitionEntry(entry.getValue()));
+                }
+            }
+        }
+    }
+
+    /** full copies of every KEYFRAME_INTERVAL-th cycle */
+    private ArrayList<MFrame> keyframes = new ArrayList<MFrame>();
+    /** changes by cycle, null for keyframes */
+    private ArrayList<Delta> deltas = new ArrayList<Delta>();
+
+    /** registers of the last added cycle */
+    private int[] lastRegisters;
+    /** register flags of the last added cycle */
+    private boolean[] lastRegFlags;
+    /** prediction states of the last added cycle by PC */
+    private HashMap<Integer, TwoBitPredictorState> lastPredictionStates = new HashMap<>();
+
+    /** simulation adding the cycles, null if the history was created from a single frame */
+    private PipelineSimulator simulator;
+    /** indicates if all cycles were added */
+    private volatile boolean isComplete = false;
+    /** exception which stopped the simulation, null if it did not fail */
+    private RuntimeException failure;
+    /** executor for simulating ahead, null if cycles are only simulated on request */
+    private ExecutorService readAheadExecutor;
+    /** cycle up to which is simulated ahead */
+    private int readAheadTarget = 0;
+    /** indicates if simulating ahead is running */
+    private boolean isReadingAhead = false;
+
+    /** last rebuilt frame, null if none */
+    private MFrame cachedFrame;
+    /** cycle of the last rebuilt frame */
+    private int cachedIndex = -1;
+
+    /**
+     * creates a history holding a single frame (e.g. an empty pipeline)
+     * @param frame frame of the first cycle
+     */
+    public FrameHistory(MFrame frame) {
+        add(frame);
+        complete();
+    }
+
+    /**
+     * creates an empty history filled by a simulation
+     * @param simulator simulation adding the cycles
+     */
+    FrameHistory(PipelineSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    void setReadAheadExecutor(ExecutorService readAheadExecutor) {
+        this.readAheadExecutor = readAheadExecutor;
+    }
+
+    /**
+     * marks the history as complete (the simulation has ended)
+     */
+    void complete() {
+        this.isComplete = true;
+    }
+
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * gets the simulation of the history (e.g. for its statistics)
+     * @return simulator adding the cycles, null if the history was created from a single frame
+     */
+    public PipelineSimulator getSimulator() {
+        return simulator;
+    }
+
+    /**
+     * adds the state of the next cycle, changes of the memory have to be recorded since the last added cycle
+     * (@see Memory.recordChanges)
+     * @param frame frame of the simulation (is not changed or kept)
+     */
+    void add(MFrame frame) {
+        if (deltas.size() % KEYFRAME_INTERVAL == 0) {
+            keyframes.add(frame.getCopy());
+            deltas.add(null);
+            frame.Memory.takeChanges();
+            frame.Memory.takeMonitorChanged();
+            lastPredictionStates.clear();
+            for (Map.Entry<Integer, TwoBitPrecitionEntry> entry : frame.twoBitPredictionTable.entrySet()) {
+                lastPredictionStates.put(entry.getKey(), entry.getValue().getState());
+            }
+        } else {
+            deltas.add(createDelta(frame));
+        }
+        lastRegisters = frame.register.clone();
+        lastRegFlags = frame.regFlag.clone();
+    }
+
+    private Delta createDelta(MFrame frame) {
+        Delta delta = new Delta();
+        delta.latches = frame.getLatchCopy();
+
+        int changedRegisters = 0;
+        int[] indices = new int[frame.register.length];
+        for (int i = 0; i < frame.register.length; i++) {
+            if (frame.register[i] != lastRegisters[i] || frame.regFlag[i] != lastRegFlags[i]) {
+                indices[changedRegisters++] = i;
+            }
+        }
+        delta.registerIndices = new int[changedRegisters];
+        delta.registerValues = new int[changedRegisters];
+        delta.registerFlags = new boolean[changedRegisters];
+        for (int i = 0; i < changedRegisters; i++) {
+            delta.registerIndices[i] = indices[i];
+            delta.registerValues[i] = frame.register[indices[i]];
+            delta.registerFlags[i] = frame.regFlag[indices[i]];
+        }
+
+        Map<Long, Byte> stored = frame.Memory.takeChanges();
+        delta.memoryAddresses = new long[stored.size()];
+        delta.memoryValues = new byte[stored.size()];
+        int i = 0;
+        for (Map.Entry<Long, Byte> entry : stored.entrySet()) {
+            delta.memoryAddresses[i] = entry.getKey();
+            delta.memoryValues[i] = entry.getValue();
+            i++;
+        }
+        if (frame.Memory.takeMonitorChanged()) {
+            delta.exclusiveMonitor = new ExclusiveMonitor(frame.Memory.getExclusiveMonitor());
+        }
+
+        for (Map.Entry<Integer, TwoBitPrecitionEntry> entry : frame.twoBitPredictionTable.entrySet()) {
+            TwoBitPredictorState state = entry.getValue().getState();
+            if (lastPredictionStates.put(entry.getKey(), state) != state) {
+                if (delta.predictionUpdates == null) {
+                    delta.predictionUpdates = new HashMap<>();
+                }
+                delta.predictionUpdates.put(entry.getKey(), new TwoBitPrecitionEntry(entry.getValue()));
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * gets the number of cycles
+     * @return number of frames (simulated so far if the history is not complete)
+     */
+    public synchronized int size() {
+        return deltas.size();
+    }
+
+    /**
+     * checks if a cycle exists, simulates up to it if necessary
+     * @param index cycle (starting at 0)
+     * @return true if the simulation reaches the cycle
+     * @throws IllegalStateException if the simulation failed before the cycle
+     */
+    public synchronized boolean hasFrame(int index) {
+        simulateUntil(index);
+        return index >= 0 && index < deltas.size();
+    }
+
+    /**
+     * simulates up to a cycle and starts simulating ahead of it
+     */
+    private void simulateUntil(int index) {
+        try {
+            while (!isComplete && deltas.size() <= index) {
+                simulator.step();
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+        if (failure != null && deltas.size() <= index) {
+            throw new IllegalStateException("Simulation failed in cycle " + deltas.size(), failure);
+        }
+        if (!isComplete && readAheadExecutor != null) {
+            readAheadTarget = Math.max(readAheadTarget, index + READ_AHEAD);
+            if (!isReadingAhead) {
+                isReadingAhead = true;
+                readAheadExecutor.execute(this::simulateAhead);
+            }
+        }
+    }
+
+    /**
+     * simulates up to the read-ahead target in batches, so requests of frames are not blocked for long
+     */
+    private void simulateAhead() {
+        while (true) {
+            synchronized (this) {
+                try {
+                    for (int n = 0; n < READ_AHEAD_BATCH && !isComplete && deltas.size() <= readAheadTarget; n++) {
+                        simulator.step();
+                    }
+                } catch (RuntimeException e) {
+                    fail(e); // reported when the next cycle is requested
+                }
+                if (isComplete || deltas.size() > readAheadTarget) {
+                    isReadingAhead = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * ends the history at the last added cycle because the simulation can not continue
+     * @param e exception thrown by the simulation
+     */
+    private void fail(RuntimeException e) {
+        failure = e;
+        complete();
+    }
+
+    /**
+     * rebuilds the frame of a cycle, frames must not be changed
+     * @param index cycle (starting at 0)
+     * @return frame of the cycle
+     * @throws IllegalStateException if the simulation failed before the cycle
+     */
+    public synchronized MFrame get(int index) {
+        simulateUntil(index);
+        if (index < 0 || index >= deltas.size()) {
+            throw new IndexOutOfBoundsException("Cycle " + index + " of " + deltas.size());
+        }
+        if (index == cachedIndex) {
+            return cachedFrame;
+        }
+        int keyframe = index / KEYFRAME_INTERVAL;
+        MFrame frame;
+        int next;
+        if (cachedFrame != null && cachedIndex < index && cachedIndex / KEYFRAME_INTERVAL == keyframe) {
+            frame = cachedFrame.getCopy(); // stepping forward
+            next = cachedIndex + 1;
+        } else {
+            frame = keyframes.get(keyframe).getCopy();
+            next = keyframe * KEYFRAME_INTERVAL + 1;
+        }
+        for (int i = next; i <= index; i++) {
+            deltas.get(i).applyTo(frame);
+        }
+        cachedFrame = frame;
+        cachedIndex = index;
+        return frame;
+    }
+}
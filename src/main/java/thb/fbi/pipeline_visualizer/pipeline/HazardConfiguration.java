@@ -0,0 +1,81 @@
+package thb.fbi.pipeline_visualizer.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * \brief Combination of data and control hazard handling of the pipeline
+ */
+public class HazardConfiguration {
+    /** indicates if results are forwarded (otherwise detect & stall) */
+    private final boolean isForwardingEnabled;
+    /** indicates if the 2 bit predictor is used (otherwise predict not taken) */
+    private final boolean is2BitPredictorEnabled;
+    /** state new entries of the 2 bit predictor start with, null for predict not taken */
+    private final TwoBitPredictorState startingStateOfPrediction;
+
+    /**
+     * @param isForwardingEnabled true for forwarding, false for detect & stall
+     * @param startingStateOfPrediction starting state of the 2 bit predictor, null for predict not taken
+     */
+    public HazardConfiguration(boolean isForwardingEnabled, TwoBitPredictorState startingStateOfPrediction) {
+        this.isForwardingEnabled = isForwardingEnabled;
+        this.is2BitPredictorEnabled = startingStateOfPrediction != null;
+        this.startingStateOfPrediction = startingStateOfPrediction;
+    }
+
+    /**
+     * gets all configurations: forwarding on/off with predict not taken and the 2 bit predictor in every starting state
+     * @return all configurations
+     */
+    public static List<HazardConfiguration> getAll() {
+        ArrayList<HazardConfiguration> configurations = new ArrayList<HazardConfiguration>();
+        for (boolean isForwardingEnabled : new boolean[] { true, false }) {
+            configurations.add(new HazardConfiguration(isForwardingEnabled, null));
+            for (TwoBitPredictorState state : TwoBitPredictorState.values()) {
+                configurations.add(new HazardConfiguration(isForwardingEnabled, state));
+            }
+        }
+        return configurations;
+    }
+
+    public boolean isForwardingEnabled() {
+        return isForwardingEnabled;
+    }
+
+    public boolean is2BitPredictorEnabled() {
+        return is2BitPredictorEnabled;
+    }
+
+    public TwoBitPredictorState getStartingStateOfPrediction() {
+        return startingStateOfPrediction;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof HazardConfiguration)) {
+            return false;
+        }
+        HazardConfiguration other = (HazardConfiguration) obj;
+        return isForwardingEnabled == other.isForwardingEnabled
+                && startingStateOfPrediction == other.startingStateOfPrediction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isForwardingEnabled, startingStateOfPrediction);
+    }
+
+    @Override
+    public String toString() {
+        String dataHazard = isForwardingEnabled ? "Forwarding" : "Detect & Stall";
+        if (!is2BitPredictorEnabled) {
+            return dataHazard + ", Predict Not Taken";
+        }
+        return dataHazard + ", 2 bit (" + startingStateOfPrediction + ")";
+    }
+}
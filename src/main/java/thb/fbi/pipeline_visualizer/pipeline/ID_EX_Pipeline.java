@@ -44,13 +44,42 @@ public class ID_EX_Pipeline implements Serializable {
     //// helper fields (not part of actual specification) ////
     /** number of bytes to access from memory (load/store) */
     public byte byteSizeMemoryAccess;
-    /** mnemonic of the instruction */
-    public String mnemonic;
+    /** pre-decoded operation of the instruction */
+    public MicroOp microOp;
     /** indicates if instruction is LXDR or STXR */
     public boolean memoryAccessExclusive;
     /** indicates if instruction can set flags */
     public boolean setsFlag;
-        
+
+    ID_EX_Pipeline() {
+    }
+
+    /**
+     * copies a latch, WB and MEM are passed to keep them shared with other parts of the copied frame
+     */
+    ID_EX_Pipeline(ID_EX_Pipeline other, WB wb, MEM mem) {
+        this.RegDest = other.RegDest;
+        this.ALUSrc = other.ALUSrc;
+        this.ALUOp = other.ALUOp;
+        this.MEM = mem;
+        this.WB = wb;
+        this.PC = other.PC;
+        this.rn = other.rn;
+        this.rnValue = other.rnValue;
+        this.rt = other.rt;
+        this.rtValue = other.rtValue;
+        this.rd = other.rd;
+        this.Offset = other.Offset;
+        this.i32Offset = other.i32Offset;
+        this.opcode = other.opcode;
+        this.codeString = other.codeString;
+        this.binaryCodeString = other.binaryCodeString;
+        this.byteSizeMemoryAccess = other.byteSizeMemoryAccess;
+        this.microOp = other.microOp;
+        this.memoryAccessExclusive = other.memoryAccessExclusive;
+        this.setsFlag = other.setsFlag;
+    }
+
     public void Flush()
     {
         this.ALUSrc = false;
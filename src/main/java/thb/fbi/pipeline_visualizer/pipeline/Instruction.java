@@ -29,6 +29,8 @@ public class Instruction implements Serializable {
     private String mnemonic;
     /** opcode of the instruction */
     private short opcode;
+    /** pre-decoded operation (control signals) of the instruction */
+    private MicroOp microOp;
 
     public Instruction() {
         format = InstructionFormat.Unknown;
@@ -39,6 +41,7 @@ public class Instruction implements Serializable {
         offsetIJ = -1;
         codeString = "UNKNOWN";
         opcode = Short.parseShort("0", 2);
+        microOp = MicroOp.UNKNOWN;
     }
 
     public String getBinaryCodeString() {
@@ -128,4 +131,12 @@ public class Instruction implements Serializable {
         return mnemonic;
     }
 
+    public MicroOp getMicroOp() {
+        return microOp;
+    }
+
+    public void setMicroOp(MicroOp microOp) {
+        this.microOp = microOp;
+    }
+
 }
@@ -1,6 +1,7 @@
 package thb.fbi.pipeline_visualizer.pipeline;
 
 import thb.fbi.leguan.data.ARMProgram;
+import thb.fbi.leguan.data.InstructionArguments;
 import thb.fbi.leguan.data.ProgramStatement;
 import thb.fbi.leguan.instructions.ArithmeticInstruction;
 import thb.fbi.leguan.instructions.BranchInstruction;
@@ -20,20 +21,20 @@ public class InstructionFactory {
             ProgramStatement statement = entry.getValue();
             Instruction instruction = new Instruction();
             // register 
-            if(statement.getArguments().getRd() != null) {
-                instruction.setRd(statement.getArguments().getRd().getID());
+            if(statement.getArguments().getRd() != InstructionArguments.NO_REGISTER) {
+                instruction.setRd(statement.getArguments().getRd());
             } else {
                 instruction.setRd(31);
             }
-            if(statement.getArguments().getRn() != null) {
-                instruction.setRn(statement.getArguments().getRn().getID());
+            if(statement.getArguments().getRn() != InstructionArguments.NO_REGISTER) {
+                instruction.setRn(statement.getArguments().getRn());
             } else {
                 instruction.setRn(31);
             }
-            if(statement.getArguments().getRt() != null) {
-                instruction.setRt(statement.getArguments().getRt().getID());
-            } else if(statement.getArguments().getRm() != null)  {
-                instruction.setRt(statement.getArguments().getRm().getID());
+            if(statement.getArguments().getRt() != InstructionArguments.NO_REGISTER) {
+                instruction.setRt(statement.getArguments().getRt());
+            } else if(statement.getArguments().getRm() != InstructionArguments.NO_REGISTER)  {
+                instruction.setRt(statement.getArguments().getRm());
             } else {
                 instruction.setRt(31);
             }
@@ -62,6 +63,7 @@ public class InstructionFactory {
                 instruction.setOffsetIJ(statement.getArguments().getAlu_Immediate());
             }
             instruction.setMnemonic(statement.getInstruction().getMnemonic());
+            instruction.setMicroOp(MicroOp.decode(instruction.getFormat(), instruction.getMnemonic())); // decoded once instead of every cycle
             instruction.setOpcode(statement.getInstruction().getOpcode());
             instruction.setCodeString(statement.getSource());
             instruction.setBinaryCodeString(statement.getInstruction().getMachineCodeString(statement.getArguments()));
@@ -14,6 +14,15 @@ public class MEM implements Serializable {
     /** indicates if instruction writes a value to memory */
     public boolean MemWrite;
 
+    MEM() {
+    }
+
+    MEM(MEM other) {
+        this.branch = other.branch;
+        this.MemRead = other.MemRead;
+        this.MemWrite = other.MemWrite;
+    }
+
     public String toString(int mode)
     {
         String str = "";
@@ -14,11 +14,26 @@ public class MEM_WB_Pipeline implements Serializable{
     public int memoryData;
     /** destination register index */
     public int destReg;
-    /** mnemonic of the instruction */
-    public String mnemonic;
+    /** pre-decoded operation of the instruction */
+    public MicroOp microOp;
     /** original line of code/instruction */
     public String codeString;
     /** PC of the next instruction */
     public int PC; // for branch prediction needed
-    
+
+    MEM_WB_Pipeline() {
+    }
+
+    /**
+     * copies a latch, WB is passed to keep it shared with other parts of the copied frame
+     */
+    MEM_WB_Pipeline(MEM_WB_Pipeline other, WB wb) {
+        this.WB = wb;
+        this.ALU_result = other.ALU_result;
+        this.memoryData = other.memoryData;
+        this.destReg = other.destReg;
+        this.microOp = other.microOp;
+        this.codeString = other.codeString;
+        this.PC = other.PC;
+    }
 }
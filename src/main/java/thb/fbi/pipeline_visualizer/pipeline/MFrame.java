@@ -5,13 +5,11 @@
  */
 package thb.fbi.pipeline_visualizer.pipeline;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 public class MFrame implements Serializable {
 
@@ -33,6 +31,7 @@ public class MFrame implements Serializable {
     public int nextPC;
     public int dataHazardCounter; // indicates occurence of data hazard for this cycle
     public int controlHazardCounter; // indicates occurence of control hazard for this cycle
+    public int instructionCounter; // finished (not flushed) instructions up to this cycle
     public boolean isForwardingEnabled;
     public boolean is2BitPredictorEnabled;
     /** table of PC of Branch Instruction, Target PC and State of Predictor */
@@ -53,6 +52,7 @@ public class MFrame implements Serializable {
         this.hdUnit = null;
         this.dataHazardCounter = 0;
         this.controlHazardCounter = 0;
+        this.instructionCounter = 0;
         this.isForwardingEnabled = isForwardingEnabled;
         this.is2BitPredictorEnabled = is2BitPredictorEnabled;
         twoBitPredictionTable = new HashMap<>();
@@ -103,7 +103,7 @@ public class MFrame implements Serializable {
 
                 // register 31 has constant value of 0, never override it
                 if(this.memWbPipeline.destReg != 31) {
-                    if(this.memWbPipeline.mnemonic.equals("BL")) {
+                    if(this.memWbPipeline.microOp == MicroOp.BRANCH_WITH_LINK) {
                         this.register[this.memWbPipeline.destReg] = this.memWbPipeline.PC;
                     } else {
                         this.register[this.memWbPipeline.destReg] = WriteData;
@@ -166,7 +166,7 @@ public class MFrame implements Serializable {
             }
             this.memWbPipeline.ALU_result = this.exMemPipeline.ALU_result;
             this.memWbPipeline.destReg = this.exMemPipeline.destReg;
-            this.memWbPipeline.mnemonic = this.exMemPipeline.mnemonic;
+            this.memWbPipeline.microOp = this.exMemPipeline.microOp;
             this.memWbPipeline.codeString = this.exMemPipeline.codeString;
             this.memWbPipeline.PC = this.exMemPipeline.PC;
 
@@ -200,7 +200,7 @@ public class MFrame implements Serializable {
                 operand2, this.idExPipeline.opcode, this.idExPipeline.ALUOp, 
                 this.idExPipeline.setsFlag);
 
-            if(this.idExPipeline.mnemonic.equals("BR")) { 
+            if(this.idExPipeline.microOp == MicroOp.BRANCH_BY_REGISTER) { 
                 // BR uses Register value instead offset
                 // regsiter value can be forwarded
                 this.exMemPipeline.PCBranch = operand1; // address stored in Rn
@@ -208,7 +208,7 @@ public class MFrame implements Serializable {
                 this.exMemPipeline.PCBranch = this.idExPipeline.PC + this.idExPipeline.i32Offset * 4;
             }
 
-            this.exMemPipeline.ALU_zero = ALUnit.checkBranchCondition(this.idExPipeline.mnemonic, operand2, this.exMemPipeline.ALU_result);
+            this.exMemPipeline.ALU_zero = ALUnit.checkBranchCondition(this.idExPipeline.microOp.branchCondition, operand2, this.exMemPipeline.ALU_result);
 
             // following if else block selects the destination register for the next stage
             // BR is the only exception, where Rt needs to be forwarded
@@ -224,7 +224,7 @@ public class MFrame implements Serializable {
 
             this.exMemPipeline.codeString = this.idExPipeline.codeString;
             this.exMemPipeline.byteSizeMemoryAccess = this.idExPipeline.byteSizeMemoryAccess;
-            this.exMemPipeline.mnemonic = this.idExPipeline.mnemonic;
+            this.exMemPipeline.microOp = this.idExPipeline.microOp;
             this.exMemPipeline.memoryAccessExclusive = this.idExPipeline.memoryAccessExclusive;
             this.exMemPipeline.exclusiveCheckRegister = this.idExPipeline.rt;
             // Data Needed for visualization part
@@ -269,7 +269,7 @@ public class MFrame implements Serializable {
             this.idExPipeline.codeString = this.ifIdPipeline.codeString;
             this.idExPipeline.binaryCodeString = this.ifIdPipeline.instruction.getBinaryCodeString();
             this.idExPipeline.byteSizeMemoryAccess = this.cUnit.byteSizeMemoryAccess;
-            this.idExPipeline.mnemonic = this.ifIdPipeline.instruction.getMnemonic();
+            this.idExPipeline.microOp = this.ifIdPipeline.instruction.getMicroOp();
             this.idExPipeline.memoryAccessExclusive = this.cUnit.memoryAccessExclusive;
             this.idExPipeline.setsFlag = this.cUnit.setsFlag;
 
@@ -358,7 +358,7 @@ public class MFrame implements Serializable {
             }
         }
 
-        if (instruction == null || instruction.getMnemonic().equals("NOP")) // if null, default type or NOP
+        if (instruction == null || instruction.getMicroOp() == MicroOp.NOP) // if null, default type or NOP
             this.ifIdPipeline = null;
         else
             this.ifIdPipeline = new IF_ID_Pipeline(instruction, PC + 4);
@@ -367,27 +367,117 @@ public class MFrame implements Serializable {
         return PC + 4;
     }
 
-    public MFrame getCopy() {
-        Object obj = null;
-        try {
-            // Write the object out to a byte array
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream out = new ObjectOutputStream(bos);
-            out.writeObject(this);
-            out.flush();
-            out.close();
-
-            // Make an input stream from the byte array and read
-            // a copy of the object back in.
-            ObjectInputStream in = new ObjectInputStream(
-                    new ByteArrayInputStream(bos.toByteArray()));
-            obj = in.readObject();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } catch (ClassNotFoundException cnfe) {
-            cnfe.printStackTrace();
+    /**
+     * copies a frame (snapshot of a clock cycle)
+     *
+     * mutable parts are copied, immutable ones (instructions, code strings) are shared. The memory is copied on
+     * write. Forwarding and hazard detection unit are shared, a frame creates new ones each cycle. Control
+     * signals (WB/ MEM) handed through the pipeline latches stay shared between the copied latches like they
+     * are within the original frame.
+     * @param other frame to copy
+     * @param isLatchesOnly if true, registers, memory and prediction table are not copied (left null)
+     */
+    private MFrame(MFrame other, boolean isLatchesOnly) {
+        copyLatches(other);
+        if (!isLatchesOnly) {
+            this.register = other.register.clone();
+            this.regFlag = other.regFlag.clone();
+            this.Memory = new Memory(other.Memory);
+            this.twoBitPredictionTable = new HashMap<>(other.twoBitPredictionTable.size() * 2);
+            for (Map.Entry<Integer, TwoBitPrecitionEntry> entry : other.twoBitPredictionTable.entrySet()) {
+                this.twoBitPredictionTable.put(entry.getKey(), new TwoBitPrecitionEntry(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * copies everything of a frame except registers, memory and prediction table
+     * (state of the cycle which is replaced by the next one)
+     * @param other frame to copy
+     */
+    void copyLatches(MFrame other) {
+        IdentityHashMap<Object, Object> signals = new IdentityHashMap<Object, Object>();
+        this.instruction = other.instruction;
+        this.ifIdPipeline = other.ifIdPipeline; // never changed after creation
+        this.idExPipeline = null;
+        if (other.idExPipeline != null) {
+            this.idExPipeline = new ID_EX_Pipeline(other.idExPipeline,
+                    copySignals(other.idExPipeline.WB, signals, WB::new),
+                    copySignals(other.idExPipeline.MEM, signals, MEM::new));
+        }
+        this.exMemPipeline = null;
+        if (other.exMemPipeline != null) {
+            this.exMemPipeline = new EX_MEM_Pipeline(other.exMemPipeline,
+                    copySignals(other.exMemPipeline.WB, signals, WB::new),
+                    copySignals(other.exMemPipeline.MEM, signals, MEM::new));
+        }
+        this.memWbPipeline = null;
+        if (other.memWbPipeline != null) {
+            this.memWbPipeline = new MEM_WB_Pipeline(other.memWbPipeline,
+                    copySignals(other.memWbPipeline.WB, signals, WB::new));
         }
-        return (MFrame) obj;
+        this.cUnit = null;
+        if (other.cUnit != null) {
+            this.cUnit = new ControlUnit(other.cUnit,
+                    copySignals(other.cUnit.WB, signals, WB::new),
+                    copySignals(other.cUnit.MEM, signals, MEM::new));
+        }
+        this.fwdUnit = other.fwdUnit;
+        this.hdUnit = other.hdUnit;
+        this.ALUnit = new ALU(other.ALUnit);
+        this.wbCodeString = other.wbCodeString;
+        this.currentPC = other.currentPC;
+        this.nextPC = other.nextPC;
+        this.dataHazardCounter = other.dataHazardCounter;
+        this.instructionCounter = other.instructionCounter;
+        this.controlHazardCounter = other.controlHazardCounter;
+        this.isForwardingEnabled = other.isForwardingEnabled;
+        this.is2BitPredictorEnabled = other.is2BitPredictorEnabled;
+        this.startingStateOfPrediction = other.startingStateOfPrediction;
+
+        this.tempExAluOp = other.tempExAluOp;
+        this.tempExDestReg = other.tempExDestReg;
+        this.tempExAluSource = other.tempExAluSource;
+        this.tempExPC = other.tempExPC;
+        this.tempExI32Offset = other.tempExI32Offset;
+        this.tempExOpcode = other.tempExOpcode;
+        this.tempExShiftLeft2Offset = other.tempExShiftLeft2Offset;
+        this.tempExOperand2 = other.tempExOperand2;
+        this.tempExRd = other.tempExRd;
+        this.tempMemMRead = other.tempMemMRead;
+        this.tempMemMWrite = other.tempMemMWrite;
+        this.tempMemWriteData = other.tempMemWriteData;
+        this.tempWbMemoryData = other.tempWbMemoryData;
+        this.tempWbAluResult = other.tempWbAluResult;
+        this.tempWbRegWrite = other.tempWbRegWrite;
+        this.tempWbMemToReg = other.tempWbMemToReg;
+    }
+
+    /**
+     * copies control signals once per frame, so signals shared by several latches stay shared
+     * @param signals signals to copy, may be null
+     * @param copies copies of the frame by original
+     * @param copier copy constructor
+     * @return copy of the signals
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T copySignals(T signals, IdentityHashMap<Object, Object> copies, UnaryOperator<T> copier) {
+        if (signals == null) {
+            return null;
+        }
+        return (T) copies.computeIfAbsent(signals, original -> copier.apply((T) original));
+    }
+
+    public MFrame getCopy() {
+        return new MFrame(this, false);
+    }
+
+    /**
+     * copies the latches of the frame only, @see copyLatches
+     * @return copy without registers, memory and prediction table
+     */
+    MFrame getLatchCopy() {
+        return new MFrame(this, true);
     }
 
     void OUT(String s) {
@@ -3,74 +3,108 @@ package thb.fbi.pipeline_visualizer.pipeline;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.TreeMap;
 
+import thb.fbi.leguan.data.DataSegment;
+import thb.fbi.leguan.simulation.ExclusiveMonitor;
+
 /**
  * class for memory storage
  */
 public class Memory implements Serializable {
 
     private TreeMap<Long, Byte> dataStorage;
-    private HashMap<Long, Boolean> lockStorage;
+    /** indicates if dataStorage is shared with a copy, it is copied before the next store (copy-on-write) */
+    private boolean isShared = false;
+    /** bytes stored since the changes were taken last (by address), null if changes are not recorded */
+    private HashMap<Long, Byte> changes;
+    /** indicates if the exclusive monitor was accessed since the changes were taken last */
+    private boolean isMonitorChanged = false;
+    /** exclusive monitor for LDXR/ STXR, the pipeline is a single hardware context */
+    private ExclusiveMonitor exclusiveMonitor;
+    /** hardware context of the pipeline */
+    private static final int CONTEXT = 0;
 
     public Memory() {
         this.dataStorage = new TreeMap<Long, Byte>();
-        this.lockStorage = new HashMap<Long, Boolean>();
+        this.exclusiveMonitor = new ExclusiveMonitor(1);
     }
 
     /**
-     * Adds address (double word) to locked storage
-     * 
-     * @param address address of memory (double word) to lock
+     * copies a memory, the stored bytes are shared until either memory stores a value
+     * @param other memory to copy
      */
-    public void addLockedStorage(long address) {
-        for (int i = 0; i < 8; i++) {
-            this.lockStorage.put(address + i, false);
-        }
+    public Memory(Memory other) {
+        this.dataStorage = other.dataStorage;
+        this.isShared = true;
+        other.isShared = true;
+        this.exclusiveMonitor = new ExclusiveMonitor(other.exclusiveMonitor);
     }
 
     /**
-     * update locked storage (STUR** instruction accessed locked memory)
-     * 
-     * @param address address of memory
-     * @param size    number of bytes changed (1, 2, 4 or 8)
+     * starts recording stored bytes, @see takeChanges
      */
-    public void updateLockedStorage(long address, int size) {
-        for (int i = 0; i < size; i++) {
-            if (this.lockStorage.containsKey(address + i)) {
-                this.lockStorage.put(address + i, true);
-            }
-        }
+    void recordChanges() {
+        this.changes = new HashMap<Long, Byte>();
+        this.isMonitorChanged = false;
     }
 
     /**
-     * check locked storage and returns whether lock storage was changes prior or
-     * not
-     * 
-     * @param address
-     * @return boolean indicating if locked storage was changed by non-STXR
-     *         instruction
+     * gets the bytes stored since recording started or since the last call
+     * @return stored bytes by address
+     */
+    Map<Long, Byte> takeChanges() {
+        Map<Long, Byte> taken = this.changes;
+        this.changes = new HashMap<Long, Byte>();
+        return taken;
+    }
+
+    /**
+     * checks if the exclusive monitor was accessed since the last call (while changes are recorded)
+     * @return true if the monitor may have changed
      */
-    public boolean checkLockedStorage(long address) {
-        for (int i = 0; i < 8; i++) {
-            if(this.lockStorage.containsKey(address)) {
-                if (this.lockStorage.get(address)) {
-                    return true;
-                }
+    boolean takeMonitorChanged() {
+        boolean isChanged = this.isMonitorChanged;
+        this.isMonitorChanged = false;
+        return isChanged;
+    }
+
+    /**
+     * restores bytes and the exclusive monitor (e.g. when rebuilding a recorded cycle)
+     * @param addresses addresses of the bytes
+     * @param values bytes by index of their address
+     * @param exclusiveMonitor state of the exclusive monitor, null if unchanged
+     */
+    void restore(long[] addresses, byte[] values, ExclusiveMonitor exclusiveMonitor) {
+        if (addresses.length > 0) {
+            TreeMap<Long, Byte> storage = getWritableStorage();
+            for (int i = 0; i < addresses.length; i++) {
+                storage.put(addresses[i], values[i]);
             }
         }
-        return false;
+        if (exclusiveMonitor != null) {
+            this.exclusiveMonitor = new ExclusiveMonitor(exclusiveMonitor);
+        }
+    }
+
+    private void putByte(TreeMap<Long, Byte> storage, long address, byte value) {
+        storage.put(address, value);
+        if (this.changes != null) {
+            this.changes.put(address, value);
+        }
     }
 
     /**
-     * clear locked storage
-     * 
-     * @param address address of memory (double word) to unlock
+     * gets the stored bytes for writing, copies them if they are shared
+     * @return own data storage
      */
-    public void clearLockedStorage(long address) {
-        for (int i = 0; i < 8; i++) {
-            this.lockStorage.remove(address + i);
+    private TreeMap<Long, Byte> getWritableStorage() {
+        if (this.isShared) {
+            this.dataStorage = new TreeMap<Long, Byte>(this.dataStorage);
+            this.isShared = false;
         }
+        return this.dataStorage;
     }
 
     /**
@@ -94,7 +128,8 @@ public class Memory implements Serializable {
      * @return 8 byte value of memory
      */
     public long loadExclusive(long address) {
-        addLockedStorage(address);
+        this.exclusiveMonitor.reserve(CONTEXT, address);
+        this.isMonitorChanged = true;
         byte[] bytes = new byte[8];
         for (int i = 0; i < bytes.length; i++) {
             bytes[i] = getByte(address + i);
@@ -152,10 +187,12 @@ public class Memory implements Serializable {
      */
     public void storeBytes(long address, long value, byte numberOfBytes) {
         byte[] bytes = ByteBuffer.allocate(numberOfBytes).putLong(value).array();
+        TreeMap<Long, Byte> storage = getWritableStorage();
         for (int i = 0; i < bytes.length; i++) {
-            this.dataStorage.put(address + i, bytes[i]);
+            putByte(storage, address + i, bytes[i]);
         }
-        updateLockedStorage(address, numberOfBytes);
+        this.exclusiveMonitor.store(address, numberOfBytes);
+        this.isMonitorChanged = true;
     }
 
     /**
@@ -167,18 +204,23 @@ public class Memory implements Serializable {
      * @return boolean indicating if operation was successful or not
      */
     public boolean storeExclusive(long address, long value) {
-        if (!checkLockedStorage(address)) { // successful operation
+        this.isMonitorChanged = true;
+        if (this.exclusiveMonitor.storeExclusive(CONTEXT, address)) { // successful operation
             byte[] bytes = ByteBuffer.allocate(8).putLong(value).array();
+            TreeMap<Long, Byte> storage = getWritableStorage();
             for (int i = 0; i < bytes.length; i++) {
-                this.dataStorage.put(address + i, bytes[i]);
+                putByte(storage, address + i, bytes[i]);
             }
-            clearLockedStorage(address);
             return true;
         } else { // failed operation
             return false;
         }
     }
 
+    public ExclusiveMonitor getExclusiveMonitor() {
+        return this.exclusiveMonitor;
+    }
+
     public String toString() {
         return this.dataStorage.toString();
     }
@@ -194,7 +236,12 @@ public class Memory implements Serializable {
         return memoryString;
     }
 
-    public void storeDataSegment(TreeMap<Long, Byte> dataSegment) {
-        this.dataStorage.putAll(dataSegment); // can potentially override entries
+    public void storeDataSegment(DataSegment dataSegment) {
+        TreeMap<Long, Byte> storage = getWritableStorage();
+        for (DataSegment.Run run : dataSegment.getRuns()) { // can potentially override entries
+            for (int i = 0; i < run.getLength(); i++) {
+                putByte(storage, run.getAddress() + i, run.getBytes()[i]);
+            }
+        }
     }
 }
@@ -0,0 +1,174 @@
+package thb.fbi.pipeline_visualizer.pipeline;
+
+/**
+ * \brief Pre-decoded operation of a pipeline instruction
+ *
+ * instructions are decoded once (@see InstructionFactory) into a micro-op holding the control signals, the
+ * branch condition and the memory access. The stages only read these primitive fields instead of comparing
+ * mnemonics every cycle.
+ */
+public enum MicroOp {
+    //                     RegWrite MemToReg MemRead MemWrite branch ALUOp ALUSrc RegDest bytes excl.  setsFlag condition
+    NOP                   (false,   false,   false,  false,   false, -1,   false, false,  -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    UNKNOWN               (false,   false,   false,  false,   false, -1,   false, false,  -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    ARITHMETIC            (true,    false,   false,  false,   false, 2,    false, true,   -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    ARITHMETIC_SET_FLAGS  (true,    false,   false,  false,   false, 2,    false, true,   -1,   false, true,    ALU.CONDITION_RESULT_ZERO),
+    IMMEDIATE             (true,    false,   false,  false,   false, 2,    true,  true,   -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    IMMEDIATE_SET_FLAGS   (true,    false,   false,  false,   false, 2,    true,  true,   -1,   false, true,    ALU.CONDITION_RESULT_ZERO),
+    WIDE_IMMEDIATE        (true,    false,   false,  false,   false, 2,    true,  true,   -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    BRANCH                (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    BRANCH_WITH_LINK      (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_RESULT_ZERO),
+    BRANCH_BY_REGISTER    (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_ALWAYS),
+    CBZ                   (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_OPERAND_ZERO),
+    CBNZ                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_OPERAND_NOT_ZERO),
+    B_EQ                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_EQ),
+    B_NE                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_NE),
+    B_LT                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_LT),
+    B_LE                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_LE),
+    B_GT                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_GT),
+    B_GE                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_GE),
+    B_MI                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_MI),
+    B_PL                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_PL),
+    B_VS                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_VS),
+    B_VC                  (false,   false,   false,  false,   true,  1,    false, true,   -1,   false, false,   ALU.CONDITION_VC),
+    LOAD_DOUBLEWORD       (true,    true,    true,   false,   false, 0,    true,  false,  8,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    LOAD_WORD             (true,    true,    true,   false,   false, 0,    true,  false,  4,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    LOAD_HALFWORD         (true,    true,    true,   false,   false, 0,    true,  false,  2,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    LOAD_BYTE             (true,    true,    true,   false,   false, 0,    true,  false,  1,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    LOAD_EXCLUSIVE        (true,    true,    true,   false,   false, 0,    true,  false,  8,    true,  false,   ALU.CONDITION_RESULT_ZERO),
+    /** LDR writes the address itself (not the loaded value) into the register */
+    LOAD_ADDRESS          (true,    false,   true,   false,   false, 0,    true,  false,  8,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    STORE_DOUBLEWORD      (false,   false,   false,  true,    false, 0,    true,  false,  8,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    STORE_WORD            (false,   false,   false,  true,    false, 0,    true,  false,  4,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    STORE_HALFWORD        (false,   false,   false,  true,    false, 0,    true,  false,  2,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    STORE_BYTE            (false,   false,   false,  true,    false, 0,    true,  false,  1,    false, false,   ALU.CONDITION_RESULT_ZERO),
+    STORE_EXCLUSIVE       (false,   false,   false,  true,    false, 0,    true,  false,  8,    true,  false,   ALU.CONDITION_RESULT_ZERO);
+
+    /** flag if result of instruction will be written to a register */
+    public final boolean RegWrite;
+    /** flag if memory value will be written to a register */
+    public final boolean MemToReg;
+    /** indicates if instruction reads a value from memory */
+    public final boolean MemRead;
+    /** indicates if instruction writes a value to memory */
+    public final boolean MemWrite;
+    /** indicates if instruction branches */
+    public final boolean branch;
+    /** operation which will be executed in the ALU, -1 if none */
+    public final int ALUOp;
+    /** if set use constant (sign extended) value otherwise use value from second register */
+    public final boolean ALUSource;
+    /** if set value will be written into destination register */
+    public final boolean RegDest;
+    /** number of bytes to access from memory (load/store), -1 if none */
+    public final byte byteSizeMemoryAccess;
+    /** indicates if instruction is LXDR or STXR */
+    public final boolean memoryAccessExclusive;
+    /** indicates if instruction can set flags */
+    public final boolean setsFlag;
+    /** condition checked by the ALU to take a branch (@see ALU.checkBranchCondition) */
+    public final int branchCondition;
+
+    private MicroOp(boolean RegWrite, boolean MemToReg, boolean MemRead, boolean MemWrite, boolean branch,
+            int ALUOp, boolean ALUSource, boolean RegDest, int byteSizeMemoryAccess, boolean memoryAccessExclusive,
+            boolean setsFlag, int branchCondition) {
+        this.RegWrite = RegWrite;
+        this.MemToReg = MemToReg;
+        this.MemRead = MemRead;
+        this.MemWrite = MemWrite;
+        this.branch = branch;
+        this.ALUOp = ALUOp;
+        this.ALUSource = ALUSource;
+        this.RegDest = RegDest;
+        this.byteSizeMemoryAccess = (byte) byteSizeMemoryAccess;
+        this.memoryAccessExclusive = memoryAccessExclusive;
+        this.setsFlag = setsFlag;
+        this.branchCondition = branchCondition;
+    }
+
+    /**
+     * decodes an instruction
+     * @param format format of the instruction
+     * @param mnemonic mnemonic of the instruction
+     * @return micro-op of the instruction, UNKNOWN if it can not be decoded
+     */
+    public static MicroOp decode(InstructionFormat format, String mnemonic) {
+        if (mnemonic == null) {
+            return UNKNOWN;
+        }
+        if (mnemonic.equals("NOP")) { // classified as Arithmetic
+            return NOP;
+        }
+        switch (format) {
+            case Arithmetic:
+                return mnemonic.endsWith("S") ? ARITHMETIC_SET_FLAGS : ARITHMETIC;
+            case Immediate:
+                return mnemonic.endsWith("S") ? IMMEDIATE_SET_FLAGS : IMMEDIATE;
+            case Wide_Immediate:
+                return WIDE_IMMEDIATE;
+            case Branch:
+                return mnemonic.equals("BL") ? BRANCH_WITH_LINK : BRANCH;
+            case Conditional_Branch:
+                switch (mnemonic) {
+                    case "BR":
+                        return BRANCH_BY_REGISTER;
+                    case "CBZ":
+                        return CBZ;
+                    case "CBNZ":
+                        return CBNZ;
+                    case "B.EQ":
+                        return B_EQ;
+                    case "B.NE":
+                        return B_NE;
+                    case "B.LT":
+                        return B_LT;
+                    case "B.LE":
+                        return B_LE;
+                    case "B.GT":
+                        return B_GT;
+                    case "B.GE":
+                        return B_GE;
+                    case "B.MI":
+                        return B_MI;
+                    case "B.PL":
+                        return B_PL;
+                    case "B.VS":
+                        return B_VS;
+                    case "B.VC":
+                        return B_VC;
+                    default:
+                        return UNKNOWN;
+                }
+            case Datatransfer:
+                switch (mnemonic) {
+                    case "LDUR":
+                        return LOAD_DOUBLEWORD;
+                    case "LDURB":
+                        return LOAD_BYTE;
+                    case "LDURH":
+                        return LOAD_HALFWORD;
+                    case "LDURSW":
+                        return LOAD_WORD;
+                    case "LDXR":
+                        return LOAD_EXCLUSIVE;
+                    case "LDR":
+                        return LOAD_ADDRESS;
+                    case "STUR":
+                        return STORE_DOUBLEWORD;
+                    case "STURB":
+                        return STORE_BYTE;
+                    case "STURH":
+                        return STORE_HALFWORD;
+                    case "STURW":
+                        return STORE_WORD;
+                    case "STXR":
+                        return STORE_EXCLUSIVE;
+                    default:
+                        return UNKNOWN;
+                }
+            case Unknown:
+            default:
+                return UNKNOWN;
+        }
+    }
+}
@@ -3,8 +3,13 @@
  */
 package thb.fbi.pipeline_visualizer.pipeline;
 
-import java.util.ArrayList;
 import java.util.TreeMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import thb.fbi.leguan.data.ARMProgram;
 
@@ -14,8 +19,7 @@ public class PipelineSimulator {
     public Instruction[] instructions;
     public ARMProgram program;
     public String code;
-    public ArrayList<MFrame> Frames; // equals a clock cycle
-    public MFrame FramesRet[];
+    public FrameHistory Frames; // a frame equals a clock cycle
     public MFrame Frame;
     public int i = 0;
     public int last = 0;
@@ -36,53 +40,191 @@ public class PipelineSimulator {
 
     private boolean isForwardingEnabled = true;
     private boolean is2BitPredictorEnabled = false;
+    /** state new entries of the 2 bit predictor start with */
+    private TwoBitPredictorState startingStateOfPrediction = TwoBitPredictorState.LikelyNotTaken;
     private boolean debugOutput = false;
+    /** indicates if the number of cycles is limited by failsafeMaxClockCycle (not for lazy simulation) */
+    private boolean isCycleLimited = true;
+    /** instructions of the running simulation by PC */
+    private TreeMap<Integer, Instruction> instructionMap;
+    /** number of simulated cycles of the running simulation */
+    private int failsafeCounter = 0;
 
     public PipelineSimulator() {
         this.instructions = new Instruction[0];
         this.program = new ARMProgram();
     }
 
-    public MFrame[] execute() {
-        TreeMap<Integer, Instruction> instructions = InstructionFactory.mapToInstruction(this.program);
-        Frames = new ArrayList<MFrame>();
+    /**
+     * creates a simulator for the same program and options (e.g. to simulate on another thread)
+     * @param other simulator to copy the program and options from
+     */
+    public PipelineSimulator(PipelineSimulator other) {
+        this();
+        this.program = other.program;
+        this.code = other.code;
+        this.failsafeMaxClockCycle = other.failsafeMaxClockCycle;
+        this.isForwardingEnabled = other.isForwardingEnabled;
+        this.is2BitPredictorEnabled = other.is2BitPredictorEnabled;
+        this.startingStateOfPrediction = other.startingStateOfPrediction;
+        this.debugOutput = other.debugOutput;
+    }
+
+    /**
+     * simulates all clock cycles (limited by failsafeMaxClockCycle)
+     * @return frames of all cycles
+     */
+    public FrameHistory execute() {
+        start();
+        while (step()) {
+        }
+
+        if(debugOutput) {
+            for (int j = 0; j < 8; j++) {
+                System.out.print(this.Registers[j] + ":\t" + this.Frame.register[j] + "\t");
+                System.out.print(this.Registers[8 + j] + ":\t" + this.Frame.register[8 + j] + "\t");
+                System.out.print(this.Registers[16 + j] + ":\t" + this.Frame.register[16 + j] + "\t");
+                System.out.print(this.Registers[24 + j] + ":\t" + this.Frame.register[24 + j] + "\t");
+                System.out.println();
+            }
+        }
+        
+        if(debugOutput) {
+            for (int j = 0; j < Frames.size(); j++) {
+                MFrame frame = Frames.get(j);
+                if (frame.ifIdPipeline == null)
+                    System.out.println("IfId null at " + j);
+                else if (frame.ifIdPipeline.instruction == null)
+                    System.out.println("IfId not null but ins null at " + j);
+            }
+        }
+
+        return Frames;
+    }
+
+    /**
+     * simulates clock cycles on demand: a cycle is simulated when its frame is requested,
+     * a bounded number of following cycles is simulated ahead on the given executor.
+     * The number of cycles is not limited. Each call starts an independent simulation,
+     * its statistics are provided by FrameHistory.getSimulator.
+     * @param readAheadExecutor executor for simulating ahead
+     * @return frames of the simulation, growing while they are requested
+     */
+    public FrameHistory executeLazily(ExecutorService readAheadExecutor) {
+        return executeLazily(program, readAheadExecutor);
+    }
+
+    /**
+     * simulates another program lazily with the same options (@see executeLazily), the program of this
+     * simulator is not changed
+     * @param program program to simulate
+     * @param readAheadExecutor executor for simulating ahead
+     * @return frames of the simulation, growing while they are requested
+     */
+    public FrameHistory executeLazily(ARMProgram program, ExecutorService readAheadExecutor) {
+        PipelineSimulator simulation = new PipelineSimulator(this);
+        simulation.program = program;
+        simulation.isCycleLimited = false;
+        simulation.start();
+        simulation.Frames.setReadAheadExecutor(readAheadExecutor);
+        return simulation.Frames;
+    }
+
+    /**
+     * simulates all hazard configurations (@see HazardConfiguration.getAll) concurrently,
+     * each limited by failsafeMaxClockCycle
+     * @param pool pool to simulate on
+     * @return finished simulations (statistics and frames) by configuration, in the order of getAll
+     * @throws InterruptedException if interrupted while waiting for the simulations
+     */
+    public Map<HazardConfiguration, PipelineSimulator> executeAll(ForkJoinPool pool) throws InterruptedException {
+        try {
+            return pool.submit(() -> HazardConfiguration.getAll().parallelStream()
+                    .collect(Collectors.toMap(configuration -> configuration, configuration -> {
+                        PipelineSimulator simulation = new PipelineSimulator(this);
+                        simulation.setConfiguration(configuration);
+                        simulation.execute();
+                        return simulation;
+                    }, (first, second) -> first, LinkedHashMap::new))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pipeline simulation failed", e.getCause());
+        }
+    }
+
+    /**
+     * checks if the simulation was stopped by failsafeMaxClockCycle before the program ended
+     * @return true if the cycle limit was reached
+     */
+    public boolean isCycleLimitReached() {
+        return isCycleLimited && failsafeCounter >= failsafeMaxClockCycle
+                && i <= last + 5 * thb.fbi.leguan.instructions.Instruction.INSTRUCTION_LENGTH;
+    }
+
+    /**
+     * prepares the simulation of the program
+     */
+    private void start() {
+        instructionMap = InstructionFactory.mapToInstruction(this.program);
+        Frames = new FrameHistory(this);
         Frame = new MFrame(isForwardingEnabled, is2BitPredictorEnabled);
+        Frame.startingStateOfPrediction = startingStateOfPrediction;
         // add Data Segment to Memory
         Frame.Memory.storeDataSegment(program.getDataSegment());
+        Frame.Memory.recordChanges(); // stored bytes of each cycle are kept by the history
 
         this.instructionCounter = 0;
-        if(!instructions.isEmpty()) {
-            i = instructions.firstKey();
-            last = instructions.lastKey();
+        this.failsafeCounter = 0;
+        if(!instructionMap.isEmpty()) {
+            i = instructionMap.firstKey();
+            last = instructionMap.lastKey();
         } else {
             i = 0;
             last = 0;
         }
-        int failsafeCounter = 0;
-        while (i <= last + 5 * thb.fbi.leguan.instructions.Instruction.INSTRUCTION_LENGTH && failsafeCounter < failsafeMaxClockCycle) {
-            Instruction instruction;
-            try {
-                instruction = instructions.get(i);
-            } catch (ArrayIndexOutOfBoundsException a) {
-                instruction = null;
-            }
+        updateStatistics();
+    }
 
-            if(debugOutput) System.out.println("clock: " + (Frames.size() + 1) + " PC: " + (i * 4));
-            i = this.Frame.insertInstruction(instruction, i);
+    /**
+     * simulates the next clock cycle and adds its frame to the history
+     * @return false if the simulation has ended (no cycle was simulated)
+     */
+    boolean step() {
+        if (i > last + 5 * thb.fbi.leguan.instructions.Instruction.INSTRUCTION_LENGTH
+                || (isCycleLimited && failsafeCounter >= failsafeMaxClockCycle)) {
+            Frames.complete();
+            return false;
+        }
+        Instruction instruction;
+        try {
+            instruction = instructionMap.get(i);
+        } catch (ArrayIndexOutOfBoundsException a) {
+            instruction = null;
+        }
 
-            if (i < 0) {
-                System.err.println("Negative PC returned: " + i);
-            }
+        if(debugOutput) System.out.println("clock: " + (Frames.size() + 1) + " PC: " + (i * 4));
+        i = this.Frame.insertInstruction(instruction, i);
 
-            // count non-NOP (not flushed) instructions
-            if (this.Frame.memWbPipeline != null) {
-                if (!this.Frame.memWbPipeline.codeString.equals("NOP")) {
-                    this.instructionCounter++;
-                }
+        if (i < 0) {
+            System.err.println("Negative PC returned: " + i);
+        }
+
+        // count non-NOP (not flushed) instructions
+        if (this.Frame.memWbPipeline != null) {
+            if (!this.Frame.memWbPipeline.codeString.equals("NOP")) {
+                this.instructionCounter++;
             }
-            failsafeCounter++;
-            Frames.add(Frame.getCopy());
         }
+        this.Frame.instructionCounter = this.instructionCounter;
+        failsafeCounter++;
+        Frames.add(Frame);
+        updateStatistics();
+        return true;
+    }
+
+    /**
+     * updates the statistics to the simulated cycles
+     */
+    private void updateStatistics() {
         this.clockCycleCounter = this.Frames.size();
 
         if(instructionCounter == 0) {
@@ -90,51 +232,46 @@ public class PipelineSimulator {
         } else {
             this.cpi = (double) this.Frames.size() / this.instructionCounter;
         }
-        this.sf = (double) (this.instructionCounter * 5) / this.Frames.size();
+        this.sf = this.Frames.size() == 0 ? 0.0 : (double) (this.instructionCounter * 5) / this.Frames.size();
 
         this.controlHazardCounter = Frame.controlHazardCounter;
         this.dataHazardCounter = Frame.dataHazardCounter;
-
-        if(debugOutput) {
-            for (int j = 0; j < 8; j++) {
-                System.out.print(this.Registers[j] + ":\t" + this.Frame.register[j] + "\t");
-                System.out.print(this.Registers[8 + j] + ":\t" + this.Frame.register[8 + j] + "\t");
-                System.out.print(this.Registers[16 + j] + ":\t" + this.Frame.register[16 + j] + "\t");
-                System.out.print(this.Registers[24 + j] + ":\t" + this.Frame.register[24 + j] + "\t");
-                System.out.println();
-            }
-        }
-        
-        i = 0;
-        this.FramesRet = new MFrame[Frames.size()];
-        while (i < Frames.size()) {
-            FramesRet[i] = (MFrame) Frames.get(i);
-
-            if(debugOutput) {
-                if (FramesRet[i].ifIdPipeline == null)
-                    System.out.println("IfId null at " + i);
-                else if (FramesRet[i].ifIdPipeline.instruction == null)
-                    System.out.println("IfId not null but ins null at " + i);
-            }
-
-            i++;
-        }
-
-        return FramesRet;
     }
 
     public void setProgram(ARMProgram program) {
         this.program = program;
     }
 
-    public MFrame[] setForwardingEnabled(boolean isForwardingEnabled) {
+    public void setForwardingEnabled(boolean isForwardingEnabled) {
         this.isForwardingEnabled = isForwardingEnabled;
-        return execute();
     }
 
-    public MFrame[] setIs2BitPredictorEnabled(boolean is2BitPredictorEnabled) {
+    public void setIs2BitPredictorEnabled(boolean is2BitPredictorEnabled) {
         this.is2BitPredictorEnabled = is2BitPredictorEnabled;
-        return execute();
+    }
+
+    public void setStartingStateOfPrediction(TwoBitPredictorState startingStateOfPrediction) {
+        this.startingStateOfPrediction = startingStateOfPrediction;
+    }
+
+    /**
+     * sets the hazard handling options
+     * @param configuration combination of the options
+     */
+    public void setConfiguration(HazardConfiguration configuration) {
+        this.isForwardingEnabled = configuration.isForwardingEnabled();
+        this.is2BitPredictorEnabled = configuration.is2BitPredictorEnabled();
+        if (configuration.is2BitPredictorEnabled()) {
+            this.startingStateOfPrediction = configuration.getStartingStateOfPrediction();
+        }
+    }
+
+    /**
+     * gets the current hazard handling options
+     * @return combination of the options
+     */
+    public HazardConfiguration getConfiguration() {
+        return new HazardConfiguration(isForwardingEnabled, is2BitPredictorEnabled ? startingStateOfPrediction : null);
     }
 
 }
@@ -17,6 +17,12 @@ public class TwoBitPrecitionEntry implements Serializable {
         this.code = code;
     }
 
+    public TwoBitPrecitionEntry(TwoBitPrecitionEntry other) {
+        this.targetPC = other.targetPC;
+        this.state = other.state;
+        this.code = other.code;
+    }
+
     public Integer getTargetPC() {
         return targetPC;
     }
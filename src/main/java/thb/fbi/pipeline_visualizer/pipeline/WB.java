@@ -11,6 +11,14 @@ public class WB implements Serializable {
     boolean MemToReg;
     /** flag if result of instruction will be written to a register */
     boolean RegWrite;  
+
+    WB() {
+    }
+
+    WB(WB other) {
+        this.MemToReg = other.MemToReg;
+        this.RegWrite = other.RegWrite;
+    }
     
     public String toString(int mode)
     {